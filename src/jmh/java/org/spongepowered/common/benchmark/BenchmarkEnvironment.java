@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.benchmark;
+
+import co.aikar.timings.TimingsFactory;
+import org.mockito.Mockito;
+import org.spongepowered.api.GameRegistry;
+import org.spongepowered.api.Platform;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.common.SpongeGame;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.SpongeCauseStackManager;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Optional;
+
+/**
+ * Sets up the bare minimum of a (mocked) game for benchmarks which exercise
+ * implementation code outside of a running server.
+ */
+public final class BenchmarkEnvironment {
+
+    private static boolean initialized;
+    private static volatile boolean mainThread;
+
+    public static synchronized void init() {
+        if (initialized) {
+            return;
+        }
+        final Platform platform = Mockito.mock(Platform.class);
+        Mockito.when(platform.getExecutionType()).thenReturn(Platform.Type.SERVER);
+
+        final TimingsFactory timingsFactory = Mockito.mock(TimingsFactory.class);
+        Mockito.when(timingsFactory.isTimingsEnabled()).thenReturn(true);
+        Mockito.when(timingsFactory.isVerboseTimingsEnabled()).thenReturn(true);
+
+        final GameRegistry registry = Mockito.mock(GameRegistry.class);
+        Mockito.when(registry.requireFactory(TimingsFactory.class)).thenReturn(timingsFactory);
+        Mockito.when(registry.getFactory(TimingsFactory.class)).thenReturn(Optional.of(timingsFactory));
+
+        // The benchmark threads aren't the main thread of the server, unless
+        // a benchmark pretends otherwise through setMainThread
+        final Server server = Mockito.mock(Server.class);
+        Mockito.when(server.isMainThread()).thenAnswer(invocation -> mainThread);
+
+        final SpongeCauseStackManager causeStackManager = newCauseStackManager();
+
+        final SpongeGame game = Mockito.mock(SpongeGame.class);
+        Mockito.when(game.getPlatform()).thenReturn(platform);
+        Mockito.when(game.getRegistry()).thenReturn(registry);
+        Mockito.when(game.isServerAvailable()).thenReturn(false);
+        Mockito.when(game.getServer()).thenReturn(server);
+        Mockito.when(game.getCauseStackManager()).thenReturn(causeStackManager);
+
+        setStatic(Sponge.class, "game", game);
+        setStatic(SpongeImpl.class, "game", game);
+        setStatic(Sponge.class, "causeStackManager", causeStackManager);
+        setStatic(SpongeImpl.class, "causeStackManager", causeStackManager);
+        initialized = true;
+    }
+
+    /**
+     * Sets whether calls from any thread are treated as coming from the main
+     * thread of the server, which is where events are timed and get their
+     * own cause stack frames.
+     *
+     * @param mainThread Whether the calling threads are the main thread
+     */
+    public static void setMainThread(final boolean mainThread) {
+        BenchmarkEnvironment.mainThread = mainThread;
+    }
+
+    private static SpongeCauseStackManager newCauseStackManager() {
+        try {
+            // Normally created through injection
+            final Constructor<SpongeCauseStackManager> constructor = SpongeCauseStackManager.class.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create the cause stack manager", e);
+        }
+    }
+
+    private static void setStatic(final Class<?> owner, final String name, final Object value) {
+        try {
+            final Field field = owner.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(null, value);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not set up " + owner.getName() + "." + name, e);
+        }
+    }
+
+    private BenchmarkEnvironment() {
+    }
+
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing values of a {@link DataView} at flat and
+ * nested paths, the way data processors and the persistence of entities
+ * and tile entities access it, as well as building and reading back
+ * containers shaped like serialized item stacks and entities.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryDataViewBenchmark {
+
+    private static final DataQuery FLAT = DataQuery.of("Health");
+    private static final DataQuery NESTED = DataQuery.of("ForgeData", "SpongeData", "Vanished");
+    private static final DataQuery NESTED_VIEW = DataQuery.of("ForgeData", "SpongeData");
+
+    private static final DataQuery UNSAFE_DATA = DataQuery.of("UnsafeData");
+    private static final DataQuery DISPLAY = DataQuery.of("UnsafeData", "display");
+
+    private DataContainer container;
+    private DataContainer itemStack;
+    private DataContainer entity;
+
+    @Setup
+    public void setup() {
+        this.container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        for (int i = 0; i < 20; i++) {
+            this.container.set(DataQuery.of("Key" + i), i);
+        }
+        this.container.set(FLAT, 20.0D);
+        this.container.set(NESTED, true);
+        for (int i = 0; i < 10; i++) {
+            this.container.set(NESTED_VIEW.then("Key" + i), "value" + i);
+        }
+        this.itemStack = serializeItemStack();
+        this.entity = serializeEntity();
+    }
+
+    @Benchmark
+    public Optional<Double> getFlat() {
+        return this.container.getDouble(FLAT);
+    }
+
+    @Benchmark
+    public Optional<Boolean> getNested() {
+        return this.container.getBoolean(NESTED);
+    }
+
+    @Benchmark
+    public DataView setFlat() {
+        return this.container.set(FLAT, 19.0D);
+    }
+
+    @Benchmark
+    public DataView setNested() {
+        return this.container.set(NESTED, false);
+    }
+
+    @Benchmark
+    public DataContainer copy() {
+        return this.container.copy();
+    }
+
+    @Benchmark
+    public DataContainer newContainer() {
+        final DataContainer container = DataContainer.createNew(DataView.SafetyMode.NO_DATA_CLONED);
+        container.set(FLAT, 20.0D);
+        container.set(NESTED, true);
+        return container;
+    }
+
+    @Benchmark
+    public DataContainer serializeItemStack() {
+        final DataContainer container = DataContainer.createNew();
+        container.set(DataQuery.of("ContentVersion"), 1);
+        container.set(DataQuery.of("ItemType"), "minecraft:diamond_sword");
+        container.set(DataQuery.of("Count"), 1);
+        container.set(DataQuery.of("UnsafeDamage"), 0);
+        container.set(DISPLAY.then("Name"), "Excalibur");
+        container.set(DISPLAY.then("Lore"), Arrays.asList("First line", "Second line"));
+        container.set(UNSAFE_DATA.then("RepairCost"), 3);
+        container.set(UNSAFE_DATA.then("Unbreakable"), (byte) 1);
+        for (int i = 0; i < 3; i++) {
+            final DataQuery enchantment = DataQuery.of("UnsafeData", "SpongeData", "Enchantment" + i);
+            container.set(enchantment.then("id"), (short) i);
+            container.set(enchantment.then("lvl"), (short) 5);
+        }
+        return container;
+    }
+
+    @Benchmark
+    public DataContainer serializeEntity() {
+        final DataContainer container = DataContainer.createNew();
+        container.set(DataQuery.of("ContentVersion"), 1);
+        container.set(DataQuery.of("EntityType"), "minecraft:zombie");
+        container.set(DataQuery.of("WorldUuid"), "00000000-0000-0000-0000-000000000000");
+        container.set(DataQuery.of("Position", "X"), 12.5D);
+        container.set(DataQuery.of("Position", "Y"), 64.0D);
+        container.set(DataQuery.of("Position", "Z"), -3.5D);
+        container.set(DataQuery.of("Rotation", "X"), 0.0D);
+        container.set(DataQuery.of("Rotation", "Y"), 90.0D);
+        container.set(DataQuery.of("Rotation", "Z"), 0.0D);
+        container.set(DataQuery.of("Scale", "X"), 1.0D);
+        container.set(DataQuery.of("Scale", "Y"), 1.0D);
+        container.set(DataQuery.of("Scale", "Z"), 1.0D);
+        container.set(UNSAFE_DATA.then("Health"), 20.0F);
+        container.set(UNSAFE_DATA.then("Air"), (short) 300);
+        container.set(UNSAFE_DATA.then("OnGround"), (byte) 1);
+        container.set(UNSAFE_DATA.then("Motion"), new double[] {0.0D, -0.08D, 0.0D});
+        container.set(DataQuery.of("UnsafeData", "ForgeData", "SpongeData", "CanGrief"), true);
+        return container;
+    }
+
+    @Benchmark
+    public Optional<String> readItemStackName() {
+        return this.itemStack.getString(DISPLAY.then("Name"));
+    }
+
+    @Benchmark
+    public Map<DataQuery, Object> itemStackValues() {
+        return this.itemStack.getValues(true);
+    }
+
+    @Benchmark
+    public DataContainer copyEntity() {
+        return this.entity.copy();
+    }
+
+}
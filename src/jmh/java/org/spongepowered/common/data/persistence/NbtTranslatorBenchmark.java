@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import net.minecraft.nbt.NBTTagCompound;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+import org.spongepowered.common.data.MemoryDataContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures translating between {@link DataView}s and NBT with the
+ * {@link NbtTranslator}, for data shaped like the custom data of an entity:
+ * primitives, arrays, nested views and lists of views. The containers are
+ * the ones of the implementation, as returned by
+ * {@link DataContainer#createNew()} in game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NbtTranslatorBenchmark {
+
+    @Param({"1", "32"})
+    public int entries;
+
+    private DataContainer container;
+    private NBTTagCompound compound;
+
+    @Setup
+    public void setup() {
+        this.container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+        this.container.set(DataQuery.of("Name"), "benchmark");
+        this.container.set(DataQuery.of("Invulnerable"), false);
+        this.container.set(DataQuery.of("Data"), new byte[256]);
+        this.container.set(DataQuery.of("Health"), 20.0F);
+        this.container.set(DataQuery.of("Pos"), new int[] {128, 64, -256});
+        this.container.set(DataQuery.of("ForgeData", "SpongeData", "Vanished"), (byte) 1);
+        final List<DataView> views = new ArrayList<>();
+        for (int i = 0; i < this.entries; i++) {
+            final DataContainer view = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED);
+            view.set(DataQuery.of("Slot"), (byte) i);
+            view.set(DataQuery.of("id"), "minecraft:stone");
+            view.set(DataQuery.of("Count"), (byte) 64);
+            view.set(DataQuery.of("Damage"), (short) 0);
+            views.add(view);
+        }
+        this.container.set(DataQuery.of("Inventory"), views);
+        this.compound = NbtTranslator.getInstance().translateData(this.container);
+    }
+
+    @Benchmark
+    public NBTTagCompound toNbt() {
+        return NbtTranslator.getInstance().translateData(this.container);
+    }
+
+    @Benchmark
+    public DataView fromNbt() {
+        return NbtTranslator.getInstance().translateFrom(this.compound);
+    }
+
+    @Benchmark
+    public DataView roundTrip() {
+        return NbtTranslator.getInstance().translateFrom(NbtTranslator.getInstance().translateData(this.container));
+    }
+
+}
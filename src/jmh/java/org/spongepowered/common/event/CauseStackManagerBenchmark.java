@@ -0,0 +1,106 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContextKey;
+import org.spongepowered.common.benchmark.BenchmarkEnvironment;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the frame handling of the {@link SpongeCauseStackManager}, the
+ * way the phase tracker and event listeners push and pop frames around
+ * every tracked action.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CauseStackManagerBenchmark {
+
+    private SpongeCauseStackManager causeStackManager;
+    private final Object root = new Object();
+    private final Object cause = new Object();
+    private final EventContextKey<Object> contextKey = new SpongeEventContextKey<>("sponge:benchmark", "Benchmark", Object.class);
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        BenchmarkEnvironment.init();
+        // Normally created through injection
+        final Constructor<SpongeCauseStackManager> constructor = SpongeCauseStackManager.class.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        this.causeStackManager = constructor.newInstance();
+        this.causeStackManager.pushCause(this.root);
+    }
+
+    @Benchmark
+    public void pushPopFrame() {
+        try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+            frame.pushCause(this.cause);
+        }
+    }
+
+    @Benchmark
+    public Cause pushPopFrameWithContext() {
+        try (CauseStackManager.StackFrame frame = this.causeStackManager.pushCauseFrame()) {
+            frame.pushCause(this.cause);
+            frame.addContext(this.contextKey, this.cause);
+            return this.causeStackManager.getCurrentCause();
+        }
+    }
+
+    @Benchmark
+    public Cause pushPopNestedFrames() {
+        try (CauseStackManager.StackFrame outer = this.causeStackManager.pushCauseFrame()) {
+            outer.pushCause(this.cause);
+            try (CauseStackManager.StackFrame inner = this.causeStackManager.pushCauseFrame()) {
+                inner.pushCause(this.root);
+                return this.causeStackManager.getCurrentCause();
+            }
+        }
+    }
+
+    @Benchmark
+    public Cause currentCause() {
+        // Cached as long as the stack doesn't change
+        return this.causeStackManager.getCurrentCause();
+    }
+
+}
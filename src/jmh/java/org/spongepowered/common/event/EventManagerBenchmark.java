@@ -0,0 +1,156 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.event;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.plugin.PluginManager;
+import org.spongepowered.common.benchmark.BenchmarkEnvironment;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posting an event to its listeners through
+ * {@link SpongeEventManager#post(Event)}, including the lookup of the baked
+ * listeners of the event type. Events posted on the main thread also push
+ * a cause stack frame and a phase context for every listener, events posted
+ * from other threads skip that.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventManagerBenchmark {
+
+    @Param({"0", "1", "10"})
+    public int listeners;
+
+    @Param({"false", "true"})
+    public boolean mainThread;
+
+    private SpongeEventManager eventManager;
+    private BenchmarkEvent event;
+    private UnlistenedEvent unlistenedEvent;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.init();
+        BenchmarkEnvironment.setMainThread(this.mainThread);
+        final Object plugin = new Object();
+        final PluginContainer container = Mockito.mock(PluginContainer.class);
+        Mockito.when(container.getId()).thenReturn("benchmark");
+        Mockito.when(container.getName()).thenReturn("Benchmark");
+        final PluginManager pluginManager = Mockito.mock(PluginManager.class);
+        Mockito.when(pluginManager.fromInstance(plugin)).thenReturn(Optional.of(container));
+
+        this.eventManager = new SpongeEventManager(LoggerFactory.getLogger(EventManagerBenchmark.class), pluginManager);
+        for (int i = 0; i < this.listeners; i++) {
+            this.eventManager.registerListener(plugin, BenchmarkEvent.class, event -> event.handled++);
+        }
+
+        final Cause cause = Cause.of(EventContext.empty(), this);
+        this.event = new BenchmarkEvent(cause);
+        this.unlistenedEvent = new UnlistenedEvent(cause);
+        // Bake the listeners before measuring
+        this.eventManager.post(this.event);
+        this.eventManager.post(this.unlistenedEvent);
+    }
+
+    @Benchmark
+    public boolean post() {
+        return this.eventManager.post(this.event);
+    }
+
+    @Benchmark
+    public boolean postWithoutListeners() {
+        return this.eventManager.post(this.unlistenedEvent);
+    }
+
+    @Benchmark
+    public void newEventAndPost(final Blackhole blackhole) {
+        blackhole.consume(this.eventManager.post(new BenchmarkEvent(this.event.getCause())));
+    }
+
+    public static class BenchmarkEvent implements Event, Cancellable {
+
+        private final Cause cause;
+        private boolean cancelled;
+        int handled;
+
+        BenchmarkEvent(final Cause cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+
+    public static class UnlistenedEvent implements Event {
+
+        private final Cause cause;
+
+        UnlistenedEvent(final Cause cause) {
+            this.cause = cause;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+    }
+
+}
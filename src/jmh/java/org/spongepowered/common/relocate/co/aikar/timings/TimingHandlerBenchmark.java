@@ -0,0 +1,110 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.benchmark.BenchmarkEnvironment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of timing the handlers used for entity, tile entity
+ * and scheduler ticking, with and without sampling.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingHandlerBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int sampleInterval;
+
+    private TimingHandler tickEntities;
+    private TimingHandler entity;
+    private TimingHandler tileEntity;
+    private TimingHandler scheduler;
+    private TimingHandler task;
+
+    @Setup
+    public void setup() {
+        BenchmarkEnvironment.init();
+        TimingsManager.sampleInterval = this.sampleInterval;
+        // Same names as SpongeTimings and WorldTimingsHandler use
+        this.tickEntities = SpongeTimingsFactory.ofSafe("Benchmark", "entityTick");
+        this.entity = SpongeTimingsFactory.ofSafe("Minecraft", "## tickEntity - minecraft:zombie");
+        this.tileEntity = SpongeTimingsFactory.ofSafe("Minecraft", "## tickTileEntity - minecraft:hopper");
+        this.scheduler = SpongeTimingsFactory.ofSafe("Scheduler");
+        this.task = SpongeTimingsFactory.ofSafe("Benchmark", "Task: benchmark (interval:1)", TimingsManager.PLUGIN_SCHEDULER_HANDLER);
+    }
+
+    @TearDown(Level.Iteration)
+    public void processTick() {
+        for (TimingHandler handler : TimingsManager.HANDLERS) {
+            handler.processTick(false);
+        }
+    }
+
+    @Benchmark
+    public void entity() {
+        this.tickEntities.startTiming();
+        this.entity.startTiming();
+        this.entity.stopTiming();
+        this.tickEntities.stopTiming();
+    }
+
+    @Benchmark
+    public void tileEntity() {
+        this.tileEntity.startTiming();
+        this.tileEntity.stopTiming();
+    }
+
+    @Benchmark
+    public void scheduler() {
+        this.scheduler.startTiming();
+        this.task.startTiming();
+        this.task.stopTiming();
+        this.scheduler.stopTiming();
+    }
+
+    @Benchmark
+    public void baseline() {
+        // Intentionally empty, the cost of the benchmark harness itself
+    }
+}
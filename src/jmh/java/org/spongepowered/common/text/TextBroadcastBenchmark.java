@@ -0,0 +1,119 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.text;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ChatType;
+import net.minecraft.util.text.ITextComponent;
+import net.minecraft.util.text.Style;
+import net.minecraft.util.text.TextComponentString;
+import net.minecraft.util.text.TextComponentTranslation;
+import net.minecraft.util.text.TextFormatting;
+import net.minecraft.util.text.event.ClickEvent;
+import net.minecraft.util.text.event.HoverEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares broadcasting a chat line the way messages used to be sent, a
+ * packet with a copy of the component serialized once per recipient, with
+ * the single packet built by Player#sendMessage for all recipients, which
+ * writes the json serialized once. Run with {@code -prof gc}
+ * to compare the allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TextBroadcastBenchmark {
+
+    @Param({"1", "20", "200"})
+    public int recipients;
+
+    private ITextComponent component;
+    private ByteBuf buffer;
+    private PacketBuffer packetBuffer;
+
+    @Setup
+    public void setup() {
+        // Roughly what a formatted chat line with a clickable name looks like
+        final ITextComponent name = new TextComponentString("Notch");
+        name.getStyle()
+                .setColor(TextFormatting.GOLD)
+                .setClickEvent(new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg Notch "))
+                .setHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, new TextComponentString("Click to message")));
+        final ITextComponent body = new TextComponentString("Hello there, welcome to the server! ");
+        body.appendSibling(new TextComponentString("Read the rules").setStyle(new Style().setUnderlined(true)
+                .setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, "/rules"))));
+        this.component = new TextComponentTranslation("chat.type.text", name, body);
+        this.buffer = Unpooled.buffer(1024);
+        this.packetBuffer = new PacketBuffer(this.buffer);
+    }
+
+    @Benchmark
+    public int copyPerRecipient() throws IOException {
+        int written = 0;
+        for (int i = 0; i < this.recipients; i++) {
+            this.buffer.clear();
+            new SPacketChat(this.component.createCopy(), ChatType.CHAT).writePacketData(this.packetBuffer);
+            written += this.buffer.writerIndex();
+        }
+        return written;
+    }
+
+    @Benchmark
+    public int sharedPacket() {
+        // Player#sendMessage gets a single packet from the text, built from one
+        // copy of the component, and SPacketChatMixin writes the json cached
+        // with it for every recipient
+        final ITextComponent copy = this.component.createCopy();
+        final String json = ITextComponent.Serializer.componentToJson(copy);
+        int written = 0;
+        for (int i = 0; i < this.recipients; i++) {
+            this.buffer.clear();
+            this.packetBuffer.writeString(json);
+            this.packetBuffer.writeByte(ChatType.CHAT.getId());
+            written += this.buffer.writerIndex();
+        }
+        return written;
+    }
+}
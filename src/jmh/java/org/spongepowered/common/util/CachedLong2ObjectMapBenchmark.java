@@ -0,0 +1,157 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.ChunkPos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.bridge.util.CacheKeyBridge;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up loaded chunks in a plain hash map with looking them up
+ * in a {@link CachedLong2ObjectMap}, replaying chunk access patterns of
+ * entity ticking and of block updates spreading along chunk borders.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CachedLong2ObjectMapBenchmark {
+
+    private static final int VIEW_DISTANCE = 10;
+    private static final int TRACE_LENGTH = 4096;
+
+    @Param({"hash", "cached"})
+    public String map;
+
+    @Param({"entities", "neighbors"})
+    public String trace;
+
+    private Long2ObjectMap<FakeChunk> chunks;
+    private final long[] keys = new long[TRACE_LENGTH];
+
+    @Setup
+    public void setup() {
+        this.chunks = "cached".equals(this.map) ? new CachedLong2ObjectMap<>() : new Long2ObjectOpenHashMap<>();
+        for (int x = -VIEW_DISTANCE; x <= VIEW_DISTANCE; x++) {
+            for (int z = -VIEW_DISTANCE; z <= VIEW_DISTANCE; z++) {
+                final long key = ChunkPos.asLong(x, z);
+                this.chunks.put(key, new FakeChunk(key));
+            }
+        }
+        final Random random = new Random(0);
+        if ("entities".equals(this.trace)) {
+            this.entityTrace(random);
+        } else {
+            this.neighborTrace(random);
+        }
+    }
+
+    /**
+     * Entities are ticked in the order they were added to the world, each
+     * one looks up the chunk it is in and the chunks its bounding box
+     * reaches into. Most entities gather around a few spots like farms and
+     * spawners.
+     */
+    private void entityTrace(final Random random) {
+        final int[][] spots = new int[4][];
+        for (int i = 0; i < spots.length; i++) {
+            spots[i] = new int[] {random.nextInt(VIEW_DISTANCE * 32) - VIEW_DISTANCE * 16, random.nextInt(VIEW_DISTANCE * 32) - VIEW_DISTANCE * 16};
+        }
+        int i = 0;
+        while (i < TRACE_LENGTH) {
+            final int[] spot = spots[random.nextInt(spots.length)];
+            final int blockX = spot[0] + (int) (random.nextGaussian() * 12);
+            final int blockZ = spot[1] + (int) (random.nextGaussian() * 12);
+            this.keys[i++] = ChunkPos.asLong(blockX >> 4, blockZ >> 4);
+            if (i < TRACE_LENGTH && (blockX & 15) == 15) {
+                this.keys[i++] = ChunkPos.asLong((blockX >> 4) + 1, blockZ >> 4);
+            }
+            if (i < TRACE_LENGTH && (blockZ & 15) == 15) {
+                this.keys[i++] = ChunkPos.asLong(blockX >> 4, (blockZ >> 4) + 1);
+            }
+        }
+    }
+
+    /**
+     * Redstone and fluids updating blocks along a chunk border look up the
+     * chunks on both sides of it, one after another.
+     */
+    private void neighborTrace(final Random random) {
+        int chunkX = 0;
+        int chunkZ = 0;
+        for (int i = 0; i < TRACE_LENGTH; i += 2) {
+            if (random.nextInt(64) == 0) {
+                chunkX = random.nextInt(VIEW_DISTANCE * 2) - VIEW_DISTANCE;
+                chunkZ = random.nextInt(VIEW_DISTANCE * 2 + 1) - VIEW_DISTANCE;
+            }
+            this.keys[i] = ChunkPos.asLong(chunkX, chunkZ);
+            this.keys[i + 1] = ChunkPos.asLong(chunkX + 1, chunkZ);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TRACE_LENGTH)
+    public int replay() {
+        int found = 0;
+        for (final long key : this.keys) {
+            if (this.chunks.get(key) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private static final class FakeChunk implements CacheKeyBridge {
+
+        private final long key;
+
+        FakeChunk(final long key) {
+            this.key = key;
+        }
+
+        @Override
+        public long bridge$getCacheKey() {
+            return this.key;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares looking up an address in a list of CIDR ranges, the way ip sets
+ * used to be matched, with looking it up in an {@link IpPrefixTrie}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IpPrefixTrieBenchmark {
+
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000"})
+    public int ranges;
+
+    private final List<IpSet> sets = new ArrayList<>();
+    private final IpPrefixTrie<IpSet> trie = new IpPrefixTrie<>();
+    private final InetAddress[] addresses = new InetAddress[LOOKUPS];
+    private int next;
+
+    @Setup
+    public void setup() throws UnknownHostException {
+        final Random random = new Random(0);
+        for (int i = 0; i < this.ranges; i++) {
+            final boolean ipv6 = random.nextInt(4) == 0;
+            final byte[] address = new byte[ipv6 ? 16 : 4];
+            random.nextBytes(address);
+            // Mostly /16 to /32 ranges, as found in ban lists and blocklists
+            final int prefixLen = ipv6 ? 32 + random.nextInt(97) : 16 + random.nextInt(17);
+            final IpSet set = IpSet.fromAddrPrefix(InetAddress.getByAddress(address), prefixLen);
+            this.sets.add(set);
+            this.trie.put(set.getAddress(), set.getPrefixLength(), set);
+        }
+        for (int i = 0; i < LOOKUPS; i++) {
+            final byte[] address = new byte[random.nextInt(4) == 0 ? 16 : 4];
+            random.nextBytes(address);
+            this.addresses[i] = InetAddress.getByAddress(address);
+        }
+    }
+
+    private InetAddress nextAddress() {
+        return this.addresses[this.next++ & (LOOKUPS - 1)];
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        final InetAddress address = this.nextAddress();
+        for (IpSet set : this.sets) {
+            if (set.apply(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean trie() {
+        return this.trie.getLongestMatch(this.nextAddress()) != null;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures accessing the block ids stored by an {@link ArrayMutableBlockBuffer}
+ * for a 64x64x64 area, with the packed storage used for local palettes and
+ * the char storage used for the global palette. The palette lookups need a
+ * running registry and aren't part of the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockBufferBackingDataBenchmark {
+
+    private static final int AREA = 64 * 64 * 64;
+
+    @Param({"packed", "char"})
+    public String storage;
+
+    @Param({"15", "255"})
+    public int highestId;
+
+    private ArrayMutableBlockBuffer.BackingData data;
+
+    @Setup
+    public void setup() {
+        if ("packed".equals(this.storage)) {
+            this.data = new ArrayMutableBlockBuffer.PackedBackingData(AREA, this.highestId);
+        } else {
+            this.data = new ArrayMutableBlockBuffer.CharBackingData(new char[AREA]);
+        }
+        for (int i = 0; i < AREA; i++) {
+            this.data.set(i, i % (this.highestId + 1));
+        }
+    }
+
+    @Benchmark
+    public int readAll() {
+        int sum = 0;
+        for (int i = 0; i < AREA; i++) {
+            sum += this.data.get(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Object writeAll() {
+        for (int i = 0; i < AREA; i++) {
+            this.data.set(i, this.highestId - i % (this.highestId + 1));
+        }
+        return this.data;
+    }
+
+    @Benchmark
+    public Object copy() {
+        return this.data.copyOf();
+    }
+
+}
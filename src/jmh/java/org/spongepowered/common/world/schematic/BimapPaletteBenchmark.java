@@ -0,0 +1,146 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.CatalogType;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures encoding (state to id) and decoding (id to state) the blocks of a
+ * 64x64x64 schematic through a {@link BimapPalette}, compared with the pair
+ * of {@link HashBiMap}s the palette used to be backed by. Block frequencies
+ * are skewed the way they are in builds, a few states make up most blocks.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BimapPaletteBenchmark {
+
+    private static final int SIZE = 64;
+
+    @Param({"16", "256", "4096"})
+    public int paletteSize;
+
+    private CatalogType[] blocks;
+    private int[] ids;
+    private BimapPalette<CatalogType> palette;
+    private BiMap<Integer, CatalogType> biMap;
+
+    @Setup
+    public void setup() {
+        final CatalogType[] states = new CatalogType[this.paletteSize];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = new FakeState(i);
+        }
+        final Random random = new Random(0);
+        this.blocks = new CatalogType[SIZE * SIZE * SIZE];
+        for (int i = 0; i < this.blocks.length; i++) {
+            // Squaring biases the distribution towards the low indices
+            final double r = random.nextDouble();
+            this.blocks[i] = states[(int) (r * r * states.length)];
+        }
+        this.palette = new BimapPalette<>(new SpongePaletteType<>("bench", () -> null));
+        this.biMap = HashBiMap.create();
+        this.ids = new int[this.blocks.length];
+        for (int i = 0; i < this.blocks.length; i++) {
+            this.ids[i] = this.palette.getOrAssign(this.blocks[i]);
+            this.biMap.put(this.ids[i], this.blocks[i]);
+        }
+    }
+
+    @Benchmark
+    public void encode(final Blackhole blackhole) {
+        final BimapPalette<CatalogType> palette = new BimapPalette<>(this.palette.getType());
+        for (final CatalogType block : this.blocks) {
+            blackhole.consume(palette.getOrAssign(block));
+        }
+    }
+
+    @Benchmark
+    public void encodeHashBiMap(final Blackhole blackhole) {
+        final BiMap<CatalogType, Integer> idsr = HashBiMap.<Integer, CatalogType>create().inverse();
+        for (final CatalogType block : this.blocks) {
+            Integer id = idsr.get(block);
+            if (id == null) {
+                id = idsr.size();
+                idsr.put(block, id);
+            }
+            blackhole.consume(id.intValue());
+        }
+    }
+
+    @Benchmark
+    public void decode(final Blackhole blackhole) {
+        for (final int id : this.ids) {
+            blackhole.consume(this.palette.get(id).get());
+        }
+    }
+
+    @Benchmark
+    public void decodeHashBiMap(final Blackhole blackhole) {
+        for (final int id : this.ids) {
+            blackhole.consume(this.biMap.get(id));
+        }
+    }
+
+    private static final class FakeState implements CatalogType {
+
+        private final String id;
+
+        FakeState(final int id) {
+            this.id = "bench:state_" + id;
+        }
+
+        @Override
+        public String getId() {
+            return this.id;
+        }
+
+        @Override
+        public String getName() {
+            return this.id;
+        }
+    }
+
+}
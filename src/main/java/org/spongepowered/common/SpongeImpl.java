@@ -52,6 +52,7 @@
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.data.SpongeDataManager;
 import org.spongepowered.common.data.property.SpongePropertyRegistry;
+import org.spongepowered.common.entity.player.UserDataIO;
 import org.spongepowered.common.event.SpongeCauseStackManager;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.launch.SpongeLaunch;
@@ -267,6 +268,10 @@ public static void postShutdownEvents() {
         check(game);
         postState(GameState.GAME_STOPPING, SpongeEventFactory.createGameStoppingEvent(Sponge.getCauseStackManager().getCurrentCause()));
         postState(GameState.GAME_STOPPED, SpongeEventFactory.createGameStoppedEvent(Sponge.getCauseStackManager().getCurrentCause()));
+        if (configSaveManager != null) {
+            configSaveManager.shutdown();
+        }
+        UserDataIO.flush();
     }
 
     // TODO this code is used a BUNCH of times
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.bridge.api.text;
 
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ChatType;
 import net.minecraft.util.text.ITextComponent;
 
 public interface TextBridge {
@@ -32,5 +34,15 @@ public interface TextBridge {
 
     String bridge$toJson();
 
+    /**
+     * Gets a chat packet of this text. The packet is cached and shared by
+     * every recipient the text is sent to with the same chat type, like
+     * vanilla shares the packets it broadcasts. It must not be modified.
+     *
+     * @param type The chat type
+     * @return The packet
+     */
+    SPacketChat bridge$getChatPacket(ChatType type);
+
     String bridge$toLegacy(char code);
 }
@@ -26,7 +26,24 @@
 
 public interface OptimizedMapInfoBridge {
 
+    /**
+     * Flag set in packet keys of dirty map infos. The remaining bits hold the
+     * dirty rectangle as {@code maxY << 21 | maxX << 14 | minY << 7 | minX}.
+     */
+    int DIRTY_KEY = 1 << 28;
+    int DECORATIONS_KEY = 0;
+    int NO_PACKET_KEY = -1;
+
     void mapOptimizationBridge$setValid(boolean valid);
 
     boolean mapOptimizationBridge$isValid();
+
+    /**
+     * Advances this map info the same way {@code MapInfo#getPacket} would,
+     * returning a key that describes the packet that would have been created.
+     * Players whose map infos return the same key can be sent the same packet.
+     *
+     * @return The packet key, or {@link #NO_PACKET_KEY} if nothing is to be sent
+     */
+    int mapOptimizationBridge$pollPacketKey();
 }
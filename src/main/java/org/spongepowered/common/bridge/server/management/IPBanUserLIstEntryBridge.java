@@ -29,4 +29,15 @@
 public interface IPBanUserLIstEntryBridge {
 
     InetAddress bridge$getAddress();
+
+    /**
+     * Gets whether this entry bans a whole CIDR range rather than a single
+     * address, in which case {@link #bridge$getAddress()} is the address of
+     * the range.
+     *
+     * @return True if this is a range ban
+     */
+    boolean bridge$isRange();
+
+    int bridge$getPrefixLength();
 }
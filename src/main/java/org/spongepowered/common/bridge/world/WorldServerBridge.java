@@ -153,4 +153,23 @@ public interface WorldServerBridge {
     void bridge$setWeatherStartTime(long start);
 
     void bridge$setProviderGenerator(SpongeChunkGenerator newGenerator);
+
+    /**
+     * Marks that the folder of this world is being copied, no chunks or level
+     * data will be saved until every copy has called
+     * {@link #bridge$endWorldCopy()}. Unlike {@link WorldServer#disableLevelSaving}
+     * this is not visible to, or changed by, the save commands.
+     *
+     * <p>Must only be called from the main thread.</p>
+     */
+    void bridge$beginWorldCopy();
+
+    /**
+     * Ends a copy started by {@link #bridge$beginWorldCopy()}.
+     *
+     * <p>Must only be called from the main thread.</p>
+     */
+    void bridge$endWorldCopy();
+
+    boolean bridge$isWorldCopyInProgress();
 }
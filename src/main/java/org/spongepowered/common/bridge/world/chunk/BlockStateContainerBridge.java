@@ -26,6 +26,7 @@
 
 import net.minecraft.util.BitArray;
 import net.minecraft.world.chunk.IBlockStatePalette;
+import org.spongepowered.common.util.gen.BlockStateContainerSnapshot;
 
 public interface BlockStateContainerBridge {
 
@@ -34,4 +35,12 @@ public interface BlockStateContainerBridge {
     IBlockStatePalette bridge$getPalette();
 
     BitArray bridge$getStorage();
+
+    /**
+     * Creates an immutable snapshot of this container. The storage is shared
+     * with the snapshot until this container is next modified.
+     *
+     * @return The snapshot
+     */
+    BlockStateContainerSnapshot bridge$createSnapshot();
 }
@@ -106,6 +106,10 @@ public interface ChunkBridge {
 
     boolean bridge$isQueuedForUnload();
 
+    boolean bridge$isInUnloadQueue();
+
+    void bridge$setInUnloadQueue(boolean queued);
+
     void bridge$markChunkDirty();
 
     boolean bridge$isActive();
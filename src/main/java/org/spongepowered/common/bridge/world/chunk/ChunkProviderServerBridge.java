@@ -58,6 +58,15 @@ public interface ChunkProviderServerBridge {
 
     long bridge$getChunkUnloadDelay();
 
+    /**
+     * Gets the share of loaded chunk lookups that were answered from the
+     * lookup cache in front of the loaded chunks map, since the world was
+     * loaded.
+     *
+     * @return The hit rate between 0 and 1
+     */
+    double bridge$getChunkCacheHitRate();
+
     /**
      * Used strictly for implementation, because this method
      * is used in various other places, SpongeForge needs to
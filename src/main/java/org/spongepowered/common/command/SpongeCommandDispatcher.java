@@ -28,10 +28,12 @@
 import static org.spongepowered.api.command.CommandMessageFormatting.SPACE_TEXT;
 import static org.spongepowered.api.util.SpongeApiTranslationHelper.t;
 
-import com.google.common.collect.ArrayListMultimap;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMultimap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedMap;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Multimaps;
@@ -55,14 +57,20 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -98,8 +106,21 @@ final class SpongeCommandDispatcher implements Dispatcher {
         return Optional.of(availableOptions.get(0));
     };
 
+    // Suggestions for a source are reused while it keeps typing the same alias
+    private static final long SUGGESTION_CACHE_TIMEOUT = 5;
+
     private final Disambiguator disambiguatorFunc;
-    private final ListMultimap<String, CommandMapping> commands = ArrayListMultimap.create();
+    // Sorted by alias, so all the aliases starting with a prefix are next to each other
+    private final ListMultimap<String, CommandMapping> commands = Multimaps.newListMultimap(new TreeMap<>(), ArrayList::new);
+    /**
+     * An immutable copy of {@link #commands}, which can be used without
+     * holding the lock. Cleared whenever a command is added or removed.
+     */
+    @Nullable private volatile NavigableMap<String, List<CommandMapping>> aliasIndex;
+    private final Cache<CommandSource, AliasSuggestions> aliasSuggestions = CacheBuilder.newBuilder()
+            .weakKeys()
+            .expireAfterWrite(SUGGESTION_CACHE_TIMEOUT, TimeUnit.SECONDS)
+            .build();
 
     /**
      * Creates a new dispatcher with a specific disambiguator.
@@ -191,6 +212,7 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
         for (String alias : aliases) {
             this.commands.put(alias.toLowerCase(), mapping);
         }
+        invalidateAliasIndex();
 
         return Optional.of(mapping);
     }
@@ -202,6 +224,7 @@ public synchronized Optional<CommandMapping> register(CommandCallable callable,
      * @return The previous mapping associated with the alias, if one was found
      */
     public synchronized Collection<CommandMapping> remove(String alias) {
+        invalidateAliasIndex();
         return this.commands.removeAll(alias.toLowerCase());
     }
 
@@ -213,6 +236,7 @@ public synchronized Collection<CommandMapping> remove(String alias) {
      */
     public synchronized boolean removeAll(Collection<?> aliases) {
         checkNotNull(aliases, "aliases");
+        invalidateAliasIndex();
 
         boolean found = false;
 
@@ -233,6 +257,7 @@ public synchronized boolean removeAll(Collection<?> aliases) {
      */
     public synchronized Optional<CommandMapping> removeMapping(CommandMapping mapping) {
         checkNotNull(mapping, "mapping");
+        invalidateAliasIndex();
 
         CommandMapping found = null;
 
@@ -256,6 +281,7 @@ public synchronized Optional<CommandMapping> removeMapping(CommandMapping mappin
      */
     public synchronized boolean removeMappings(Collection<?> mappings) {
         checkNotNull(mappings, "mappings");
+        invalidateAliasIndex();
 
         boolean found = false;
 
@@ -303,14 +329,14 @@ public Optional<CommandMapping> get(String alias) {
     }
 
     @Override
-    public synchronized Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
+    public Optional<CommandMapping> get(String alias, @Nullable CommandSource source) {
         return get(alias, source, (src, mapping) -> mapping.getCallable().testPermission(src));
     }
 
-    public synchronized Optional<CommandMapping> get(String alias,
+    public Optional<CommandMapping> get(String alias,
             @Nullable CommandSource source,
             BiPredicate<CommandSource, CommandMapping> filter) {
-        List<CommandMapping> results = this.commands.get(alias.toLowerCase());
+        List<CommandMapping> results = getAliasIndex().getOrDefault(alias.toLowerCase(), Collections.emptyList());
         Optional<CommandMapping> result = Optional.empty();
         if (results.size() == 1) {
             result = Optional.of(results.get(0));
@@ -321,8 +347,8 @@ public synchronized Optional<CommandMapping> get(String alias,
     }
 
     @Override
-    public synchronized boolean containsAlias(String alias) {
-        return this.commands.containsKey(alias.toLowerCase());
+    public boolean containsAlias(String alias) {
+        return getAliasIndex().containsKey(alias.toLowerCase());
     }
 
     @Override
@@ -369,7 +395,7 @@ public List<String> getSuggestions(CommandSource src, final String arguments, @N
         final String[] argSplit = arguments.split(" ", 2);
         Optional<CommandMapping> cmdOptional = get(argSplit[0], src, ON_DISCOVERY);
         if (argSplit.length == 1) {
-            return filterCommands(src, argSplit[0]).stream().collect(ImmutableList.toImmutableList());
+            return suggestAliases(src, argSplit[0]);
         } else if (!cmdOptional.isPresent()) {
             return ImmutableList.of();
         }
@@ -422,9 +448,65 @@ private Set<String> filterCommands(final CommandSource src) {
 
     // Filter out commands by String first
     private Set<String> filterCommands(final CommandSource src, String start) {
-        ListMultimap<String, CommandMapping> map = Multimaps.filterKeys(this.commands,
-                input -> input != null && input.toLowerCase().startsWith(start.toLowerCase()));
-        return Multimaps.filterValues(map, input -> input.getCallable().testPermission(src)).keys().elementSet();
+        final String prefix = start.toLowerCase();
+        final Set<String> aliases = new LinkedHashSet<>();
+        for (Map.Entry<String, List<CommandMapping>> entry : getAliasesStartingWith(prefix).entrySet()) {
+            for (CommandMapping mapping : entry.getValue()) {
+                if (mapping.getCallable().testPermission(src)) {
+                    aliases.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return aliases;
+    }
+
+    private List<String> suggestAliases(final CommandSource src, final String start) {
+        final String prefix = start.toLowerCase();
+        final NavigableMap<String, List<CommandMapping>> index = getAliasIndex();
+        final AliasSuggestions cached = this.aliasSuggestions.getIfPresent(src);
+        if (cached != null && cached.index == index && prefix.startsWith(cached.prefix)) {
+            // The source typed more of the alias, the permissions don't have to be checked again
+            if (prefix.equals(cached.prefix)) {
+                return cached.aliases;
+            }
+            final ImmutableList.Builder<String> aliases = ImmutableList.builder();
+            for (String alias : cached.aliases) {
+                if (alias.startsWith(prefix)) {
+                    aliases.add(alias);
+                }
+            }
+            return aliases.build();
+        }
+        final List<String> aliases = ImmutableList.copyOf(filterCommands(src, prefix));
+        this.aliasSuggestions.put(src, new AliasSuggestions(index, prefix, aliases));
+        return aliases;
+    }
+
+    private NavigableMap<String, List<CommandMapping>> getAliasesStartingWith(final String prefix) {
+        return getAliasIndex().subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private NavigableMap<String, List<CommandMapping>> getAliasIndex() {
+        NavigableMap<String, List<CommandMapping>> index = this.aliasIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = this.aliasIndex;
+                if (index == null) {
+                    final ImmutableSortedMap.Builder<String, List<CommandMapping>> builder = ImmutableSortedMap.naturalOrder();
+                    for (Map.Entry<String, Collection<CommandMapping>> entry : this.commands.asMap().entrySet()) {
+                        builder.put(entry.getKey(), ImmutableList.copyOf(entry.getValue()));
+                    }
+                    index = builder.build();
+                    this.aliasIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private void invalidateAliasIndex() {
+        this.aliasIndex = null;
     }
 
     /**
@@ -468,4 +550,17 @@ public Multimap<String, CommandMapping> getAll() {
         return ImmutableMultimap.copyOf(this.commands);
     }
 
+    private static final class AliasSuggestions {
+
+        final NavigableMap<String, List<CommandMapping>> index;
+        final String prefix;
+        final List<String> aliases;
+
+        AliasSuggestions(NavigableMap<String, List<CommandMapping>> index, String prefix, List<String> aliases) {
+            this.index = index;
+            this.prefix = prefix;
+            this.aliases = aliases;
+        }
+    }
+
 }
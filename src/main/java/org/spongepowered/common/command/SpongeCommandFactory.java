@@ -97,6 +97,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.category.MetricsCategory;
 import org.spongepowered.common.config.type.ConfigBase;
@@ -108,6 +109,7 @@
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.common.mixin.core.world.WorldAccessor;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.common.util.gen.ChunkSnapshotBlockBuffer;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -372,6 +374,8 @@ protected Text processGlobal(final SpongeConfig<GlobalConfig> config, final Comm
                         source.sendMessage(Text.of("World ", Text.of(TextStyles.BOLD, world.getName()),
                             getChunksInfo(((WorldServer) world))));
                     }
+                    source.sendMessage(Text.of(key("Block snapshots: "), value(ChunkSnapshotBlockBuffer.getLiveCount()), " ",
+                        value(String.format("(%.1f KiB retained)", ChunkSnapshotBlockBuffer.getRetainedSize() / 1024D))));
                     return Text.of("Printed chunk info for all worlds ");
                 }
 
@@ -407,6 +411,8 @@ protected Text getChunksInfo(final WorldServer worldserver) {
                     return Text.of(NEWLINE_TEXT, key("DimensionId: "), value(((WorldServerBridge) worldserver).bridge$getDimensionId()), NEWLINE_TEXT,
                         key("Loaded chunks: "), value(worldserver.getChunkProvider().getLoadedChunkCount()), NEWLINE_TEXT,
                         key("Active chunks: "), value(worldserver.getChunkProvider().getLoadedChunks().size()), NEWLINE_TEXT,
+                        key("Chunk cache hit rate: "), value(String.format("%.1f%%",
+                            ((ChunkProviderServerBridge) worldserver.getChunkProvider()).bridge$getChunkCacheHitRate() * 100)), NEWLINE_TEXT,
                         key("Entities: "), value(worldserver.loadedEntityList.size()), NEWLINE_TEXT,
                         key("Tile Entities: "), value(worldserver.loadedTileEntityList.size()), NEWLINE_TEXT,
                         key("Removed Entities:"), value(((WorldAccessor) worldserver).accessor$getUnloadedEntityList().size()), NEWLINE_TEXT,
@@ -39,9 +39,12 @@
 import org.spongepowered.common.config.type.GlobalConfig;
 import org.spongepowered.common.config.type.TrackerConfig;
 import org.spongepowered.common.config.type.WorldConfig;
+import org.spongepowered.common.util.AtomicFiles;
 import org.spongepowered.common.util.IpSet;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
@@ -94,6 +97,11 @@ public enum Type {
      */
     private HoconConfigurationLoader loader;
 
+    /**
+     * The file the config is saved to
+     */
+    private Path path;
+
     /**
      * A node representation of "whats actually in the file".
      */
@@ -144,6 +152,7 @@ public SpongeConfig(Type type, Path path, String modId, SpongeConfig<?> parent,
             }
 
             this.loader = HoconConfigurationLoader.builder().setPath(path).build();
+            this.path = path;
             this.configMapper = (ObjectMapper.BoundInstance) ObjectMapper.forType(this.type.type).bindToNew();
 
             // If load fails, avoid saving as this can mess up world configs.
@@ -176,22 +185,13 @@ public void save() {
         SpongeImpl.getConfigSaveManager().save(this);
     }
 
-    public boolean saveNow() {
+    public synchronized boolean saveNow() {
         if (this.isDummy) {
             return false;
         }
         try {
-            // save from the mapped object --> node
-            CommentedConfigurationNode saveNode = CommentedConfigurationNode.root(LOADER_OPTIONS);
-            this.configMapper.serialize(saveNode.getNode(this.modId));
-
-            // before saving this config, remove any values already declared with the same value on the parent
-            if (this.parent != null) {
-                removeDuplicates(saveNode);
-            }
-
             // save the data to disk
-            this.loader.save(saveNode);
+            write(createSaveNode());
 
             // In order for the removeDuplicates method to function properly, it is extremely
             // important to avoid running save on parent BEFORE children save. Doing so will
@@ -208,6 +208,68 @@ public boolean saveNow() {
         }
     }
 
+    /**
+     * Captures what {@link #saveNow()} writes for this config, without its
+     * parents. The returned node is independent of the config, so it can be
+     * written on another thread with {@link #writeSnapshot} while the config
+     * is modified.
+     *
+     * @return The node to write, or null if the config couldn't be serialized
+     */
+    @Nullable
+    synchronized CommentedConfigurationNode createSnapshot() {
+        if (this.isDummy) {
+            return null;
+        }
+        try {
+            return createSaveNode();
+        } catch (ObjectMappingException e) {
+            SpongeImpl.getLogger().error("Failed to save configuration", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a node which was captured by {@link #createSnapshot()}.
+     *
+     * @param snapshot The captured node
+     * @throws IOException If the file couldn't be written
+     */
+    synchronized void writeSnapshot(CommentedConfigurationNode snapshot) throws IOException {
+        write(snapshot);
+    }
+
+    @Nullable
+    SpongeConfig<?> getParent() {
+        return this.parent;
+    }
+
+    Path getPath() {
+        return this.path;
+    }
+
+    private CommentedConfigurationNode createSaveNode() throws ObjectMappingException {
+        // save from the mapped object --> node
+        CommentedConfigurationNode saveNode = CommentedConfigurationNode.root(LOADER_OPTIONS);
+        this.configMapper.serialize(saveNode.getNode(this.modId));
+
+        // before saving this config, remove any values already declared with the same value on the parent
+        if (this.parent != null) {
+            removeDuplicates(saveNode);
+        }
+        return saveNode;
+    }
+
+    private void write(CommentedConfigurationNode node) throws IOException {
+        // Rendered in memory first, so that a failure never replaces the file
+        final StringWriter rendered = new StringWriter();
+        HoconConfigurationLoader.builder().setSink(() -> new BufferedWriter(rendered)).build().save(node);
+        try (AtomicFiles.AtomicWriter writer = AtomicFiles.newBufferedWriter(this.path)) {
+            writer.write(rendered.toString());
+            writer.commit();
+        }
+    }
+
     public boolean load() {
         if (this.isDummy) {
             return true;
@@ -24,13 +24,19 @@
  */
 package org.spongepowered.common.config;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import org.spongepowered.api.GameState;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.common.SpongeImpl;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nullable;
@@ -40,27 +46,101 @@
  * this manager acts as a staging ground for file saves so that we can do them
  * in batches.
  *
+ * <p>Once the server has started, saves are written by a background thread
+ * after a short delay, so that many saves of the same config (for example
+ * when auto populating activation ranges for a lot of new entity types) are
+ * coalesced into a single write. The contents of a config are captured on the
+ * thread that saves it, only the captured node is written in the background.
+ * Staged saves are written synchronously when the game stops.</p>
+ *
  * <p>This class is intended to be thread safe through the use of
  * synchronisation.</p>
  */
 public class SpongeConfigSaveManager {
 
-    private final Set<SpongeConfig<?>> stagedConfigs = new HashSet<>();
+    private static final long WRITE_DELAY_MILLIS = 2000;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final Map<SpongeConfig<?>, StagedSave> stagedSaves = new LinkedHashMap<>();
+    @Nullable private ScheduledExecutorService writer;
+    @Nullable private ScheduledFuture<?> scheduledWrite;
 
     public void save(SpongeConfig<?> spongeConfig) {
         synchronized (this) {
-            if (!SpongeImpl.isInitialized() || // if we're not initialised, then we're likely testing and should just pass on through.
-                    SpongeImpl.getGame().getState() == GameState.SERVER_STARTED || SpongeImpl.getGame().getState() == GameState.GAME_STOPPED) {
-                if (!this.stagedConfigs.isEmpty()) {
+            if (!SpongeImpl.isInitialized()) {
+                // if we're not initialised, then we're likely testing and should just pass on through.
+                if (!this.stagedSaves.isEmpty()) {
                     // We want to save and flush now, but add this into the set in case it is already present.
-                    this.stagedConfigs.add(spongeConfig);
+                    stage(spongeConfig);
                     flush();
                 } else {
                     // just save
                     spongeConfig.saveNow();
                 }
-            } else {
-                this.stagedConfigs.add(spongeConfig);
+                return;
+            }
+            stage(spongeConfig);
+            final GameState state = SpongeImpl.getGame().getState();
+            if (state == GameState.GAME_STOPPED) {
+                flush();
+            } else if (state == GameState.SERVER_STARTED) {
+                scheduleWrite();
+            }
+        }
+    }
+
+    private void stage(SpongeConfig<?> spongeConfig) {
+        // Parents are saved after their children, the same way saveNow does
+        for (SpongeConfig<?> config = spongeConfig; config != null; config = config.getParent()) {
+            final CommentedConfigurationNode snapshot = config.createSnapshot();
+            if (snapshot != null) {
+                // A newer snapshot replaces the staged one, and gets its own attempts
+                this.stagedSaves.put(config, new StagedSave(snapshot, 0));
+            }
+        }
+    }
+
+    private void scheduleWrite() {
+        if (this.scheduledWrite != null) {
+            // Will be picked up by the already scheduled write
+            return;
+        }
+        if (this.writer == null) {
+            this.writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Config Save Thread")
+                    .setDaemon(true)
+                    .build());
+        }
+        this.scheduledWrite = this.writer.schedule(this::writeStaged, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void writeStaged() {
+        final List<Map.Entry<SpongeConfig<?>, StagedSave>> saves;
+        synchronized (this) {
+            this.scheduledWrite = null;
+            saves = new ArrayList<>(this.stagedSaves.entrySet());
+            this.stagedSaves.clear();
+        }
+        for (Map.Entry<SpongeConfig<?>, StagedSave> entry : saves) {
+            final SpongeConfig<?> config = entry.getKey();
+            final StagedSave save = entry.getValue();
+            try {
+                config.writeSnapshot(save.snapshot);
+            } catch (IOException | RuntimeException e) {
+                final int attempts = save.attempts + 1;
+                if (attempts >= MAX_WRITE_ATTEMPTS) {
+                    SpongeImpl.getLogger().error("Failed to save configuration {} after {} attempts, it will be written with its next save",
+                            config.getPath(), attempts, e);
+                    continue;
+                }
+                SpongeImpl.getLogger().warn("Failed to save configuration {}, retrying", config.getPath(), e);
+                synchronized (this) {
+                    // Unless the config was saved again in the meantime
+                    this.stagedSaves.putIfAbsent(config, new StagedSave(save.snapshot, attempts));
+                    if (this.writer != null) {
+                        scheduleWrite();
+                    }
+                }
             }
         }
     }
@@ -74,8 +154,9 @@ public void save(SpongeConfig<?> spongeConfig) {
      */
     public boolean flush(SpongeConfig<?> config) {
         synchronized (this) {
-            if (this.stagedConfigs.remove(config)) {
-                return config.saveNow();
+            final StagedSave save = this.stagedSaves.remove(config);
+            if (save != null) {
+                return write(config, save);
             }
         }
 
@@ -83,15 +164,63 @@ public boolean flush(SpongeConfig<?> config) {
     }
 
     public void flush() {
-        if (!this.stagedConfigs.isEmpty()) {
-            synchronized (this) {
-                for (SpongeConfig<?> spongeConfig : this.stagedConfigs) {
-                    spongeConfig.saveNow();
-                }
+        synchronized (this) {
+            if (this.stagedSaves.isEmpty()) {
+                return;
+            }
+            for (Map.Entry<SpongeConfig<?>, StagedSave> entry : this.stagedSaves.entrySet()) {
+                write(entry.getKey(), entry.getValue());
+            }
+
+            this.stagedSaves.clear();
+        }
+    }
+
+    private static boolean write(SpongeConfig<?> config, StagedSave save) {
+        try {
+            config.writeSnapshot(save.snapshot);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().error("Failed to save configuration {}", config.getPath(), e);
+            return false;
+        }
+    }
 
-                this.stagedConfigs.clear();
+    /**
+     * Stops the background writer, writing all staged configs on the calling
+     * thread.
+     */
+    public void shutdown() {
+        final ScheduledExecutorService writer;
+        synchronized (this) {
+            writer = this.writer;
+            this.writer = null;
+            if (this.scheduledWrite != null) {
+                this.scheduledWrite.cancel(false);
+                this.scheduledWrite = null;
+            }
+        }
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                // Let a write that is already running finish first
+                writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
         }
+        flush();
+    }
+
+    private static final class StagedSave {
+
+        final CommentedConfigurationNode snapshot;
+        final int attempts;
+
+        StagedSave(CommentedConfigurationNode snapshot, int attempts) {
+            this.snapshot = snapshot;
+            this.attempts = attempts;
+        }
     }
 
 }
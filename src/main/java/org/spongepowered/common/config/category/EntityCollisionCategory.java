@@ -44,6 +44,14 @@ public class EntityCollisionCategory extends ConfigCategory {
             + "Set to '0' to disable.")
     private int maxEntitiesWithinAABB = 8;
 
+    @Setting(value = "broad-phase", comment = ""
+            + "If 'true', the entities of each chunk section are kept in a grid so that\n"
+            + "collision checks only look at nearby entities instead of every entity in\n"
+            + "the section. This helps with large mob farms, but changes the order in\n"
+            + "which colliding entities are found.\n"
+            + "Note: This is only read from the global config and requires a restart.")
+    private boolean broadPhase = false;
+
     @Setting(value = "mods", comment = "Per-mod overrides. Refer to the minecraft default mod for example.")
     private Map<String, CollisionModCategory> modList = new HashMap<>();
 
@@ -67,4 +75,8 @@ public void setMaxEntitiesWithinAABB(int maxEntities) {
         this.maxEntitiesWithinAABB = maxEntities;
     }
 
+    public boolean useBroadPhase() {
+        return this.broadPhase;
+    }
+
 }
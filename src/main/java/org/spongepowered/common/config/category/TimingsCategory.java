@@ -57,6 +57,16 @@ public class TimingsCategory extends ConfigCategory {
     @Setting(value = "history-length", comment = "How long the list of said history can get")
     private int historyLength = 3600;
 
+    @Setting(value = "sample-interval", comment = ""
+            + "If greater than 1, only 1 in this many invocations of each timing handler,\n"
+            + "picked at random, is actually timed, the others are only counted. Reported times are scaled up\n"
+            + "accordingly, which greatly lowers the overhead of keeping timings enabled\n"
+            + "at the cost of precision. (Default: 1)")
+    private int sampleInterval = 1;
+
+    @Setting(value = "local-export", comment = "Continuous timings export to disk and a local scrape endpoint.")
+    private TimingsLocalExportCategory localExport = new TimingsLocalExportCategory();
+
     public boolean isVerbose() {
         return this.verbose;
     }
@@ -97,4 +107,12 @@ public void setHistoryLength(int historyLength) {
         this.historyLength = historyLength;
     }
 
+    public int getSampleInterval() {
+        return this.sampleInterval;
+    }
+
+    public TimingsLocalExportCategory getLocalExport() {
+        return this.localExport;
+    }
+
 }
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.config.category;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class TimingsLocalExportCategory extends ConfigCategory {
+
+    @Setting(value = "enabled", comment = ""
+            + "If 'true', timings snapshots are continuously written to disk as JSON lines\n"
+            + "and per-handler latency histograms are recorded. This does not require\n"
+            + "internet access, unlike the timings report upload.")
+    private boolean enabled = false;
+
+    @Setting(value = "interval", comment = "The interval, in seconds, between two snapshots. (Default: 10)")
+    private int interval = 10;
+
+    @Setting(value = "directory", comment = "The directory, relative to the server root, snapshots are written to.")
+    private String directory = "timings";
+
+    @Setting(value = "max-files", comment = ""
+            + "Snapshots are rolled over into a new file every hour, this is the amount\n"
+            + "of files kept before the oldest ones are deleted. (Default: 48)")
+    private int maxFiles = 48;
+
+    @Setting(value = "http-port", comment = ""
+            + "If greater than 0, the latest snapshot is served as plain text on this port\n"
+            + "under '/timings' for scraping.")
+    private int httpPort = 0;
+
+    @Setting(value = "http-address", comment = "The address the scrape endpoint is bound to.")
+    private String httpAddress = "127.0.0.1";
+
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    public String getDirectory() {
+        return this.directory;
+    }
+
+    public int getMaxFiles() {
+        return this.maxFiles;
+    }
+
+    public int getHttpPort() {
+        return this.httpPort;
+    }
+
+    public String getHttpAddress() {
+        return this.httpAddress;
+    }
+}
@@ -24,11 +24,10 @@
  */
 package org.spongepowered.common.config.type;
 
-import com.google.common.base.Function;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
-import com.google.common.collect.Maps;
 import ninja.leaping.configurate.objectmapping.Setting;
 import org.spongepowered.common.config.category.BrokenModCategory;
 import org.spongepowered.common.config.category.BungeeCordCategory;
@@ -44,12 +43,15 @@
 import org.spongepowered.common.config.category.PhaseTrackerCategory;
 import org.spongepowered.common.config.category.SqlCategory;
 import org.spongepowered.common.config.category.TeleportHelperCategory;
+import org.spongepowered.common.util.IpPrefixTrie;
 import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nullable;
 
@@ -74,6 +76,7 @@ public class GlobalConfig extends GeneralConfigBase {
             + "Automatically assigns (permission) contexts to users that use any of the given ips.\n"
             + "This can be used to restrict/grant permissions, based on the player's source or target ip.")
     private Map<String, List<IpSet>> ipSets = new HashMap<>();
+    @Nullable private volatile IpSetIndex ipSetIndex;
 
     @Setting(value = "bungeecord", comment = ""
             + "Controls how Sponge interacts with server proxies, such as BungeeCord and Velocity.\n"
@@ -139,13 +142,29 @@ public ModuleCategory getModules() {
     }
 
     public Map<String, Predicate<InetAddress>> getIpSets() {
-        return ImmutableMap.copyOf(Maps.transformValues(this.ipSets, new Function<List<IpSet>, Predicate<InetAddress>>() {
-            @Nullable
-            @Override
-            public Predicate<InetAddress> apply(List<IpSet> input) {
-                return Predicates.and(input);
-            }
-        }));
+        return this.getIpSetIndex().predicates;
+    }
+
+    /**
+     * Gets the names of all ip sets which contain the address.
+     *
+     * @param address The address
+     * @return The names of the matching ip sets
+     */
+    public Set<String> getMatchingIpSets(InetAddress address) {
+        final Set<String> names = new LinkedHashSet<>();
+        this.getIpSetIndex().trie.forEachMatch(address, names::addAll);
+        return names;
+    }
+
+    private IpSetIndex getIpSetIndex() {
+        IpSetIndex index = this.ipSetIndex;
+        // The map is replaced when the config is loaded again
+        if (index == null || index.source != this.ipSets) {
+            index = new IpSetIndex(this.ipSets);
+            this.ipSetIndex = index;
+        }
+        return index;
     }
 
     public ExploitCategory getExploits() {
@@ -156,8 +175,9 @@ public OptimizationCategory getOptimizations() {
         return this.optimizations;
     }
 
+    @Nullable
     public Predicate<InetAddress> getIpSet(String name) {
-        return this.ipSets.containsKey(name) ? Predicates.and(this.ipSets.get(name)) : null;
+        return this.getIpSets().get(name);
     }
 
     @Override
@@ -186,4 +206,31 @@ public MetricsCategory getMetricsCategory() {
         return this.metricsCategory;
     }
 
+    /**
+     * The ip sets compiled into a prefix trie, so that finding the sets of
+     * an address doesn't depend on the amount of configured ranges.
+     */
+    private static final class IpSetIndex {
+
+        final Map<String, List<IpSet>> source;
+        final IpPrefixTrie<List<String>> trie = new IpPrefixTrie<>();
+        final Map<String, Predicate<InetAddress>> predicates;
+
+        IpSetIndex(Map<String, List<IpSet>> source) {
+            this.source = source;
+            final ImmutableMap.Builder<String, Predicate<InetAddress>> predicates = ImmutableMap.builder();
+            for (Map.Entry<String, List<IpSet>> entry : source.entrySet()) {
+                for (IpSet set : entry.getValue()) {
+                    final List<String> previous = this.trie.put(set.getAddress(), set.getPrefixLength(), ImmutableList.of(entry.getKey()));
+                    if (previous != null) {
+                        this.trie.put(set.getAddress(), set.getPrefixLength(),
+                                ImmutableList.<String>builder().addAll(previous).add(entry.getKey()).build());
+                    }
+                }
+                // Addresses are part of a set if any of its ranges contains them
+                predicates.put(entry.getKey(), Predicates.or(ImmutableList.copyOf(entry.getValue())));
+            }
+            this.predicates = predicates.build();
+        }
+    }
 }
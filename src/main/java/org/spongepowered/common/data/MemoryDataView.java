@@ -56,6 +56,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -132,15 +133,51 @@ public Set<DataQuery> getKeys(boolean deep) {
     @Override
     public Map<DataQuery, Object> getValues(boolean deep) {
         ImmutableMap.Builder<DataQuery, Object> builder = ImmutableMap.builder();
-        for (DataQuery query : getKeys(deep)) {
-            Object value = get(query).get();
+        putValues(builder, null, deep);
+        return builder.build();
+    }
+
+    /**
+     * Collects the values of this view in the same order as
+     * {@link #getKeys(boolean)} lists their keys, without looking every
+     * single one of them up again through its full path.
+     */
+    private void putValues(ImmutableMap.Builder<DataQuery, Object> builder, @Nullable DataQuery prefix, boolean deep) {
+        for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+            final DataQuery query = prefix == null ? of(entry.getKey()) : prefix.then(of(entry.getKey()));
+            final Object value = entry.getValue();
             if (value instanceof DataView) {
                 builder.put(query, ((DataView) value).getValues(deep));
             } else {
-                builder.put(query, get(query).get());
+                builder.put(query, cloneIfRequired(value));
             }
         }
-        return builder.build();
+        if (deep) {
+            for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+                final Object value = entry.getValue();
+                if (value instanceof MemoryDataView) {
+                    ((MemoryDataView) value).putValues(builder, prefix == null ? of(entry.getKey()) : prefix.then(of(entry.getKey())), true);
+                } else if (value instanceof DataView) {
+                    final DataQuery query = prefix == null ? of(entry.getKey()) : prefix.then(of(entry.getKey()));
+                    for (Map.Entry<DataQuery, Object> nested : ((DataView) value).getValues(true).entrySet()) {
+                        builder.put(query.then(nested.getKey()), nested.getValue());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Passes every value stored directly in this view to the given consumer.
+     * Unlike {@link #getValues(boolean)}, nested views are passed as they
+     * are instead of being converted to maps first.
+     *
+     * @param consumer The consumer of the keys and values
+     */
+    public void forEachValue(BiConsumer<String, Object> consumer) {
+        for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+            consumer.accept(entry.getKey(), cloneIfRequired(entry.getValue()));
+        }
     }
 
     @Override
@@ -148,12 +185,17 @@ public final boolean contains(DataQuery path) {
         checkNotNull(path, "path");
         List<String> queryParts = path.getParts();
 
-        String key = queryParts.get(0);
-        if (queryParts.size() == 1) {
-            return this.map.containsKey(key);
+        final int last = queryParts.size() - 1;
+        MemoryDataView view = this;
+        for (int i = 0; i < last; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else {
+                return child instanceof DataView && ((DataView) child).contains(tail(path, i + 1));
+            }
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        return subViewOptional.isPresent() && subViewOptional.get().contains(path.popFirst());
+        return view.map.containsKey(queryParts.get(last));
     }
 
     @Override
@@ -187,42 +229,69 @@ public Optional<Object> get(DataQuery path) {
             return Optional.<Object>of(this);
         }
 
-        String key = queryParts.get(0);
-        if (sz == 1) {
-            final Object object = this.map.get(key);
-            if (object == null) {
+        // Walk down the nested views by index instead of popping a new
+        // query for every level of the path
+        MemoryDataView view = this;
+        for (int i = 0; i < sz - 1; i++) {
+            final Object child = view.map.get(queryParts.get(i));
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                return ((DataView) child).get(tail(path, i + 1));
+            } else {
                 return Optional.empty();
             }
-            if (this.safety == SafetyMode.ALL_DATA_CLONED) {
-                if (object.getClass().isArray()) {
-                    if (object instanceof byte[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((byte[]) object));
-                    } else if (object instanceof short[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((short[]) object));
-                    } else if (object instanceof int[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((int[]) object));
-                    } else if (object instanceof long[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((long[]) object));
-                    } else if (object instanceof float[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((float[]) object));
-                    } else if (object instanceof double[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((double[]) object));
-                    } else if (object instanceof boolean[]) {
-                        return Optional.<Object>of(ArrayUtils.clone((boolean[]) object));
-                    } else {
-                        return Optional.<Object>of(ArrayUtils.clone((Object[]) object));
-                    }
+        }
+        final Object object = view.map.get(queryParts.get(sz - 1));
+        if (object == null) {
+            return Optional.empty();
+        }
+        return Optional.of(view.cloneIfRequired(object));
+    }
+
+    private Object cloneIfRequired(Object object) {
+        if (this.safety == SafetyMode.ALL_DATA_CLONED) {
+            if (object.getClass().isArray()) {
+                if (object instanceof byte[]) {
+                    return ArrayUtils.clone((byte[]) object);
+                } else if (object instanceof short[]) {
+                    return ArrayUtils.clone((short[]) object);
+                } else if (object instanceof int[]) {
+                    return ArrayUtils.clone((int[]) object);
+                } else if (object instanceof long[]) {
+                    return ArrayUtils.clone((long[]) object);
+                } else if (object instanceof float[]) {
+                    return ArrayUtils.clone((float[]) object);
+                } else if (object instanceof double[]) {
+                    return ArrayUtils.clone((double[]) object);
+                } else if (object instanceof boolean[]) {
+                    return ArrayUtils.clone((boolean[]) object);
+                } else {
+                    return ArrayUtils.clone((Object[]) object);
                 }
             }
-            return Optional.of(object);
         }
-        Optional<DataView> subViewOptional = this.getUnsafeView(key);
-        if (!subViewOptional.isPresent()) {
-            return Optional.empty();
+        return object;
+    }
+
+    private static DataQuery tail(DataQuery path, int from) {
+        DataQuery tail = path;
+        for (int i = 0; i < from; i++) {
+            tail = tail.popFirst();
         }
-        DataView subView = subViewOptional.get();
-        return subView.get(path.popFirst());
+        return tail;
+    }
 
+    /**
+     * Gets whether the given value is stored as is. These are by far the
+     * most common values and never go through a {@link DataTranslator}, so
+     * there is no need to look one up for them.
+     */
+    private static boolean isSimpleValue(Object value) {
+        final Class<?> type = value.getClass();
+        return type == String.class || type == Integer.class || type == Double.class || type == Boolean.class
+               || type == Long.class || type == Byte.class || type == Short.class || type == Float.class
+               || type == Character.class;
     }
 
     @Override
@@ -233,48 +302,60 @@ public DataView set(DataQuery path, Object value) {
         checkState(this.container != null);
         checkState(!path.getParts().isEmpty(), "The path is empty");
 
+        List<String> parts = path.getParts();
+        final int last = parts.size() - 1;
+        MemoryDataView view = this;
+        for (int i = 0; i < last; i++) {
+            final String key = parts.get(i);
+            final Object child = view.map.get(key);
+            if (child instanceof MemoryDataView) {
+                view = (MemoryDataView) child;
+            } else if (child instanceof DataView) {
+                ((DataView) child).set(tail(path, i + 1), value);
+                return this;
+            } else {
+                final MemoryDataView created = new MemoryDataView(view, of(key), view.safety);
+                view.map.put(key, created);
+                view = created;
+            }
+        }
+        view.setValue(parts.get(last), value);
+        return this;
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void setValue(String key, Object value) {
+        if (isSimpleValue(value)) {
+            this.map.put(key, value);
+            return;
+        }
+
         @Nullable DataManager manager;
 
-        // TODO: this call to getDataManager each set can be cleaned up
         try {
             manager = Sponge.getDataManager();
         } catch (Exception e) {
             manager = null;
         }
 
-        List<String> parts = path.getParts();
-        String key = parts.get(0);
-        if (parts.size() > 1) {
-            DataQuery subQuery = of(key);
-            Optional<DataView> subViewOptional = this.getUnsafeView(subQuery);
-            DataView subView;
-            if (!subViewOptional.isPresent()) {
-                this.createView(subQuery);
-                subView = (DataView) this.map.get(key);
-            } else {
-                subView = subViewOptional.get();
-            }
-            subView.set(path.popFirst(), value);
-            return this;
-        }
         if (value instanceof DataView) {
             checkArgument(value != this, "Cannot set a DataView to itself.");
             // always have to copy a data view to avoid overwriting existing
             // views and to set the interior path correctly.
-            copyDataView(path, (DataView) value);
+            copyDataView(of(key), (DataView) value);
         } else if (value instanceof DataSerializable) {
             DataContainer valueContainer = ((DataSerializable) value).toContainer();
             checkArgument(!(valueContainer).equals(this), "Cannot insert self-referencing DataSerializable");
             // see above for why this is copied
-            copyDataView(path, valueContainer);
+            copyDataView(of(key), valueContainer);
         } else if (value instanceof CatalogType) {
-            return set(path, ((CatalogType) value).getId());
+            this.map.put(key, ((CatalogType) value).getId());
         } else if (manager != null && manager.getTranslator(value.getClass()).isPresent()) {
             DataTranslator serializer = manager.getTranslator(value.getClass()).get();
             final DataContainer container = serializer.translate(value);
             checkArgument(!container.equals(this), "Cannot insert self-referencing Objects!");
             // see above for why this is copied
-            copyDataView(path, container);
+            copyDataView(of(key), container);
         } else if (value instanceof Collection) {
             setCollection(key, (Collection) value);
         } else if (value instanceof Map) {
@@ -304,7 +385,6 @@ public DataView set(DataQuery path, Object value) {
         } else {
             this.map.put(key, value);
         }
-        return this;
     }
 
     @Override
@@ -404,7 +484,9 @@ private void setMap(String key, Map<?, ?> value) {
     }
 
     private void copyDataView(DataQuery path, DataView value) {
-        Collection<DataQuery> valueKeys = value.getKeys(true);
+        // Nested views are copied recursively by set, so only the keys of
+        // this level have to be visited
+        Collection<DataQuery> valueKeys = value.getKeys(false);
         for (DataQuery oldKey : valueKeys) {
             set(path.then(oldKey), value.get(oldKey).get());
         }
@@ -521,14 +603,6 @@ private Optional<DataView> getUnsafeView(DataQuery path) {
         return get(path).filter(obj -> obj instanceof DataView).map(obj -> (DataView) obj);
     }
 
-    private Optional<DataView> getUnsafeView(String path) {
-        final Object object = this.map.get(path);
-        if (!(object instanceof DataView)) {
-            return Optional.empty();
-        }
-        return Optional.of((DataView) object);
-    }
-
 
     @Override
     public Optional<Boolean> getBoolean(DataQuery path) {
@@ -801,25 +875,15 @@ public <T> Optional<List<T>> getObjectList(DataQuery path, Class<T> objectClass)
 
     @Override
     public DataContainer copy() {
-        final DataContainer container = new MemoryDataContainer(this.safety);
-        getKeys(false)
-            .forEach(query ->
-                get(query).ifPresent(obj ->
-                        container.set(query, obj)
-                )
-        );
-        return container;
+        return copy(this.safety);
     }
 
     @Override
     public DataContainer copy(SafetyMode safety) {
         final DataContainer container = new MemoryDataContainer(safety);
-        getKeys(false)
-            .forEach(query ->
-                get(query).ifPresent(obj ->
-                        container.set(query, obj)
-                )
-        );
+        for (Map.Entry<String, Object> entry : this.map.entrySet()) {
+            container.set(of(entry.getKey()), cloneIfRequired(entry.getValue()));
+        }
         return container;
     }
 
@@ -50,6 +50,7 @@
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataTranslator;
 import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.common.data.MemoryDataView;
 import org.spongepowered.common.mixin.core.nbt.NBTTagLongArrayAccessor;
 import org.spongepowered.common.util.Constants;
 
@@ -76,22 +77,30 @@ private static NBTTagCompound containerToCompound(final DataView container) {
     }
 
     private static void containerToCompound(final DataView container, final NBTTagCompound compound) {
-        // We don't need to get deep values since all nested DataViews will be found
-        // from the instance of checks.
         checkNotNull(container);
         checkNotNull(compound);
+        if (container instanceof MemoryDataView) {
+            // Visit the stored values directly, getValues would convert every
+            // nested view into a map first that we would throw away right after.
+            ((MemoryDataView) container).forEachValue((key, value) -> setTag(compound, key, value));
+            return;
+        }
+        // We don't need to get deep values since all nested DataViews will be found
+        // from the instance of checks.
         for (Map.Entry<DataQuery, Object> entry : container.getValues(false).entrySet()) {
-            Object value = entry.getValue();
-            String key = entry.getKey().asString('.');
-            if (value instanceof DataView) {
-                NBTTagCompound inner = new NBTTagCompound();
-                containerToCompound(container.getView(entry.getKey()).get(), inner);
-                compound.setTag(key, inner);
-            } else if (value instanceof Boolean) {
-                compound.setTag(key + BOOLEAN_IDENTIFIER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
-            } else {
-                compound.setTag(key, getBaseFromObject(value));
-            }
+            setTag(compound, entry.getKey().asString('.'), entry.getValue());
+        }
+    }
+
+    private static void setTag(final NBTTagCompound compound, final String key, final Object value) {
+        if (value instanceof DataView) {
+            NBTTagCompound inner = new NBTTagCompound();
+            containerToCompound((DataView) value, inner);
+            compound.setTag(key, inner);
+        } else if (value instanceof Boolean) {
+            compound.setTag(key + BOOLEAN_IDENTIFIER, new NBTTagByte(((Boolean) value) ? (byte) 1 : 0));
+        } else {
+            compound.setTag(key, getBaseFromObject(value));
         }
     }
 
@@ -182,13 +191,12 @@ private static DataContainer getViewFromCompound(NBTTagCompound compound) {
         return container;
     }
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     private static void setInternal(NBTBase base, byte type, DataView view, String key) {
         checkNotNull(base);
         checkNotNull(view);
         checkNotNull(key);
         checkArgument(!key.isEmpty());
-        checkArgument(type > Constants.NBT.TAG_END && type <= Constants.NBT.TAG_INT_ARRAY);
+        checkArgument(type > Constants.NBT.TAG_END && type <= Constants.NBT.TAG_LONG_ARRAY);
         switch (type) {
             case Constants.NBT.TAG_BYTE:
                 if (key.contains(BOOLEAN_IDENTIFIER)) {
@@ -197,37 +205,6 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                     view.set(of(key), ((NBTTagByte) base).getByte());
                 }
                 break;
-            case Constants.NBT.TAG_SHORT:
-                view.set(of(key), ((NBTTagShort) base).getShort());
-                break;
-            case Constants.NBT.TAG_INT:
-                view.set(of(key), ((NBTTagInt) base).getInt());
-                break;
-            case Constants.NBT.TAG_LONG:
-                view.set(of(key), ((NBTTagLong) base).getLong());
-                break;
-            case Constants.NBT.TAG_FLOAT:
-                view.set(of(key), ((NBTTagFloat) base).getFloat());
-                break;
-            case Constants.NBT.TAG_DOUBLE:
-                view.set(of(key), ((NBTTagDouble) base).getDouble());
-                break;
-            case Constants.NBT.TAG_BYTE_ARRAY:
-                view.set(of(key), ((NBTTagByteArray) base).getByteArray());
-                break;
-            case Constants.NBT.TAG_STRING:
-                view.set(of(key), ((NBTTagString) base).getString());
-                break;
-            case Constants.NBT.TAG_LIST:
-                NBTTagList list = (NBTTagList) base;
-                byte listType = (byte) list.getTagType();
-                int count = list.tagCount();
-                List objectList = Lists.newArrayListWithCapacity(count);
-                for (int i = 0; i < count; i++) {
-                    objectList.add(fromTagBase(list.get(i), listType));
-                }
-                view.set(of(key), objectList);
-                break;
             case Constants.NBT.TAG_COMPOUND:
                 DataView internalView = view.createView(of(key));
                 NBTTagCompound compound = (NBTTagCompound) base;
@@ -241,14 +218,11 @@ private static void setInternal(NBTBase base, byte type, DataView view, String k
                     setInternal(internalBase, internalType, internalView, internalKey);
                 }
                 break;
-            case Constants.NBT.TAG_INT_ARRAY:
-                view.set(of(key), ((NBTTagIntArray) base).getIntArray());
-                break;
-            case Constants.NBT.TAG_LONG_ARRAY:
-                view.set(of(key), ((NBTTagLongArrayAccessor) base).accessor$getLongArray());
-                break;
             default:
-                throw new IllegalArgumentException("Unknown NBT type " + type);
+                // Arrays are handed over as they are, the containers we create are
+                // not cloning any data and the tags are not shared anywhere else.
+                view.set(of(key), fromTagBase(base, type));
+                break;
         }
     }
 
@@ -276,7 +250,7 @@ private static Object fromTagBase(NBTBase base, byte type) {
                 byte listType = (byte) list.getTagType();
                 int count = list.tagCount();
                 List objectList = Lists.newArrayListWithCapacity(count);
-                for (int i = 0; i < list.tagCount(); i++) {
+                for (int i = 0; i < count; i++) {
                     objectList.add(fromTagBase(list.get(i), listType));
                 }
                 return objectList;
@@ -70,6 +70,7 @@
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -221,64 +222,27 @@ public Schematic translate(DataView unprocessed) throws InvalidDataException {
                 new ArrayMutableBlockBuffer(palette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
 
         final byte[] blockdata = (byte[]) updatedView.get(Constants.Sponge.Schematic.BLOCK_DATA).orElseThrow(() -> new InvalidDataException("Missing BlockData for Schematic"));
-        int index = 0;
-        int i = 0;
-        int value = 0;
-        int varint_length = 0;
-        while (i < blockdata.length) {
-            value = 0;
-            varint_length = 0;
-
-            while (true) {
-                value |= (blockdata[i] & 127) << (varint_length++ * 7);
-                if (varint_length > 5) {
-                    throw new RuntimeException("VarInt too big (probably corrupted data)");
-                }
-                if ((blockdata[i] & 128) != 128) {
-                    i++;
-                    break;
-                }
-                i++;
-            }
+        final int[] blockIds = readVarInts(blockdata, width * height * length);
+        for (int index = 0; index < blockIds.length; index++) {
+            final int value = blockIds[index];
             // index = (y * length + z) * width + x
             final int y = index / (width * length);
             final int z = (index % (width * length)) / width;
             final int x = (index % (width * length)) % width;
             final BlockState state = palette.get(value).get();
             buffer.setBlock(x - offset[0], y - offset[1], z - offset[2], state);
-
-            index++;
         }
         builder.blocks(buffer);
 
         updatedView.get(Constants.Sponge.Schematic.BIOME_DATA).ifPresent(biomesObj -> {
             final MutableBiomeVolume biomeBuffer = new ByteArrayMutableBiomeBuffer(biomePalette, new Vector3i(-offset[0], -offset[1], -offset[2]), new Vector3i(width, height, length));
-            final byte[] biomes = (byte[]) biomesObj;
-            int biomeIndex = 0;
-            int biomeJ= 0;
-            int bVal = 0;
-            int varIntLength = 0;
-            while (biomeJ < biomes.length) {
-                bVal = 0;
-                varIntLength = 0;
-
-                while (true) {
-                    bVal |= (biomes[biomeJ] & 127) << (varIntLength++ * 7);
-                    if (varIntLength > 5) {
-                        throw new RuntimeException("VarInt too big (probably corrupted data)");
-                    }
-                    if (((biomes[biomeJ] & 128) != 128)) {
-                        biomeJ++;
-                        break;
-                    }
-                    biomeJ++;
-                }
+            final int[] biomeIds = readVarInts((byte[]) biomesObj, width * length);
+            for (int biomeIndex = 0; biomeIndex < biomeIds.length; biomeIndex++) {
+                final int bVal = biomeIds[biomeIndex];
                 final int z = (biomeIndex % (width * length)) / width;
                 final int x = (biomeIndex % (width * length)) % width;
                 final BiomeType type = biomePalette.get(bVal).get();
                 biomeBuffer.setBiome(x - offset[0], 0, z - offset[2], type);
-
-                biomeIndex++;
             }
             builder.biomes(biomeBuffer);
         });
@@ -498,7 +462,45 @@ public DataView addTo(final Schematic schematic, final DataView data) {
         return data;
     }
 
-     private void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
+    /**
+     * Reads the VarInt encoded palette ids of block or biome data.
+     *
+     * @param data The encoded data
+     * @param count The maximum number of ids to read
+     * @return The ids, as many as were encoded up to the given count
+     * @throws InvalidDataException If the data has more than the given
+     *     number of ids or ends within an id
+     */
+    static int[] readVarInts(final byte[] data, final int count) throws InvalidDataException {
+        final int[] ids = new int[Math.min(count, data.length)];
+        int index = 0;
+        int i = 0;
+        while (i < data.length && index < ids.length) {
+            int value = 0;
+            int varint_length = 0;
+
+            while (true) {
+                value |= (data[i] & 127) << (varint_length++ * 7);
+                if (varint_length > 5) {
+                    throw new RuntimeException("VarInt too big (probably corrupted data)");
+                }
+                if ((data[i] & 128) != 128) {
+                    i++;
+                    break;
+                }
+                if (++i == data.length) {
+                    throw new InvalidDataException("VarInt data ends within a value");
+                }
+            }
+            ids[index++] = value;
+        }
+        if (i < data.length) {
+            throw new InvalidDataException(String.format("Found %d bytes of data after the last of %d values", data.length - i, count));
+        }
+        return index == ids.length ? ids : Arrays.copyOf(ids, index);
+    }
+
+    static void writeIdToBuffer(final ByteArrayOutputStream buffer, final int orAssign) {
         int id = orAssign;
 
         while ((id & -128) != 0) {
@@ -50,6 +50,7 @@
 import net.minecraft.potion.PotionEffect;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.management.PlayerList;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.ResourceLocation;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.BlockPos;
@@ -62,6 +63,7 @@
 import net.minecraft.world.WorldProviderEnd;
 import net.minecraft.world.WorldProviderSurface;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.EntityType;
 import org.spongepowered.api.entity.Transform;
@@ -86,6 +88,7 @@
 import org.spongepowered.common.bridge.data.VanishableBridge;
 import org.spongepowered.common.bridge.entity.EntityBridge;
 import org.spongepowered.common.bridge.entity.player.EntityPlayerMPBridge;
+import org.spongepowered.common.bridge.util.ClassInheritanceMultiMapBridge;
 import org.spongepowered.common.bridge.world.ForgeITeleporterBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.TeleporterBridge;
@@ -111,6 +114,7 @@
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -659,6 +663,45 @@ private static Transform<World> getPortalExitTransform(final Entity entity, fina
         return transform;
     }
 
+    /**
+     * Passes the entities of the given type in the chunk to the consumer.
+     * This reads the per-class entity lists of the chunk, so no entities of
+     * other types are looked at.
+     *
+     * @param chunk The chunk
+     * @param type The entity class or interface
+     * @param consumer The consumer, which may not add or remove entities
+     * @param <T> The type of the entities
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> void forEachEntityOfType(final Chunk chunk, final Class<T> type, final Consumer<? super T> consumer) {
+        for (final ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            if (entityList.isEmpty()) {
+                continue;
+            }
+            final List<T> entities = ((ClassInheritanceMultiMapBridge<Entity>) entityList).bridge$getValuesOfType(type);
+            for (int i = 0; i < entities.size(); i++) {
+                consumer.accept(entities.get(i));
+            }
+        }
+    }
+
+    /**
+     * Passes the entities of the given type in all loaded chunks of the world
+     * to the consumer.
+     *
+     * @see #forEachEntityOfType(Chunk, Class, Consumer)
+     * @param world The world
+     * @param type The entity class or interface
+     * @param consumer The consumer, which may not add or remove entities
+     * @param <T> The type of the entities
+     */
+    public static <T> void forEachEntityOfType(final WorldServer world, final Class<T> type, final Consumer<? super T> consumer) {
+        for (final Chunk chunk : world.getChunkProvider().getLoadedChunks()) {
+            forEachEntityOfType(chunk, type, consumer);
+        }
+    }
+
     public static boolean isEntityDead(final net.minecraft.entity.Entity entity) {
         if (entity instanceof EntityLivingBase) {
             final EntityLivingBase base = (EntityLivingBase) entity;
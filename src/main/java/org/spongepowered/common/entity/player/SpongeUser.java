@@ -31,7 +31,6 @@
 import com.mojang.authlib.GameProfile;
 import net.minecraft.inventory.EntityEquipmentSlot;
 import net.minecraft.inventory.InventoryEnderChest;
-import net.minecraft.nbt.CompressedStreamTools;
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.world.WorldServer;
@@ -63,13 +62,11 @@
 import org.spongepowered.common.world.WorldManager;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -90,6 +87,14 @@ public class SpongeUser implements ArmorEquipable, Tamer, DataSerializable, Carr
 
     public static final Set<SpongeUser> dirtyUsers = ConcurrentHashMap.newKeySet();
     public static final Set<SpongeUser> initializedUsers = ConcurrentHashMap.newKeySet();
+    // The keys of the sponge data compound which are rewritten from the user on every save
+    private static final String[] USER_SPONGE_DATA_KEYS = {
+            Constants.Sponge.User.USER_SPAWN_LIST,
+            Constants.Sponge.Entity.IS_VANISHED,
+            Constants.Sponge.Entity.IS_INVISIBLE,
+            Constants.Sponge.Entity.VANISH_UNTARGETABLE,
+            Constants.Sponge.Entity.VANISH_UNCOLLIDEABLE
+    };
 
     private final User self = (User) this; // convenient access
     private final GameProfile profile;
@@ -111,6 +116,7 @@ public class SpongeUser implements ArmorEquipable, Tamer, DataSerializable, Carr
     @Nullable private SpongeUserInventory inventory; // lazy load when accessing inventory
     @Nullable private InventoryEnderChest enderChest; // lazy load when accessing inventory
     @Nullable private NBTTagCompound nbt;
+    @Nullable private CompletableFuture<Optional<NBTTagCompound>> pendingLoad;
     private boolean isConstructing;
 
     public SpongeUser(final GameProfile profile) {
@@ -158,27 +164,63 @@ public void initializeIfRequired() {
     }
 
     public void initialize() {
+        final CompletableFuture<Optional<NBTTagCompound>> load;
+        if (this.pendingLoad != null) {
+            // Already being loaded in the background
+            load = this.pendingLoad;
+        } else {
+            final File file = this.getDataFile();
+            load = file == null ? null : UserDataIO.read(this.getUniqueId(), file);
+        }
+        this.initialize(load == null ? Optional.empty() : load.join());
+    }
+
+    private void initialize(final Optional<NBTTagCompound> data) {
+        this.pendingLoad = null;
         initializedUsers.add(this);
         this.nbt = new NBTTagCompound();
-        Optional<WorldServer> worldServer = WorldManager.getWorldByDimensionId(0);
+        data.ifPresent(this::readFromNbt);
+    }
+
+    /**
+     * Loads the stored data of this user off the server thread, the returned
+     * future is completed on the server thread once the data has been loaded.
+     * Must be called on the server thread, and the future must not be waited
+     * on from there.
+     *
+     * @return The future of the loaded user
+     */
+    public CompletableFuture<User> loadAsync() {
+        if (this.self.isOnline() || this.isInitialized()) {
+            return CompletableFuture.completedFuture(this.self);
+        }
+        if (this.pendingLoad == null) {
+            final File file = this.getDataFile();
+            if (file == null) {
+                return CompletableFuture.completedFuture(this.self);
+            }
+            this.pendingLoad = UserDataIO.read(this.getUniqueId(), file);
+        }
+        final CompletableFuture<Optional<NBTTagCompound>> load = this.pendingLoad;
+        return load.thenApplyAsync(data -> {
+            // The data may have been loaded synchronously in the meantime
+            if (this.pendingLoad == load && !this.isInitialized()) {
+                this.initialize(data);
+            }
+            return this.self;
+        }, task -> SpongeImpl.getServer().addScheduledTask(task));
+    }
+
+    @Nullable
+    private File getDataFile() {
+        final Optional<WorldServer> worldServer = WorldManager.getWorldByDimensionId(0);
         if (!worldServer.isPresent()) {
-            return;
+            return null;
         }
 
         // Note: Uses the overworld's player data
         final SaveHandlerAccessor saveHandler = (SaveHandlerAccessor) worldServer.get().getSaveHandler();
-        final File file = new File(saveHandler.accessor$getPlayersDirectory(), this.profile.getId().toString() + ".dat");
-        if (!file.exists()) {
-            return;
-        }
-
-        try {
-            try (FileInputStream in = new FileInputStream(file)) {
-                readFromNbt(CompressedStreamTools.readCompressed(in));
-            }
-        } catch (IOException e) {
-            SpongeImpl.getLogger().warn("Corrupt user file {}", file, e);
-        }
+        return new File(saveHandler.accessor$getPlayersDirectory(), this.profile.getId().toString() + ".dat");
     }
 
     public void readFromNbt(final NBTTagCompound compound) {
@@ -454,11 +496,9 @@ public void writeToNbt(final NBTTagCompound compound) {
 
         final NBTTagCompound forgeCompound = compound.getCompoundTag(Constants.Forge.FORGE_DATA);
         final NBTTagCompound spongeCompound = forgeCompound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
-        spongeCompound.removeTag(Constants.Sponge.User.USER_SPAWN_LIST);
-        spongeCompound.removeTag(Constants.Sponge.Entity.IS_VANISHED);
-        spongeCompound.removeTag(Constants.Sponge.Entity.IS_INVISIBLE);
-        spongeCompound.removeTag(Constants.Sponge.Entity.VANISH_UNTARGETABLE);
-        spongeCompound.removeTag(Constants.Sponge.Entity.VANISH_UNCOLLIDEABLE);
+        for (final String key : USER_SPONGE_DATA_KEYS) {
+            spongeCompound.removeTag(key);
+        }
 
         final NBTTagList spawnList = new NBTTagList();
         for (final Map.Entry<UUID, RespawnLocation> entry : this.spawnLocations.entrySet()) {
@@ -612,24 +652,74 @@ public void markDirty() {
         }
     }
 
+    /**
+     * Saves the data of this user. The data is written in the background,
+     * {@link UserDataIO#flush(UUID)} has to be called before the data file is
+     * accessed directly.
+     */
     public void save() {
         Preconditions.checkState(isInitialized(), "User {} is not initialized", this.profile.getId());
+        // Only the data of the user is captured here, it's merged into the
+        // current contents of the file when it's written
+        final NBTTagCompound userData = new NBTTagCompound();
+        writeToNbt(userData);
+        this.write(tag -> mergeUserData(tag, userData));
+    }
+
+    /**
+     * Saves the data of a user which was evicted from the user cache. The
+     * user isn't handed out by the cache anymore, so unlike {@link #save()}
+     * its data is captured on the I/O thread as well, which keeps the thread
+     * that evicted it free of any save work.
+     */
+    public void saveEvicted() {
+        Preconditions.checkState(isInitialized(), "User {} is not initialized", this.profile.getId());
+        this.write(tag -> {
+            final NBTTagCompound userData = new NBTTagCompound();
+            writeToNbt(userData);
+            mergeUserData(tag, userData);
+        });
+    }
+
+    private void write(final Consumer<NBTTagCompound> update) {
         final SaveHandlerAccessor saveHandler = (SaveHandlerAccessor) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
         final File dataFile = new File(saveHandler.accessor$getPlayersDirectory(), getUniqueId() + ".dat");
-        NBTTagCompound tag;
-        try {
-            tag = CompressedStreamTools.readCompressed(new FileInputStream(dataFile));
-        } catch (IOException ignored) {
-            // Nevermind
-            tag = new NBTTagCompound();
-        }
-        writeToNbt(tag);
-        try (final FileOutputStream out = new FileOutputStream(dataFile)) {
-            CompressedStreamTools.writeCompressed(tag, out);
-            dirtyUsers.remove(this);
-        } catch (IOException e) {
-            SpongeImpl.getLogger().warn("Failed to save user file [{}]!", dataFile, e);
+        // Cleared before the write, so that changes made while it's pending
+        // mark the user as dirty again
+        dirtyUsers.remove(this);
+        UserDataIO.write(getUniqueId(), dataFile, update).whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                // The failure was logged, try again with the next save
+                this.markDirty();
+            }
+        });
+    }
+
+    /**
+     * Merges the data written by {@link #writeToNbt(NBTTagCompound)} to an
+     * empty compound into the stored player data, with the same result as if
+     * it was written into the stored data directly.
+     */
+    private static void mergeUserData(final NBTTagCompound tag, final NBTTagCompound userData) {
+        for (final String key : userData.getKeySet()) {
+            if (!key.equals(Constants.Forge.FORGE_DATA)) {
+                tag.setTag(key, userData.getTag(key));
+            }
         }
+        final NBTTagCompound forgeCompound = tag.getCompoundTag(Constants.Forge.FORGE_DATA);
+        final NBTTagCompound spongeCompound = forgeCompound.getCompoundTag(Constants.Sponge.SPONGE_DATA);
+        for (final String key : USER_SPONGE_DATA_KEYS) {
+            spongeCompound.removeTag(key);
+        }
+        // Replaced by DataUtil.writeCustomData in writeToNbt
+        spongeCompound.removeTag(Constants.Sponge.CUSTOM_MANIPULATOR_TAG_LIST);
+        spongeCompound.removeTag(Constants.Sponge.FAILED_CUSTOM_DATA);
+        final NBTTagCompound userSpongeCompound = userData.getCompoundTag(Constants.Forge.FORGE_DATA).getCompoundTag(Constants.Sponge.SPONGE_DATA);
+        for (final String key : userSpongeCompound.getKeySet()) {
+            spongeCompound.setTag(key, userSpongeCompound.getTag(key));
+        }
+        forgeCompound.setTag(Constants.Sponge.SPONGE_DATA, spongeCompound);
+        tag.setTag(Constants.Forge.FORGE_DATA, forgeCompound);
     }
 
     // Helpers for UserInventory
@@ -0,0 +1,219 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.entity.player;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.util.AtomicFiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes the stored data of offline {@link SpongeUser}s off the
+ * server thread.
+ *
+ * <p>All writes happen on a single thread, in the order they were requested.
+ * A read of a user waits for the pending write of the same user, if there is
+ * one, so it always observes the writes that were requested before it, but
+ * never waits for the writes of other users. Writes of the same user which
+ * haven't been started yet are coalesced into one, the newest update
+ * replacing the previous one. Files are replaced atomically, a crash while
+ * writing never leaves a truncated file behind.</p>
+ */
+public final class UserDataIO {
+
+    private static final ExecutorService writeExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - User Data IO")
+            .setDaemon(true)
+            .build());
+    private static final ExecutorService readExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+            .setNameFormat("Sponge - User Data Read #%d")
+            .setDaemon(true)
+            .build());
+    // The newest write of every user, until it has been written
+    private static final Map<UUID, PendingWrite> pendingWrites = new HashMap<>();
+
+    private UserDataIO() {
+    }
+
+    /**
+     * Reads the data file of a user, once the pending write of the user has
+     * been written.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The data file
+     * @return The data, or empty if the file doesn't exist or couldn't be read
+     */
+    static CompletableFuture<Optional<NBTTagCompound>> read(final UUID uniqueId, final File file) {
+        final CompletableFuture<Void> pending = getPendingWrite(uniqueId);
+        if (pending == null) {
+            return CompletableFuture.supplyAsync(() -> readNow(file), readExecutor);
+        }
+        // A failed write was logged already, the current contents are read in that case
+        return pending.handle((result, throwable) -> null).thenApplyAsync(ignored -> readNow(file), readExecutor);
+    }
+
+    /**
+     * Updates the data file of a user. The update is applied to the current
+     * contents of the file on the I/O thread, so it must not access any
+     * state which may be modified in the meantime.
+     *
+     * @param uniqueId The unique id of the user
+     * @param file The data file
+     * @param update The update of the file contents
+     * @return A future completed once the file has been written
+     */
+    static CompletableFuture<Void> write(final UUID uniqueId, final File file, final Consumer<NBTTagCompound> update) {
+        synchronized (pendingWrites) {
+            final PendingWrite pending = pendingWrites.get(uniqueId);
+            if (pending != null && !pending.started) {
+                // The update always contains the complete user data, so the
+                // newest one replaces any update which wasn't written yet
+                pending.update = update;
+                return pending.future;
+            }
+            final PendingWrite write = new PendingWrite(file, update);
+            pendingWrites.put(uniqueId, write);
+            writeExecutor.execute(() -> writeNow(uniqueId, write));
+            return write.future;
+        }
+    }
+
+    /**
+     * Waits until the requested writes of a user have been written, which is
+     * required before its data file is accessed by anything other than this
+     * class. Writes of other users aren't waited for.
+     *
+     * @param uniqueId The unique id of the user
+     */
+    public static void flush(final UUID uniqueId) {
+        final CompletableFuture<Void> pending = getPendingWrite(uniqueId);
+        if (pending != null) {
+            // A failed write was logged already
+            pending.handle((result, throwable) -> null).join();
+        }
+    }
+
+    /**
+     * Waits until all requested writes have been written.
+     */
+    public static void flush() {
+        // Tasks run in order, so once this one ran everything before it did too
+        CompletableFuture.runAsync(() -> {}, writeExecutor).join();
+    }
+
+    @Nullable
+    private static CompletableFuture<Void> getPendingWrite(final UUID uniqueId) {
+        synchronized (pendingWrites) {
+            final PendingWrite pending = pendingWrites.get(uniqueId);
+            return pending == null ? null : pending.future;
+        }
+    }
+
+    private static Optional<NBTTagCompound> readNow(final File file) {
+        if (!file.exists()) {
+            return Optional.empty();
+        }
+        try (InputStream in = new FileInputStream(file)) {
+            return Optional.of(CompressedStreamTools.readCompressed(in));
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Corrupt user file {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    private static void writeNow(final UUID uniqueId, final PendingWrite write) {
+        final Consumer<NBTTagCompound> update;
+        synchronized (pendingWrites) {
+            // From here on, further writes are queued again
+            write.started = true;
+            update = write.update;
+        }
+        NBTTagCompound tag;
+        if (write.file.exists()) {
+            try (InputStream in = new FileInputStream(write.file)) {
+                tag = CompressedStreamTools.readCompressed(in);
+            } catch (IOException ignored) {
+                // Nevermind
+                tag = new NBTTagCompound();
+            }
+        } else {
+            tag = new NBTTagCompound();
+        }
+        Throwable failure = null;
+        try {
+            update.accept(tag);
+            // writeCompressed closes the stream even if it fails, so the data is
+            // only written to the file once it's complete
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            CompressedStreamTools.writeCompressed(tag, buffer);
+            try (AtomicFiles.AtomicOutputStream out = AtomicFiles.newOutputStream(write.file.toPath())) {
+                buffer.writeTo(out);
+                out.commit();
+            }
+        } catch (IOException | RuntimeException e) {
+            SpongeImpl.getLogger().warn("Failed to save user file [{}]!", write.file, e);
+            failure = e;
+        }
+        synchronized (pendingWrites) {
+            // Reads of the user can access the file directly again
+            pendingWrites.remove(uniqueId, write);
+        }
+        if (failure != null) {
+            write.future.completeExceptionally(failure);
+        } else {
+            write.future.complete(null);
+        }
+    }
+
+    private static final class PendingWrite {
+
+        final File file;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        Consumer<NBTTagCompound> update;
+        boolean started;
+
+        PendingWrite(final File file, final Consumer<NBTTagCompound> update) {
+            this.file = file;
+            this.update = update;
+        }
+    }
+}
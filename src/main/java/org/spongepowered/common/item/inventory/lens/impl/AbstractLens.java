@@ -43,6 +43,7 @@
 import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensCollectionImpl;
 import org.spongepowered.common.item.inventory.lens.impl.struct.LensHandle;
 import org.spongepowered.common.item.inventory.lens.slots.SlotLens;
+import org.spongepowered.common.item.inventory.query.QueryPlanCache;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -86,6 +87,7 @@ protected void addChild(final Lens lens, final InventoryProperty<?, ?>... proper
         checkNotNull(lens, "Attempted to register a null lens");
         this.children.add(lens, properties);
         this.availableSlots.addAll(lens.getSlots());
+        QueryPlanCache.invalidate(this);
     }
     
     protected void addSpanningChild(final Lens lens, final InventoryProperty<?, ?>... properties) {
@@ -71,6 +71,14 @@ public Inventory execute() {
     }
 
     public Inventory execute(final ResultAdapterProvider resultProvider) {
+        if (QueryPlanCache.isCacheable(this.queries)) {
+            final QueryPlanCache.Plan plan = QueryPlanCache.getPlan(this.lens, this.queries, this::plan);
+            if (plan.matchesRoot()) {
+                return (Inventory) this.lens.getAdapter(this.inventory, (Inventory) this.adapter);
+            }
+            return this.toResult(resultProvider, plan.resolve(this.lens));
+        }
+
         if (this.matches(this.lens, null, this.inventory)) {
             return (Inventory) this.lens.getAdapter(this.inventory, (Inventory) this.adapter);
         }
@@ -78,6 +86,13 @@ public Inventory execute(final ResultAdapterProvider resultProvider) {
         return this.toResult(resultProvider, this.reduce(this.lens, this.depthFirstSearch(this.lens)));
     }
 
+    private QueryPlanCache.Plan plan() {
+        if (this.matches(this.lens, null, this.inventory)) {
+            return QueryPlanCache.Plan.ROOT;
+        }
+        return QueryPlanCache.Plan.of(this.lens, this.reduce(this.lens, this.depthFirstSearch(this.lens)));
+    }
+
     @SuppressWarnings("unchecked")
     private Inventory toResult(final ResultAdapterProvider resultProvider, final MutableLensSet matches) {
         if (matches.isEmpty()) {
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.spongepowered.api.item.inventory.query.QueryOperation;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the outcome of {@link Query queries} which only depend on the
+ * structure of a lens tree. Lens trees are shared between all inventories of
+ * the same type and size (see
+ * {@link org.spongepowered.common.item.inventory.lens.impl.ReusableLens}), so a
+ * plan resolved once for a root lens can be replayed for every other
+ * inventory using that lens without walking the tree again.
+ *
+ * <p>Plans store the matched lenses as child index paths from the root lens
+ * rather than the lenses themselves, the root lens is only weakly referenced
+ * and any plan is dropped as soon as a lens in its tree gains a child.</p>
+ */
+public final class QueryPlanCache {
+
+    private static final int MAX_PLANS_PER_LENS = 64;
+
+    private static final Cache<Lens, Cache<List<QueryOperation<?>>, Plan>> plans = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+
+    /**
+     * Gets whether the given set of operations can be answered by a cached
+     * plan, this is the case if every operation is
+     * {@link SpongeQueryOperation#isStructural() structural}.
+     *
+     * @param operations The operations
+     * @return True if the result may be cached
+     */
+    public static boolean isCacheable(final QueryOperation<?>[] operations) {
+        if (operations.length == 0) {
+            return false;
+        }
+        for (final QueryOperation<?> operation : operations) {
+            if (!(operation instanceof SpongeQueryOperation) || !((SpongeQueryOperation<?>) operation).isStructural()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static Plan getPlan(final Lens root, final QueryOperation<?>[] operations, final Supplier<Plan> planner) {
+        try {
+            return plans.get(root, () -> CacheBuilder.newBuilder().maximumSize(MAX_PLANS_PER_LENS).build())
+                    .get(Arrays.asList(operations.clone()), planner::get);
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException("Failed to plan inventory query", e.getCause());
+        }
+    }
+
+    /**
+     * Drops all plans for the given lens and all of its parents, this needs to
+     * be called whenever the children of a lens are modified.
+     *
+     * @param lens The modified lens
+     */
+    public static void invalidate(@Nullable final Lens lens) {
+        if (plans.size() == 0) {
+            return;
+        }
+        for (Lens current = lens; current != null; current = current.getParent()) {
+            plans.invalidate(current);
+        }
+    }
+
+    public static void invalidateAll() {
+        plans.invalidateAll();
+    }
+
+    private QueryPlanCache() {
+    }
+
+    static final class Plan {
+
+        static final Plan ROOT = new Plan(true, new int[0][]);
+
+        private final boolean matchesRoot;
+        private final int[][] paths;
+
+        private Plan(final boolean matchesRoot, final int[][] paths) {
+            this.matchesRoot = matchesRoot;
+            this.paths = paths;
+        }
+
+        static Plan of(final Lens root, final MutableLensSet matches) {
+            final Map<Lens, int[]> found = new IdentityHashMap<>();
+            for (final Lens match : matches) {
+                found.put(match, null);
+            }
+            // The reduced matches may be the root itself, its path is empty
+            found.put(root, new int[0]);
+            Plan.collectPaths(root, new ArrayList<>(), found);
+
+            final int[][] paths = new int[matches.size()][];
+            int index = 0;
+            for (final Lens match : matches) {
+                final int[] path = found.get(match);
+                if (path == null) {
+                    throw new IllegalStateException("Query matched a lens which is not part of the queried lens tree");
+                }
+                paths[index++] = path;
+            }
+            return new Plan(false, paths);
+        }
+
+        private static void collectPaths(final Lens lens, final List<Integer> path, final Map<Lens, int[]> found) {
+            final List<Lens> children = lens.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                final Lens child = children.get(i);
+                if (child == null) {
+                    continue;
+                }
+                path.add(i);
+                if (found.containsKey(child) && found.get(child) == null) {
+                    found.put(child, path.stream().mapToInt(Integer::intValue).toArray());
+                }
+                if (!child.getChildren().isEmpty()) {
+                    Plan.collectPaths(child, path, found);
+                }
+                path.remove(path.size() - 1);
+            }
+        }
+
+        boolean matchesRoot() {
+            return this.matchesRoot;
+        }
+
+        MutableLensSet resolve(final Lens root) {
+            final MutableLensSet matches = new MutableLensSetImpl(true);
+            for (final int[] path : this.paths) {
+                Lens lens = root;
+                for (final int index : path) {
+                    lens = lens.getChildren().get(index);
+                }
+                matches.add(lens);
+            }
+            return matches;
+        }
+    }
+
+}
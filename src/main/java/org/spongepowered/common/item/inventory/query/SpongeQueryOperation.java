@@ -45,4 +45,17 @@ public final QueryOperationType<T> getType() {
     public abstract boolean matches(Lens lens, Lens parent,
             Fabric inventory);
 
+    /**
+     * Gets whether this operation only depends on the structure of the lens
+     * tree and never on the contents of the queried inventory. Operations
+     * returning true must implement {@link Object#equals} and
+     * {@link Object#hashCode} on their arguments so that their results can be
+     * shared through the {@link QueryPlanCache}.
+     *
+     * @return True if this operation is structural
+     */
+    public boolean isStructural() {
+        return false;
+    }
+
 }
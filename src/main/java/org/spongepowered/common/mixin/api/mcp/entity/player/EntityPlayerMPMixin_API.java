@@ -43,7 +43,6 @@
 import net.minecraft.server.management.PlayerInteractionManager;
 import net.minecraft.util.SoundEvent;
 import net.minecraft.util.math.BlockPos;
-import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.TextComponentTranslation;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.advancement.Advancement;
@@ -105,6 +104,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.advancements.AdvancementBridge;
 import org.spongepowered.common.bridge.advancements.PlayerAdvancementsBridge;
+import org.spongepowered.common.bridge.api.text.TextBridge;
 import org.spongepowered.common.bridge.entity.EntityBridge;
 import org.spongepowered.common.bridge.entity.player.EntityPlayerMPBridge;
 import org.spongepowered.common.bridge.inventory.ContainerBridge;
@@ -220,12 +220,10 @@ public void sendMessage(final ChatType type, final Text message) {
         checkNotNull(type, "type");
         checkNotNull(message, "message");
 
-        ITextComponent component = SpongeTexts.toComponent(message);
-        if (type == ChatTypes.ACTION_BAR) {
-            component = SpongeTexts.fixActionBarFormatting(component);
-        }
-
-        this.connection.sendPacket(new SPacketChat(component, (net.minecraft.util.text.ChatType) (Object) type));
+        // The text builds its packet and serializes it once, every recipient
+        // of a broadcast is then sent that same packet
+        final SPacketChat packet = ((TextBridge) message).bridge$getChatPacket((net.minecraft.util.text.ChatType) (Object) type);
+        this.connection.sendPacket(packet);
     }
 
     @Override
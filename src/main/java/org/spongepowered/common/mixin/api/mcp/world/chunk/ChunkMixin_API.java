@@ -63,20 +63,27 @@
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.Extent;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 import org.spongepowered.api.world.extent.worker.MutableBiomeVolumeWorker;
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.server.management.PlayerChunkMapEntryBridge;
+import org.spongepowered.common.bridge.util.ClassInheritanceMultiMapBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.util.Constants;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.util.gen.ArrayImmutableBlockBuffer;
+import org.spongepowered.common.util.gen.ChunkSnapshotBlockBuffer;
 import org.spongepowered.common.world.SpongeBlockChangeFlag;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
 import org.spongepowered.common.world.extent.ExtentViewDownsize;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBiomeVolumeWorker;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
+import org.spongepowered.common.world.schematic.GlobalPalette;
 import org.spongepowered.common.world.storage.SpongeChunkLayout;
 
 import java.util.ArrayList;
@@ -354,6 +361,15 @@ public Extent getExtentView(final Vector3i newMin, final Vector3i newMax) {
         return new ExtentViewDownsize(this, newMin, newMax);
     }
 
+    @Override
+    public ImmutableBlockVolume getImmutableBlockCopy() {
+        if (SpongeImplHooks.isMainThread()) {
+            return ChunkSnapshotBlockBuffer.copyOf((net.minecraft.world.chunk.Chunk) (Object) this, this.getBlockMin(), this.getBlockMax());
+        }
+        final char[] data = ExtentBufferUtil.copyToArray(this, this.getBlockMin(), this.getBlockMax(), this.getBlockSize());
+        return ArrayImmutableBlockBuffer.newWithoutArrayClone(GlobalPalette.getBlockPalette(), this.getBlockMin(), this.getBlockSize(), data);
+    }
+
     @Override
     public MutableBiomeVolumeWorker<Chunk> getBiomeWorker() {
         return new SpongeMutableBiomeVolumeWorker<>(this);
@@ -400,13 +416,16 @@ public Collection<Entity> getEntities() {
         return entities;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Collection<Entity> getEntities(final java.util.function.Predicate<Entity> filter) {
         final Set<Entity> entities = Sets.newHashSet();
         for (final ClassInheritanceMultiMap<net.minecraft.entity.Entity> entityClassMap : this.entityLists) {
-            for (final Object entity : entityClassMap) {
-                if (filter.test((Entity) entity)) {
-                    entities.add((Entity) entity);
+            final List<Entity> values = ((ClassInheritanceMultiMapBridge<Entity>) (Object) entityClassMap).bridge$getValues();
+            for (int i = 0; i < values.size(); i++) {
+                final Entity entity = values.get(i);
+                if (filter.test(entity)) {
+                    entities.add(entity);
                 }
             }
         }
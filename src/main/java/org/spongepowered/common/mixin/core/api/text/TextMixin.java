@@ -25,6 +25,8 @@
 package org.spongepowered.common.mixin.core.api.text;
 
 import com.google.common.collect.ImmutableList;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ChatType;
 import net.minecraft.util.text.ITextComponent;
 import net.minecraft.util.text.Style;
 import net.minecraft.util.text.TextComponentBase;
@@ -41,6 +43,8 @@
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.bridge.util.text.ITextComponentBridge;
 import org.spongepowered.common.bridge.api.text.TextBridge;
+import org.spongepowered.common.bridge.packet.SPacketChatBridge;
+import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.text.action.SpongeClickAction;
 import org.spongepowered.common.text.action.SpongeHoverAction;
 import org.spongepowered.common.text.format.SpongeTextColor;
@@ -57,17 +61,25 @@ public abstract class TextMixin implements TextBridge {
     @Shadow @Final Optional<HoverAction<?>> hoverAction;
     @Shadow @Final Optional<ShiftClickAction<?>> shiftClickAction;
 
-    private ITextComponent component;
-    private String json;
+    // Text is immutable, so the component and its json are built at most once.
+    // The component is never handed out, only copies of it, while the json may
+    // be shared. Both are volatile as texts are sent from async threads.
+    private volatile ITextComponent component;
+    private volatile String json;
+    // The packet last sent for this text, shared by all of its recipients
+    private volatile SPacketChat chatPacket;
 
     protected TextComponentBase createComponent() {
         throw new UnsupportedOperationException();
     }
 
     private ITextComponent initializeComponent() {
-        if (this.component == null) {
-            this.component = createComponent();
-            Style style = this.component.getStyle();
+        ITextComponent component = this.component;
+        if (component == null) {
+            // Build the full tree before publishing it, other threads may
+            // never observe a partially initialized component
+            component = createComponent();
+            Style style = component.getStyle();
 
             if (this.format.getColor() != TextColors.NONE) {
                 style.setColor(((SpongeTextColor) this.format.getColor()).getHandle());
@@ -95,11 +107,13 @@ private ITextComponent initializeComponent() {
             }
 
             for (Text child : this.children) {
-                this.component.appendSibling(((TextBridge) child).bridge$toComponent());
+                // Siblings get their parent style assigned, so they can't be shared
+                component.appendSibling(((TextBridge) child).bridge$toComponent());
             }
+            this.component = component;
         }
 
-        return this.component;
+        return component;
     }
 
     private ITextComponent getHandle() {
@@ -139,11 +153,30 @@ public final String toPlainSingle() {
 
     @Override
     public String bridge$toJson() {
-        if (this.json == null) {
-            this.json = ITextComponent.Serializer.componentToJson(getHandle());
+        String json = this.json;
+        if (json == null) {
+            json = ITextComponent.Serializer.componentToJson(getHandle());
+            this.json = json;
         }
 
-        return this.json;
+        return json;
+    }
+
+    @Override
+    public SPacketChat bridge$getChatPacket(final ChatType type) {
+        SPacketChat packet = this.chatPacket;
+        if (packet == null || ((SPacketChatBridge) packet).bridge$getType() != type) {
+            if (type == ChatType.GAME_INFO) {
+                final ITextComponent component = SpongeTexts.fixActionBarFormatting(bridge$toComponent());
+                packet = new SPacketChat(component, type);
+                ((SPacketChatBridge) packet).bridge$setSerializedComponent(ITextComponent.Serializer.componentToJson(component));
+            } else {
+                packet = new SPacketChat(bridge$toComponent(), type);
+                ((SPacketChatBridge) packet).bridge$setSerializedComponent(bridge$toJson());
+            }
+            this.chatPacket = packet;
+        }
+        return packet;
     }
 
     @Override
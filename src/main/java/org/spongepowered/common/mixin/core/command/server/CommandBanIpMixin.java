@@ -26,14 +26,21 @@
 
 import net.minecraft.command.ICommandSender;
 import net.minecraft.command.server.CommandBanIp;
+import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.management.PlayerList;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Matcher;
 
 import javax.annotation.Nullable;
@@ -44,6 +51,7 @@ public abstract class CommandBanIpMixin {
     @Shadow protected abstract void banIp(MinecraftServer server, ICommandSender sender, String ipAddress, @Nullable String banReason);
 
     private InetAddress address;
+    @Nullable private String impl$range;
 
     /**
      * @author Minecrell - August 22nd, 2016
@@ -54,6 +62,15 @@ public abstract class CommandBanIpMixin {
      */
     @Redirect(method = "execute", at = @At(value = "INVOKE", target = "Ljava/util/regex/Matcher;matches()Z", remap = false))
     private boolean impl$TryParseWithInetAddress(final Matcher matcher, final MinecraftServer server, final ICommandSender sender, final String[] args) {
+        if (IpSet.isRange(args[0])) {
+            // Allow banning whole CIDR ranges
+            try {
+                this.impl$range = IpSet.fromCidr(args[0]).toString();
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
         try {
             this.address = InetAddress.getByName(args[0]);
             return true;
@@ -77,10 +94,33 @@ public abstract class CommandBanIpMixin {
         if (this.address != null) {
             address = this.address.getHostAddress();
             this.address = null;
+        } else if (this.impl$range != null) {
+            address = this.impl$range;
+            this.impl$range = null;
         }
 
         banIp(server, sender, address, reason);
     }
 
+    @Redirect(method = "banIp", at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/server/management/PlayerList;getPlayersMatchingAddress(Ljava/lang/String;)Ljava/util/List;"))
+    private List<EntityPlayerMP> impl$kickPlayersInRange(final PlayerList playerList, final String address) {
+        if (!IpSet.isRange(address)) {
+            return playerList.getPlayersMatchingAddress(address);
+        }
+        // Only exact addresses are matched by vanilla, kick everyone inside the banned range
+        final IpSet range = IpSet.fromCidr(address);
+        final List<EntityPlayerMP> players = new ArrayList<>();
+        for (final EntityPlayerMP player : playerList.getPlayers()) {
+            if (player.connection == null) {
+                continue;
+            }
+            final SocketAddress remoteAddress = player.connection.netManager.getRemoteAddress();
+            if (remoteAddress instanceof InetSocketAddress && range.apply(((InetSocketAddress) remoteAddress).getAddress())) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
 
 }
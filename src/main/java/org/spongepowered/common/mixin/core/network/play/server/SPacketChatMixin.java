@@ -0,0 +1,75 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.network.play.server;
+
+import net.minecraft.network.PacketBuffer;
+import net.minecraft.network.play.server.SPacketChat;
+import net.minecraft.util.text.ChatType;
+import net.minecraft.util.text.ITextComponent;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.bridge.packet.SPacketChatBridge;
+
+import javax.annotation.Nullable;
+
+@Mixin(SPacketChat.class)
+public abstract class SPacketChatMixin implements SPacketChatBridge {
+
+    @Shadow private ITextComponent chatComponent;
+    @Shadow private ChatType type;
+
+    @Nullable private String impl$serializedComponent;
+    // The component the json was serialized from, the json is only written
+    // as long as the packet still holds that component
+    @Nullable private ITextComponent impl$serializedFor;
+
+    @Override
+    public ChatType bridge$getType() {
+        return this.type;
+    }
+
+    @Override
+    public void bridge$setSerializedComponent(@Nullable final String json) {
+        this.impl$serializedComponent = json;
+        this.impl$serializedFor = json == null ? null : this.chatComponent;
+    }
+
+    @Redirect(
+        method = "writePacketData",
+        at = @At(
+            value = "INVOKE",
+            target = "Lnet/minecraft/network/PacketBuffer;writeTextComponent(Lnet/minecraft/util/text/ITextComponent;)Lnet/minecraft/network/PacketBuffer;"
+        )
+    )
+    private PacketBuffer impl$writeSerializedComponent(final PacketBuffer buffer, final ITextComponent component) {
+        if (this.impl$serializedComponent != null && component == this.impl$serializedFor) {
+            return buffer.writeString(this.impl$serializedComponent);
+        }
+        return buffer.writeTextComponent(component);
+    }
+
+}
@@ -130,6 +130,8 @@ public abstract class PlayerListMixin implements PlayerListBridge {
     @Shadow private IPlayerFileData playerDataManager;
     @Shadow public abstract NBTTagCompound readPlayerDataFromFile(EntityPlayerMP playerIn);
     @Shadow public abstract MinecraftServer getServerInstance();
+    @Shadow public abstract UserListBans getBannedPlayers();
+    @Shadow public abstract UserListIPBans getBannedIPs();
     @Shadow public abstract int getMaxPlayers();
     @Shadow public abstract void sendPacketToAllPlayers(Packet<?> packetIn);
     @Shadow public abstract void preparePlayer(EntityPlayerMP playerIn, @Nullable WorldServer worldIn);
@@ -454,6 +456,13 @@ private void onSaveAllPlayerData(final CallbackInfo ci) {
                 user.invalidate();
             }
         }
+        // Ban lists are otherwise saved in the background shortly after they are modified
+        if (this.getBannedPlayers() instanceof SpongeUserListBans) {
+            ((SpongeUserListBans) this.getBannedPlayers()).flushChanges();
+        }
+        if (this.getBannedIPs() instanceof SpongeIPBanList) {
+            ((SpongeIPBanList) this.getBannedIPs()).flushChanges();
+        }
     }
 
     @Inject(method = "playerLoggedIn", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/management/PlayerList;sendPacketToAllPlayers(Lnet/minecraft/network/Packet;)V", shift = At.Shift.BEFORE), cancellable = true)
@@ -37,6 +37,7 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.server.management.PlayerProfileCacheBridge;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
 import org.spongepowered.common.util.SpongeUsernameCache;
 
 import java.util.Date;
@@ -62,6 +63,7 @@ public abstract class PlayerProfileCacheMixin implements PlayerProfileCacheBridg
     @Inject(method = "addEntry(Lcom/mojang/authlib/GameProfile;Ljava/util/Date;)V", at = @At(value = "RETURN"))
     private void impl$UpdateCacheUsername(final com.mojang.authlib.GameProfile profile, final Date date, final CallbackInfo ci) {
         SpongeUsernameCache.setUsername(profile.getId(), profile.getName());
+        SpongeUserStorageService.onProfileCached(profile);
     }
 
     @Redirect(method = "addEntry(Lcom/mojang/authlib/GameProfile;Ljava/util/Date;)V",
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.mixin.core.server.management;
 
+import com.google.gson.Gson;
 import net.minecraft.server.management.UserList;
 import net.minecraft.server.management.UserListEntry;
 import org.apache.logging.log4j.Logger;
@@ -31,6 +32,7 @@
 import org.spongepowered.asm.mixin.gen.Accessor;
 import org.spongepowered.asm.mixin.gen.Invoker;
 
+import java.io.File;
 import java.util.Map;
 
 @Mixin(UserList.class)
@@ -42,6 +44,10 @@
 
     @Invoker("removeExpired") void accessor$removeExpired();
 
+    @Accessor("gson") Gson accessor$getGson();
+
+    @Accessor("saveFile") File accessor$getSaveFile();
+
     @Accessor("LOGGER") static Logger accessor$getLogger() {
         throw new IllegalStateException("Untransformed Accessor");
     }
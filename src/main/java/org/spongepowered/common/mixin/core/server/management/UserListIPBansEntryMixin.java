@@ -31,6 +31,7 @@
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.bridge.server.management.IPBanUserLIstEntryBridge;
+import org.spongepowered.common.util.IpSet;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -41,6 +42,8 @@
 public abstract class UserListIPBansEntryMixin extends UserListEntryBanMixin<String> implements IPBanUserLIstEntryBridge {
 
     @Nullable private InetAddress impl$address;
+    private int impl$prefixLength;
+    private boolean impl$isRange;
 
     @Inject(method = "<init>(Ljava/lang/String;Ljava/util/Date;Ljava/lang/String;Ljava/util/Date;Ljava/lang/String;)V", at = @At("RETURN"))
     private void impl$UpdateInetAddress(final CallbackInfo ci) {
@@ -53,15 +56,39 @@ public abstract class UserListIPBansEntryMixin extends UserListEntryBanMixin<Str
     }
 
     private void setAddress() {
+        final String value = this.getValue();
+        if (IpSet.isRange(value)) {
+            final IpSet range;
+            try {
+                range = IpSet.fromCidr(value);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Error parsing Ban IP range!", e);
+            }
+            this.impl$address = range.getAddress();
+            this.impl$prefixLength = range.getPrefixLength();
+            this.impl$isRange = true;
+            return;
+        }
         try {
-            this.impl$address = InetAddress.getByName(this.getValue());
+            this.impl$address = InetAddress.getByName(value);
         } catch (UnknownHostException e) {
             throw new IllegalStateException("Error parsing Ban IP address!", e);
         }
+        this.impl$prefixLength = this.impl$address.getAddress().length * 8;
     }
 
     @Override
     public InetAddress bridge$getAddress() {
         return this.impl$address;
     }
+
+    @Override
+    public boolean bridge$isRange() {
+        return this.impl$isRange;
+    }
+
+    @Override
+    public int bridge$getPrefixLength() {
+        return this.impl$prefixLength;
+    }
 }
@@ -25,12 +25,24 @@
 package org.spongepowered.common.mixin.core.util;
 
 import net.minecraft.util.ClassInheritanceMultiMap;
+import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.bridge.util.ClassInheritanceMultiMapBridge;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 @Mixin(ClassInheritanceMultiMap.class)
-public abstract class ClassInheritanceMultiMapMixin {
+public abstract class ClassInheritanceMultiMapMixin<T> implements ClassInheritanceMultiMapBridge<T> {
+
+    @Shadow @Final private Map<Class<?>, List<T>> map;
+    @Shadow @Final private List<T> values;
+
+    @Shadow protected abstract Class<?> initializeClassLookup(Class<?> clazz);
 
     /**
      * @author Minecrell
@@ -42,4 +54,17 @@ public abstract class ClassInheritanceMultiMapMixin {
         return clazz.isInterface() || baseClass.isAssignableFrom(clazz);
     }
 
+    @Override
+    public List<T> bridge$getValues() {
+        return this.values;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <S> List<S> bridge$getValuesOfType(final Class<S> type) {
+        final List<T> values = this.map.get(this.initializeClassLookup(type));
+        // The bucket for a type is only created once a value of that type is added
+        return values == null ? Collections.emptyList() : (List<S>) values;
+    }
+
 }
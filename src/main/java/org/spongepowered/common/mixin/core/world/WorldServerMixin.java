@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.mixin.core.world;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import co.aikar.timings.Timing;
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
@@ -219,6 +221,7 @@ public abstract class WorldServerMixin extends WorldMixin implements WorldServer
     @Nullable private NextTickListEntry impl$tmpScheduledObj;
     @Nullable private GenericGenerationContext impl$spawnGenerationContext;
     private boolean impl$denyNeighborNotificationsUnloadedChunks = false;
+    private int impl$worldCopiesInProgress = 0;
 
     @Shadow @Final private MinecraftServer server;
     @Shadow @Final private PlayerChunkMap playerChunkMap;
@@ -2521,6 +2524,22 @@ private void onAccessPreviousRain(final CallbackInfo ci) {
         return this.impl$denyNeighborNotificationsUnloadedChunks;
     }
 
+    @Override
+    public void bridge$beginWorldCopy() {
+        this.impl$worldCopiesInProgress++;
+    }
+
+    @Override
+    public void bridge$endWorldCopy() {
+        checkState(this.impl$worldCopiesInProgress > 0, "No world copy in progress!");
+        this.impl$worldCopiesInProgress--;
+    }
+
+    @Override
+    public boolean bridge$isWorldCopyInProgress() {
+        return this.impl$worldCopiesInProgress > 0;
+    }
+
     private void setMemoryViewDistance(final int viewDistance) {
         this.playerChunkMap.setPlayerViewRadius(viewDistance);
     }
@@ -29,15 +29,19 @@
 import net.minecraft.network.PacketBuffer;
 import net.minecraft.util.BitArray;
 import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
 import net.minecraft.world.chunk.IBlockStatePalette;
 import net.minecraft.world.chunk.NibbleArray;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.bridge.world.chunk.BlockStateContainerBridge;
+import org.spongepowered.common.util.gen.BlockStateContainerSnapshot;
 
 import javax.annotation.Nullable;
 
@@ -50,6 +54,9 @@ public abstract class BlockStateContainerMixin implements BlockStateContainerBri
 
     @Shadow protected abstract void set(int index, IBlockState state);
 
+    // The storage that is currently shared with a snapshot, must be copied before it's modified
+    @Nullable private BitArray impl$sharedStorage;
+
     @Override
     public int bridge$getBits() {
         return this.bits;
@@ -65,6 +72,38 @@ public abstract class BlockStateContainerMixin implements BlockStateContainerBri
         return this.storage;
     }
 
+    @Override
+    public BlockStateContainerSnapshot bridge$createSnapshot() {
+        IBlockState[] states = null;
+        if (!(this.palette instanceof BlockStatePaletteRegistry)) {
+            states = new IBlockState[1 << this.bits];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = this.palette.getBlockState(i);
+            }
+        }
+        this.impl$sharedStorage = this.storage;
+        return new BlockStateContainerSnapshot(this.storage.getBackingLongArray(), this.bits, states);
+    }
+
+    /**
+     * Copies the storage before the first modification after a snapshot was
+     * taken, the snapshot keeps the old backing array. Resizing the palette
+     * always creates a new storage, so that doesn't need to be handled.
+     */
+    @Inject(method = "set(ILnet/minecraft/block/state/IBlockState;)V", at = @At("HEAD"))
+    private void impl$copyStorageIfShared(final int index, final IBlockState state, final CallbackInfo ci) {
+        if (this.impl$sharedStorage == null) {
+            return;
+        }
+        if (this.impl$sharedStorage == this.storage) {
+            final long[] data = this.storage.getBackingLongArray();
+            final BitArray copy = new BitArray(this.bits, 4096);
+            System.arraycopy(data, 0, copy.getBackingLongArray(), 0, data.length);
+            this.storage = copy;
+        }
+        this.impl$sharedStorage = null;
+    }
+
     /**
      * @author barteks2x
      *
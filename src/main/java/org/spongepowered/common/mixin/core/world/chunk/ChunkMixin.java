@@ -135,6 +135,7 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
     @Shadow protected abstract void populate(IChunkGenerator generator);
 
     private long impl$scheduledForUnload = -1; // delay chunk unloads
+    private boolean impl$inUnloadQueue = false;
     private boolean impl$persistedChunk = false;
     private boolean impl$isSpawning = false;
     private final net.minecraft.world.chunk.Chunk[] impl$neighbors = new net.minecraft.world.chunk.Chunk[4];
@@ -160,6 +161,16 @@ public abstract class ChunkMixin implements ChunkBridge, CacheKeyBridge {
         return this.unloadQueued;
     }
 
+    @Override
+    public boolean bridge$isInUnloadQueue() {
+        return this.impl$inUnloadQueue;
+    }
+
+    @Override
+    public void bridge$setInUnloadQueue(final boolean queued) {
+        this.impl$inUnloadQueue = queued;
+    }
+
     @Override
     public boolean bridge$isPersistedChunk() {
         return this.impl$persistedChunk;
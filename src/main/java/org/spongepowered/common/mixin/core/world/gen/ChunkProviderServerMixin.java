@@ -63,14 +63,15 @@
 import org.spongepowered.common.event.tracking.PhaseContext;
 import org.spongepowered.common.event.tracking.PhaseTracker;
 import org.spongepowered.common.event.tracking.phase.generation.GenerationPhase;
+import org.spongepowered.common.relocate.co.aikar.timings.WorldTimingsHandler;
 import org.spongepowered.common.util.CachedLong2ObjectMap;
 import org.spongepowered.common.util.Constants;
+import org.spongepowered.common.world.ChunkUnloadQueue;
 import org.spongepowered.common.world.SpongeEmptyChunk;
 import org.spongepowered.common.world.storage.WorldStorageUtil;
 
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
-import java.util.Iterator;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
@@ -83,6 +84,7 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
     private boolean impl$forceChunkRequests = false;
     private long impl$chunkUnloadDelay = Constants.World.DEFAULT_CHUNK_UNLOAD_DELAY;
     private int impl$maxChunkUnloads = Constants.World.MAX_CHUNK_UNLOADS;
+    private final ChunkUnloadQueue impl$unloadQueue = new ChunkUnloadQueue();
 
     @Shadow @Final private WorldServer world;
     @Shadow @Final private IChunkLoader chunkLoader;
@@ -117,21 +119,33 @@ public abstract class ChunkProviderServerMixin implements ChunkProviderServerBri
 
     /**
      * @author blood - October 25th, 2016
-     * @reason Removes usage of droppedChunksSet in favor of unloaded flag.
+     * @reason Removes usage of droppedChunksSet in favor of unloaded flag
+     * and a queue ordered by the time chunks are allowed to unload at.
      *
      * @param chunkIn The chunk to queue
      */
     @Overwrite
     public void queueUnload(final Chunk chunkIn)
     {
-        if (!((ChunkBridge) chunkIn).bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
+        final ChunkBridge spongeChunk = (ChunkBridge) chunkIn;
+        if (!spongeChunk.bridge$isPersistedChunk() && this.world.provider.canDropChunk(chunkIn.x, chunkIn.z))
         {
             // Sponge - we avoid using the queue and simply check the unloaded flag during unloads
             //this.droppedChunksSet.add(Long.valueOf(ChunkPos.asLong(chunkIn.x, chunkIn.z)));
             chunkIn.unloadQueued = true;
+            // A chunk that is still in the queue from an earlier unload request is
+            // checked again once it is polled, so it never has to be added twice.
+            if (!spongeChunk.bridge$isInUnloadQueue()) {
+                spongeChunk.bridge$setInUnloadQueue(true);
+                this.impl$unloadQueue.add(chunkIn, this.impl$getUnloadTime(spongeChunk));
+            }
         }
     }
 
+    private long impl$getUnloadTime(final ChunkBridge chunk) {
+        return this.impl$chunkUnloadDelay > 0 ? chunk.bridge$getScheduledForUnload() + this.impl$chunkUnloadDelay : 0;
+    }
+
 
 
     @Redirect(method = "provideChunk",
@@ -244,11 +258,18 @@ public void queueUnload(final Chunk chunkIn)
         return this.impl$chunkUnloadDelay;
     }
 
+    @Override
+    public double bridge$getChunkCacheHitRate() {
+        if (!(this.loadedChunks instanceof CachedLong2ObjectMap)) {
+            return 0;
+        }
+        return ((CachedLong2ObjectMap<?>) this.loadedChunks).getHitRate();
+    }
+
     /**
      * @author blood - October 20th, 2016
      * @reason Refactors entire method to not use the droppedChunksSet by
-     * simply looping through all loaded chunks and determining whether it
-     * can unload or not.
+     * only looking at the queued chunks that are due to unload.
      *
      * @return true if unload queue was processed
      */
@@ -264,28 +285,43 @@ public boolean tick()
 
         if (this.shadow$canSave() && !((WorldBridge) this.world).bridge$isFake())
         {
-            ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.startTiming();
-            final Iterator<Chunk> iterator = this.loadedChunks.values().iterator();
+            final WorldTimingsHandler timings = ((WorldServerBridge) this.world).bridge$getTimingsHandler();
+            timings.doChunkUnload.startTiming();
             int chunksUnloaded = 0;
             final long now = System.currentTimeMillis();
-            while (chunksUnloaded < this.impl$maxChunkUnloads && iterator.hasNext()) {
-                final Chunk chunk = iterator.next();
+            Chunk chunk;
+            while (chunksUnloaded < this.impl$maxChunkUnloads && (chunk = this.impl$unloadQueue.pollDue(now)) != null) {
                 final ChunkBridge spongeChunk = (ChunkBridge) chunk;
-                if (chunk != null && chunk.unloadQueued && !spongeChunk.bridge$isPersistedChunk()) {
-                    if (this.bridge$getChunkUnloadDelay() > 0) {
-                        if ((now - spongeChunk.bridge$getScheduledForUnload()) < this.impl$chunkUnloadDelay) {
-                            continue;
-                        }
-                        spongeChunk.bridge$setScheduledForUnload(-1);
+                final long chunkKey = ChunkPos.asLong(chunk.x, chunk.z);
+                if (!chunk.unloadQueued || this.loadedChunks.get(chunkKey) != chunk) {
+                    // Marked active again or already unloaded since it was queued
+                    spongeChunk.bridge$setInUnloadQueue(false);
+                    continue;
+                }
+                if (spongeChunk.bridge$isPersistedChunk()) {
+                    // Leave it to the chunk GC to queue it again once it is no longer persisted
+                    spongeChunk.bridge$setInUnloadQueue(false);
+                    chunk.unloadQueued = false;
+                    continue;
+                }
+                if (this.bridge$getChunkUnloadDelay() > 0) {
+                    final long unloadTime = this.impl$getUnloadTime(spongeChunk);
+                    if (unloadTime > now) {
+                        // Scheduled again after it was queued
+                        this.impl$unloadQueue.add(chunk, unloadTime);
+                        continue;
                     }
-                    chunk.onUnload();
-                    this.saveChunkData(chunk);
-                    this.saveChunkExtraData(chunk);
-                    iterator.remove();
-                    chunksUnloaded++;
+                    spongeChunk.bridge$setScheduledForUnload(-1);
                 }
+                spongeChunk.bridge$setInUnloadQueue(false);
+                chunk.onUnload();
+                this.saveChunkData(chunk);
+                this.saveChunkExtraData(chunk);
+                this.loadedChunks.remove(chunkKey);
+                chunksUnloaded++;
             }
-            ((WorldServerBridge) this.world).bridge$getTimingsHandler().doChunkUnload.stopTiming();
+            timings.chunkUnloadQueueSize = this.impl$unloadQueue.size();
+            timings.doChunkUnload.stopTiming();
         }
 
         this.chunkLoader.chunkTick();
@@ -307,6 +343,13 @@ public boolean tick()
         }
     }
 
+    @Inject(method = "canSave", at = @At("HEAD"), cancellable = true)
+    private void impl$pauseSavingWhileCopying(final CallbackInfoReturnable<Boolean> cir) {
+        if (((WorldServerBridge) this.world).bridge$isWorldCopyInProgress()) {
+            cir.setReturnValue(false);
+        }
+    }
+
     @Inject(method = "saveChunkData", at = @At("HEAD"), cancellable = true)
     private void impl$IgnoreIfWorldSaveDisabled(final Chunk chunkIn, final CallbackInfo ci) {
         if (((WorldProperties)this.world.getWorldInfo()).getSerializationBehavior() == SerializationBehaviors.NONE) {
@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.entitycollisions;
+
+import com.google.common.base.Predicate;
+import net.minecraft.entity.Entity;
+import net.minecraft.util.ClassInheritanceMultiMap;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Overwrite;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.world.SectionEntityGrid;
+
+import java.util.Iterator;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(Chunk.class)
+public abstract class ChunkMixin_CollisionsBroadPhase {
+
+    @Shadow @Final private World world;
+    @Shadow @Final public int x;
+    @Shadow @Final public int z;
+    @Shadow @Final private ClassInheritanceMultiMap<Entity>[] entityLists;
+
+    // Mirrors entityLists, created on demand
+    private final SectionEntityGrid[] collisionsImpl$grids = new SectionEntityGrid[16];
+
+    @Inject(method = "addEntity", at = @At("RETURN"))
+    private void collisionsImpl$addToGrid(final Entity entityIn, final CallbackInfo ci) {
+        if (!entityIn.addedToChunk) {
+            return;
+        }
+        final int index = entityIn.chunkCoordY;
+        SectionEntityGrid grid = this.collisionsImpl$grids[index];
+        if (grid == null) {
+            grid = new SectionEntityGrid(this.x, index, this.z);
+            this.collisionsImpl$grids[index] = grid;
+        }
+        grid.add(entityIn);
+    }
+
+    @Inject(method = "removeEntityAtIndex", at = @At("RETURN"))
+    private void collisionsImpl$removeFromGrid(final Entity entityIn, final int index, final CallbackInfo ci) {
+        final SectionEntityGrid grid = this.collisionsImpl$grids[MathHelper.clamp(index, 0, this.collisionsImpl$grids.length - 1)];
+        if (grid != null) {
+            grid.remove(entityIn);
+        }
+    }
+
+    /**
+     * @author agent - October 19th, 2026
+     * @reason Only look at the entities in the grid cells touched by the box,
+     * instead of every entity in the touched sections. The whole section loop
+     * is replaced, which can't be expressed with injections, so this is an
+     * overwrite. Collision rules and events still apply as the entities are
+     * added to the list the same way.
+     */
+    @SuppressWarnings("Guava")
+    @Overwrite
+    public void getEntitiesWithinAABBForEntity(@Nullable final Entity entityIn, final AxisAlignedBB aabb, final List<Entity> listToFill,
+            @Nullable final Predicate<? super Entity> filter) {
+        final double maxEntityRadius = this.world instanceof WorldServer ? SpongeImplHooks.getWorldMaxEntityRadius((WorldServer) this.world) : 2.0D;
+        final int minSection = MathHelper.clamp(MathHelper.floor((aabb.minY - maxEntityRadius) / 16.0D), 0, this.entityLists.length - 1);
+        final int maxSection = MathHelper.clamp(MathHelper.floor((aabb.maxY + maxEntityRadius) / 16.0D), 0, this.entityLists.length - 1);
+
+        for (int k = minSection; k <= maxSection; ++k) {
+            final SectionEntityGrid grid = this.collisionsImpl$grids[k];
+            if (grid == null || grid.isEmpty()) {
+                continue;
+            }
+            final Iterator<Entity> candidates = grid.getCandidates(aabb);
+            while (candidates.hasNext()) {
+                final Entity entity = candidates.next();
+                if (entity.getEntityBoundingBox().intersects(aabb) && entity != entityIn) {
+                    if (filter == null || filter.apply(entity)) {
+                        listToFill.add(entity);
+                    }
+
+                    final Entity[] parts = entity.getParts();
+                    if (parts != null) {
+                        for (final Entity part : parts) {
+                            if (part != entityIn && part.getEntityBoundingBox().intersects(aabb) && (filter == null || filter.apply(part))) {
+                                listToFill.add(part);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -24,6 +24,8 @@
  */
 package org.spongepowered.common.mixin.optimization.world.storage;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minecraft.entity.item.EntityItemFrame;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.entity.player.EntityPlayerMP;
@@ -32,6 +34,7 @@
 import net.minecraft.nbt.NBTTagCompound;
 import net.minecraft.nbt.NBTTagList;
 import net.minecraft.network.Packet;
+import net.minecraft.network.play.server.SPacketMaps;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
 import net.minecraft.world.storage.MapData;
@@ -65,6 +68,8 @@
 import java.util.Set;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 @Mixin(MapData.class)
 public abstract class MapDataMixin_MapOptimization extends WorldSavedData implements OptimizedMapDataBridge {
 
@@ -87,10 +92,14 @@ public MapDataMixin_MapOptimization(final String name) {
     @Shadow public int xCenter;
     @Shadow public int zCenter;
     @Shadow public boolean unlimitedTracking;
+    @Shadow public byte[] colors;
 
     private Set<UUID> mapOptimizationImpl$activeWorlds = new HashSet<>();
     // Used
     private ItemStack mapOptimizationImpl$dummyItemStack = new ItemStack(Items.FILLED_MAP, 1, this.mapOptimizationImpl$getMapId());
+    // Packets created during the current call to mapOptimizationImpl$updatePlayersInWorld,
+    // keyed by OptimizedMapInfoBridge#mapOptimizationBridge$pollPacketKey
+    private final Int2ObjectMap<Packet<?>> mapOptimizationImpl$sharedPackets = new Int2ObjectOpenHashMap<>();
 
     private static Constructor<MapData.MapInfo> mapOptimizationImpl$mapInfoConstructor;
     // Forge changes the type of this field from 'byte' to 'integer'
@@ -216,35 +225,66 @@ public void updateVisiblePlayers(final EntityPlayer player, final ItemStack mapS
     private void mapOptimizationImpl$updatePlayersInWorld() {
         // Copied from EntityTrackerEntry#updatePlayerList
         if (Sponge.getServer().getRunningTimeTicks() % 10 == 0) {
-            for (final org.spongepowered.api.world.World world: Sponge.getServer().getWorlds()) {
-                if (!this.mapOptimizationImpl$activeWorlds.contains(world.getUniqueId())) {
-                    continue;
-                }
-                for (final Player player: world.getPlayers()) {
-                    // Copied from EntityTrackerEntry#updatePlayerList
-
-                    final EntityPlayerMP entityplayermp = (EntityPlayerMP) player;
-                    OptimizedMapInfoBridge mapInfo = (OptimizedMapInfoBridge) this.playersHashMap.get(player);
-                    if (mapInfo != null && mapInfo.mapOptimizationBridge$isValid()) {
-                        continue; // We've already sent the player a map data packet for this map
+            try {
+                for (final org.spongepowered.api.world.World world: Sponge.getServer().getWorlds()) {
+                    if (!this.mapOptimizationImpl$activeWorlds.contains(world.getUniqueId())) {
+                        continue;
                     }
-
-                    // Create a MapInfo for use by createMapDataPacket
-                    if (mapInfo == null) {
-                        mapInfo = (OptimizedMapInfoBridge) this.constructMapInfo(entityplayermp);
-                        this.playersHashMap.put(entityplayermp, (MapData.MapInfo) mapInfo);
-                    }
-
-                    //mapdata.updateVisiblePlayers(entityplayermp, itemstack); - Sponge - this is handled above in bridge$tickMap
-                    final Packet<?> packet = Items.FILLED_MAP.createMapDataPacket(this.mapOptimizationImpl$dummyItemStack, (World) world, entityplayermp);
-
-                    if (packet != null)
-                    {
-                        entityplayermp.connection.sendPacket(packet);
+                    for (final Player player: world.getPlayers()) {
+                        // Copied from EntityTrackerEntry#updatePlayerList
+
+                        final EntityPlayerMP entityplayermp = (EntityPlayerMP) player;
+                        OptimizedMapInfoBridge mapInfo = (OptimizedMapInfoBridge) this.playersHashMap.get(player);
+                        if (mapInfo != null && mapInfo.mapOptimizationBridge$isValid()) {
+                            continue; // We've already sent the player a map data packet for this map
+                        }
+
+                        // Create a MapInfo for use by createMapDataPacket
+                        if (mapInfo == null) {
+                            mapInfo = (OptimizedMapInfoBridge) this.constructMapInfo(entityplayermp);
+                            this.playersHashMap.put(entityplayermp, (MapData.MapInfo) mapInfo);
+                        }
+
+                        //mapdata.updateVisiblePlayers(entityplayermp, itemstack); - Sponge - this is handled above in bridge$tickMap
+                        // Sponge - Players viewing the same map are usually waiting for the same dirty
+                        // region, so build each distinct packet once and send it to all of them.
+                        final Packet<?> packet = this.mapOptimizationImpl$getSharedPacket(mapInfo.mapOptimizationBridge$pollPacketKey());
+
+                        if (packet != null)
+                        {
+                            entityplayermp.connection.sendPacket(packet);
+                        }
                     }
                 }
+            } finally {
+                // Map contents change between updates, never reuse a packet
+                this.mapOptimizationImpl$sharedPackets.clear();
+            }
+        }
+    }
+
+    // Creates the same packet as MapInfo#getPacket for the given packet key
+    @Nullable
+    private Packet<?> mapOptimizationImpl$getSharedPacket(final int key) {
+        if (key == OptimizedMapInfoBridge.NO_PACKET_KEY) {
+            return null;
+        }
+        Packet<?> packet = this.mapOptimizationImpl$sharedPackets.get(key);
+        if (packet == null) {
+            final int mapId = this.mapOptimizationImpl$dummyItemStack.getMetadata();
+            if (key == OptimizedMapInfoBridge.DECORATIONS_KEY) {
+                packet = new SPacketMaps(mapId, this.scale, this.trackingPosition, this.mapDecorations.values(), this.colors, 0, 0, 0, 0);
+            } else {
+                final int minX = key & 127;
+                final int minY = key >> 7 & 127;
+                final int maxX = key >> 14 & 127;
+                final int maxY = key >> 21 & 127;
+                packet = new SPacketMaps(mapId, this.scale, this.trackingPosition, this.mapDecorations.values(), this.colors,
+                        minX, minY, maxX + 1 - minX, maxY + 1 - minY);
             }
+            this.mapOptimizationImpl$sharedPackets.put(key, packet);
         }
+        return packet;
     }
 
     // Use playersHashMap instead of playersArrayList, since we skip updating playersArrayList
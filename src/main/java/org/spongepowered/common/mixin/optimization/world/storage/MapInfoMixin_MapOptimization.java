@@ -26,11 +26,19 @@
 
 import net.minecraft.world.storage.MapData;
 import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.common.bridge.optimization.OptimizedMapInfoBridge;
 
 @Mixin(MapData.MapInfo.class)
 public class MapInfoMixin_MapOptimization implements OptimizedMapInfoBridge {
 
+    @Shadow private boolean isDirty;
+    @Shadow private int minX;
+    @Shadow private int minY;
+    @Shadow private int maxX;
+    @Shadow private int maxY;
+    @Shadow private int tick;
+
     private boolean mapOptimization$valid;
 
     @Override
@@ -43,4 +51,14 @@ public class MapInfoMixin_MapOptimization implements OptimizedMapInfoBridge {
         return this.mapOptimization$valid;
     }
 
+    // Mirrors MapInfo#getPacket, without creating the packet
+    @Override
+    public int mapOptimizationBridge$pollPacketKey() {
+        if (this.isDirty) {
+            this.isDirty = false;
+            return OptimizedMapInfoBridge.DIRTY_KEY | this.maxY << 21 | this.maxX << 14 | this.minY << 7 | this.minX;
+        }
+        return this.tick++ % 5 == 0 ? OptimizedMapInfoBridge.DECORATIONS_KEY : OptimizedMapInfoBridge.NO_PACKET_KEY;
+    }
+
 }
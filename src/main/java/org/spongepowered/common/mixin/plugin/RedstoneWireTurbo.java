@@ -24,11 +24,11 @@
  */
 package org.spongepowered.common.mixin.plugin;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.HashMap;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockRedstoneWire;
 import net.minecraft.block.state.IBlockState;
@@ -143,7 +143,7 @@ public RedstoneWireTurbo(BlockRedstoneWire wire) {
 
     
     /* 
-     * Compute neighbors of a block.  When a redstone wire value changes, previously it called
+     * Offsets to the neighbors of a block.  When a redstone wire value changes, previously it called
      * World.notifyNeighborsOfStateChange.  That lists immediately neighboring blocks in
      * west, east, down, up, north, south order.  For each of those neighbors, their own
      * neighbors are updated in the same order.  This generates 36 updates, but 12 of them are
@@ -152,44 +152,29 @@ public RedstoneWireTurbo(BlockRedstoneWire wire) {
      * Note that this ordering is only used to create the initial list of neighbors.  Once
      * the direction of signal flow is identified, the ordering of updates is completely 
      * reorganized.
+     *
+     * Entries 0 to 5 are the immediate neighbors, in the same order as
+     * World.notifyNeighborsOfStateChange, etc.:  west, east, down, up, north, south.
+     * Entries 6 to 23 are the neighbors of neighbors, in the same order,
+     * except that duplicates are not included.
     */
-    public static BlockPos[] computeAllNeighbors(final BlockPos pos) {
-        final int x = pos.getX();
-        final int y = pos.getY();
-        final int z = pos.getZ();
-        final BlockPos[] n = new BlockPos[24];
-
-        // Immediate neighbors, in the same order as 
-        // World.notifyNeighborsOfStateChange, etc.:
-        // west, east, down, up, north, south
-        n[ 0] = new BlockPos(x-1, y  , z  ); 
-        n[ 1] = new BlockPos(x+1, y  , z  ); 
-        n[ 2] = new BlockPos(x  , y-1, z  ); 
-        n[ 3] = new BlockPos(x  , y+1, z  ); 
-        n[ 4] = new BlockPos(x  , y  , z-1); 
-        n[ 5] = new BlockPos(x  , y  , z+1); 
-    
-        // Neighbors of neighbors, in the same order,
-        // except that duplicates are not included
-        n[ 6] = new BlockPos(x-2, y  , z  );  
-        n[ 7] = new BlockPos(x-1, y-1, z  );
-        n[ 8] = new BlockPos(x-1, y+1, z  );
-        n[ 9] = new BlockPos(x-1, y  , z-1);
-        n[10] = new BlockPos(x-1, y  , z+1);
-        n[11] = new BlockPos(x+2, y  , z  );
-        n[12] = new BlockPos(x+1, y-1, z  );
-        n[13] = new BlockPos(x+1, y+1, z  );
-        n[14] = new BlockPos(x+1, y  , z-1);
-        n[15] = new BlockPos(x+1, y  , z+1);
-        n[16] = new BlockPos(x  , y-2, z  );
-        n[17] = new BlockPos(x  , y-1, z-1);
-        n[18] = new BlockPos(x  , y-1, z+1);
-        n[19] = new BlockPos(x  , y+2, z  );
-        n[20] = new BlockPos(x  , y+1, z-1);
-        n[21] = new BlockPos(x  , y+1, z+1);
-        n[22] = new BlockPos(x  , y  , z-2);
-        n[23] = new BlockPos(x  , y  , z+2);
-        return n;
+    static final int[] neighbor_x = {-1, 1,  0, 0,  0, 0, -2, -1, -1, -1, -1, 2,  1, 1,  1, 1,  0,  0,  0, 0,  0, 0,  0, 0};
+    static final int[] neighbor_y = { 0, 0, -1, 1,  0, 0,  0, -1,  1,  0,  0, 0, -1, 1,  0, 0, -2, -1, -1, 2,  1, 1,  0, 0};
+    static final int[] neighbor_z = { 0, 0,  0, 0, -1, 1,  0,  0,  0, -1,  1, 0,  0, 0, -1, 1,  0, -1,  1, 0, -1, 1, -2, 2};
+
+    /*
+     * Packs block coordinates into a long the same way BlockPos.toLong does, so that
+     * positions can be looked up in the node cache without creating BlockPos objects.
+     */
+    private static final int NUM_XZ_BITS = 26;
+    private static final int NUM_Y_BITS = 12;
+    private static final int Y_SHIFT = NUM_XZ_BITS;
+    private static final int X_SHIFT = Y_SHIFT + NUM_Y_BITS;
+    private static final long XZ_MASK = (1L << NUM_XZ_BITS) - 1L;
+    private static final long Y_MASK = (1L << NUM_Y_BITS) - 1L;
+
+    static long pack(final int x, final int y, final int z) {
+        return ((long) x & XZ_MASK) << X_SHIFT | ((long) y & Y_MASK) << Y_SHIFT | ((long) z & XZ_MASK);
     }
 
     /*
@@ -197,7 +182,7 @@ public static BlockPos[] computeAllNeighbors(final BlockPos pos) {
      * immediately adjacent.  Some more distant updates can result
      * in cross-talk that (a) wastes time and (b) can make the update
      * order unintuitive.  Therefore (relative to the neighbor order
-     * computed by computeAllNeighbors), updates are not scheduled
+     * given by the neighbor offset tables), updates are not scheduled
      * for redstone wire in those non-connecting positions.  On the
      * other hand, updates will always be sent to *other* types of blocks
      * in any of the 24 neighboring positions.
@@ -275,7 +260,7 @@ public static BlockPos[] computeAllNeighbors(final BlockPos pos) {
     
     /*
      * Input:  Array of UpdateNode objects in an order corresponding to the positions 
-     *         computed by computeAllNeighbors above.
+     *         given by the neighbor offset tables above.
      * Output: Array of UpdateNode objects oriented using the above remapping tables
      *         corresponding to the identified heading (direction of information flow).
      */
@@ -296,21 +281,66 @@ public static enum Type {
         }
         
         IBlockState currentState;       // Keep track of redstone wire value
-        UpdateNode[] neighbor_nodes;    // References to neighbors (directed graph edges)
+        final UpdateNode[] neighbor_nodes = new UpdateNode[24]; // References to neighbors (directed graph edges)
+        boolean expanded;               // Whether neighbor_nodes has been filled in
         BlockPos self;                  // UpdateNode's own position
         BlockPos parent;                // Which block pos spawned/updated this node
         Type type = Type.UNKNOWN;       // unknown, redstone wire, other type of block
         int layer;                      // Highest layer this node is scheduled in
         boolean visited;                // To keep track of information flow direction, visited restone wire is marked
         int xbias, zbias;               // Remembers directionality of ancestor nodes; helps eliminate directional ambiguities.
+
+        // Nodes are reused from one search to the next, so bring this one
+        // back to the state of a newly created node.
+        void reset(final BlockPos pos, final BlockPos parent) {
+            this.currentState = null;
+            this.expanded = false;
+            this.self = pos;
+            this.parent = parent;
+            this.type = Type.UNKNOWN;
+            this.layer = 0;
+            this.visited = false;
+            this.xbias = 0;
+            this.zbias = 0;
+        }
     }
     
     
     /*
      * Keep track of all block positions discovered during search and their current states.
-     * We want to remember one entry for each position.
+     * We want to remember one entry for each position.  Positions are keyed by their
+     * packed coordinates, and the table keeps its capacity between searches.
+     */
+    private final Long2ObjectOpenHashMap<UpdateNode> nodeCache = new Long2ObjectOpenHashMap<>();
+
+    /*
+     * UpdateNode objects are handed out from this pool and all returned at once when
+     * a search completes, so that large redstone machines don't generate garbage.
+     */
+    private UpdateNode[] nodePool = new UpdateNode[64];
+    private int nodePoolUsed = 0;
+
+    private UpdateNode newNode(final BlockPos pos, final BlockPos parent) {
+        if (this.nodePoolUsed == this.nodePool.length) {
+            this.nodePool = Arrays.copyOf(this.nodePool, this.nodePool.length * 2);
+        }
+        UpdateNode node = this.nodePool[this.nodePoolUsed];
+        if (node == null) {
+            node = new UpdateNode();
+            this.nodePool[this.nodePoolUsed] = node;
+        }
+        this.nodePoolUsed++;
+        node.reset(pos, parent);
+        return node;
+    }
+
+    /*
+     * findNeighbors needs a temporary array of neighbors in cardinal ordering.  It can be
+     * re-entered through block updates caused by identifyNode, so one array is kept for
+     * each level of nesting.
      */
-    private final Map<BlockPos, UpdateNode> nodeCache = new HashMap<>();
+    private UpdateNode[][] neighborScratch = new UpdateNode[2][24];
+    private int neighborScratchDepth = 0;
 
 
     /*
@@ -485,28 +515,41 @@ private void updateNode(final World worldIn, final UpdateNode upd1, final int la
      * are reordered left-to-right relative to the direction of information flow.
      */
     private void findNeighbors(final World worldIn, final UpdateNode upd1) {
-        final BlockPos pos = upd1.self;
-
-        // Get the list of neighbor coordinates
-        final BlockPos[] neighbors = computeAllNeighbors(pos);
-
         // Temporary array of neighbors in cardinal ordering
-        final UpdateNode[] neighbor_nodes = new UpdateNode[24];
+        if (this.neighborScratchDepth == this.neighborScratch.length) {
+            this.neighborScratch = Arrays.copyOf(this.neighborScratch, this.neighborScratch.length * 2);
+        }
+        UpdateNode[] neighbor_nodes = this.neighborScratch[this.neighborScratchDepth];
+        if (neighbor_nodes == null) {
+            neighbor_nodes = new UpdateNode[24];
+            this.neighborScratch[this.neighborScratchDepth] = neighbor_nodes;
+        }
+        this.neighborScratchDepth++;
+        try {
+            findNeighbors(worldIn, upd1, neighbor_nodes);
+        } finally {
+            this.neighborScratchDepth--;
+        }
+    }
 
-        // Target array of neighbors sorted left-to-right
-        upd1.neighbor_nodes = new UpdateNode[24];
+    private void findNeighbors(final World worldIn, final UpdateNode upd1, final UpdateNode[] neighbor_nodes) {
+        final BlockPos pos = upd1.self;
+        final int x = pos.getX();
+        final int y = pos.getY();
+        final int z = pos.getZ();
 
         for (int i=0; i<24; i++) {
             // Look up each neighbor in the node cache
-            final BlockPos pos2 = neighbors[i];
-            UpdateNode upd2 = this.nodeCache.get(pos2);
+            final int x2 = x + neighbor_x[i];
+            final int y2 = y + neighbor_y[i];
+            final int z2 = z + neighbor_z[i];
+            final long key2 = pack(x2, y2, z2);
+            UpdateNode upd2 = this.nodeCache.get(key2);
             if (upd2 == null) {
                 // If this is a previously unreached position, create
                 // a new update node, add it to the cache, and identify what it is.
-                upd2 = new UpdateNode();
-                upd2.self = pos2;
-                upd2.parent = pos;
-                this.nodeCache.put(pos2, upd2);
+                upd2 = newNode(new BlockPos(x2, y2, z2), pos);
+                this.nodeCache.put(key2, upd2);
                 identifyNode(worldIn, upd2);
             }
 
@@ -515,9 +558,7 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
             // may contain a redstone wire that does not directly connect to the
             // one being expanded.  To avoid redundant calculations and confusing
             // cross-talk, those neighboring positions are not included.
-            if (update_redstone[i] || upd2.type != UpdateNode.Type.REDSTONE) {
-                neighbor_nodes[i] = upd2;
-            }
+            neighbor_nodes[i] = (update_redstone[i] || upd2.type != UpdateNode.Type.REDSTONE) ? upd2 : null;
         }
 
         // Determine the directions from which the redstone signal may have come from.  This
@@ -569,6 +610,7 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
         // Reorder neighboring UpdateNode objects according to the forward direction
         // determined above.
         orientNeighbors(neighbor_nodes, upd1.neighbor_nodes, heading);
+        upd1.expanded = true;
     }
 
     /*
@@ -576,7 +618,7 @@ private void findNeighbors(final World worldIn, final UpdateNode upd1) {
      * in layers N+1 and N+2;
      */
     private void propagateChanges(final World worldIn, final UpdateNode upd1, final int layer) {
-        if (upd1.neighbor_nodes == null) {
+        if (!upd1.expanded) {
             // If this node has not been expanded yet, find its neigbors
             findNeighbors(worldIn, upd1);
         }
@@ -666,7 +708,8 @@ private void breadthFirstWalk(final World worldIn) {
             // Loop over all blocks in the layer.  Recall that
             // this is a List, preserving the insertion order of
             // left-to-right based on direction of information flow.
-            for (UpdateNode upd : thisLayer) {
+            for (int i = 0, size = thisLayer.size(); i < size; i++) {
+                final UpdateNode upd = thisLayer.get(i);
                 if (upd.type == UpdateNode.Type.REDSTONE) {
                     // If the node is is redstone wire, 
                     // schedule updates to neighbors if its value
@@ -728,33 +771,31 @@ private IBlockState scheduleReentrantNeighborChanged(final World worldIn, final
         if (source != null) {
             // If the cause of the redstone wire update is known, we can use that to help determine
             // direction of information flow.
-            UpdateNode src = this.nodeCache.get(source);
+            final long sourceKey = source.toLong();
+            UpdateNode src = this.nodeCache.get(sourceKey);
             if (src == null) {
-                src = new UpdateNode();
-                src.self = source;
-                src.parent = source;
+                src = newNode(source, source);
                 src.visited = true;
                 identifyNode(worldIn, src);
-                this.nodeCache.put(source, src);
+                this.nodeCache.put(sourceKey, src);
             }
         }
 
         // Find or generate a node for the redstone block position receiving the update
-        UpdateNode upd = this.nodeCache.get(pos);
+        final long key = pos.toLong();
+        UpdateNode upd = this.nodeCache.get(key);
         if (upd == null) {
-            upd = new UpdateNode();
-            upd.self = pos;
-            upd.parent = pos;
+            upd = newNode(pos, pos);
             upd.visited = true;
             identifyNode(worldIn, upd);
-            this.nodeCache.put(pos, upd);
+            this.nodeCache.put(key, upd);
         }
         upd.currentState = newState;
 
         // Receiving this block update may mean something in the world changed.
         // Therefore we clear the cached block info about all neighbors of
         // the position receiving the update and then re-identify what they are.
-        if (upd.neighbor_nodes != null) {
+        if (upd.expanded) {
             for (int i=0; i<24; i++) {
                 final UpdateNode upd2 = upd.neighbor_nodes[i];
                 if (upd2 == null) continue;
@@ -809,35 +850,36 @@ public IBlockState updateSurroundingRedstone(final World worldIn, final BlockPos
         // If the source of the block update to the redstone wire at 'pos' is known, we can use
         // that to help determine the direction of information flow.
         if (source != null) {
-            final UpdateNode src = new UpdateNode();
-            src.self = source;
-            src.parent = source;
+            final UpdateNode src = newNode(source, source);
             src.visited = true;
-            this.nodeCache.put(source, src);
+            this.nodeCache.put(source.toLong(), src);
             identifyNode(worldIn, src);
         }
 
         // Create a node representing the block at 'pos', and then propagate updates
         // to its neighbors.  As stated above, the call to wire.calculateCurrentChanges
         // already performs the update to the block at 'pos', so it is not added to the schedule.
-        final UpdateNode upd = new UpdateNode();
-        upd.self = pos;
-        upd.parent = source!=null ? source : pos;
+        final UpdateNode upd = newNode(pos, source!=null ? source : pos);
         upd.currentState = newState;
         upd.type = UpdateNode.Type.REDSTONE;
         upd.visited = true;
-        this.nodeCache.put(pos, upd);
+        this.nodeCache.put(pos.toLong(), upd);
         propagateChanges(worldIn, upd, 0);
     
         // Perform the walk over all directly reachable redstone wire blocks, propagating wire value 
         // updates in a breadth first order out from the initial update received for the block at 'pos'.
         breadthFirstWalk(worldIn);
 
-        // With the whole search completed, clear the list of all known blocks.
-        // We do not want to keep around state information that may be changed by other code.
-        // In theory, we could cache the neighbor block positions, but that is a separate
-        // optimization.
+        // With the whole search completed, clear the list of all known blocks and return
+        // all nodes to the pool.  We do not want to keep around state information that may
+        // be changed by other code.  In theory, we could cache the neighbor block positions,
+        // but that is a separate optimization.
         this.nodeCache.clear();
+        for (int i = 0; i < this.nodePoolUsed; i++) {
+            // Don't hold on to block states and positions of the finished search
+            this.nodePool[i].reset(null, null);
+        }
+        this.nodePoolUsed = 0;
 
         return newState;
     }
@@ -877,7 +919,7 @@ private IBlockState calculateCurrentChanges(final World worldIn, final UpdateNod
         // following loop can affect the power level of the wire.  Therefore, the loop is 
         // skipped if k is already 15. 
         if (k<15) {
-            if (upd.neighbor_nodes == null) {
+            if (!upd.expanded) {
                 // If this node's neighbors are not known, expand the node
                 findNeighbors(worldIn, upd);
             }
@@ -50,6 +50,7 @@
 import net.minecraft.entity.player.EntityPlayerMP;
 import net.minecraft.entity.projectile.EntityFireball;
 import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraft.util.ClassInheritanceMultiMap;
 import net.minecraft.util.math.AxisAlignedBB;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.world.World;
@@ -62,6 +63,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.entity.EntityBridge;
+import org.spongepowered.common.bridge.util.ClassInheritanceMultiMapBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.WorldInfoBridge;
 import org.spongepowered.common.bridge.world.chunk.ActiveChunkReferantBridge;
@@ -78,6 +80,7 @@
 import org.spongepowered.common.mixin.entityactivation.util.math.AxisAlignedBBAccessor_EntityActivation;
 import org.spongepowered.common.mixin.plugin.entityactivation.interfaces.ActivationCapability;
 
+import java.util.List;
 import java.util.Map;
 
 public class EntityActivationRange {
@@ -260,14 +263,16 @@ public static void activateEntities(final World world) {
      *
      * @param chunk Chunk to check for activation
      */
+    @SuppressWarnings("unchecked")
     private static void activateChunkEntities(final EntityPlayer player, final Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
-
-            for (final Object o : chunk.getEntityLists()[i]) {
-                final Entity entity = (Entity) o;
+        final long currentTick = SpongeImpl.getServer().getTickCounter();
+        for (final ClassInheritanceMultiMap<Entity> entityList : chunk.getEntityLists()) {
+            // Iterate the backing list directly, this runs for every chunk around every player each tick
+            final List<Entity> entities = ((ClassInheritanceMultiMapBridge<Entity>) entityList).bridge$getValues();
+            for (int i = 0; i < entities.size(); i++) {
+                final Entity entity = entities.get(i);
                 final EntityType type = ((org.spongepowered.api.entity.Entity) entity).getType();
                 final ActivationCapability spongeEntity = (ActivationCapability) entity;
-                final long currentTick = SpongeImpl.getServer().getTickCounter();
                 if (!((EntityBridge) entity).bridge$shouldTick()) {
                     continue;
                 }
@@ -28,6 +28,7 @@
 import org.spongepowered.asm.mixin.extensibility.IMixinConfigPlugin;
 import org.spongepowered.asm.mixin.extensibility.IMixinInfo;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.type.GlobalConfig;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,7 +49,14 @@ public String getRefMapperConfig() {
 
     @Override
     public boolean shouldApplyMixin(String targetClassName, String mixinClassName) {
-        return SpongeImpl.getGlobalConfigAdapter().getConfig().getModules().usePluginEntityCollisions();
+        final GlobalConfig globalConfig = SpongeImpl.getGlobalConfigAdapter().getConfig();
+        if (!globalConfig.getModules().usePluginEntityCollisions()) {
+            return false;
+        }
+        if (mixinClassName.endsWith("_CollisionsBroadPhase")) {
+            return globalConfig.getEntityCollisionCategory().useBroadPhase();
+        }
+        return true;
     }
 
     @Override
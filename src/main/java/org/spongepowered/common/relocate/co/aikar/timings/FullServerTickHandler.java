@@ -94,6 +94,7 @@ public void stopTiming() {
             TimingHistory.resetTicks(false);
             this.minuteData.reset();
         }
+        TimingsLocalExporter.tick();
         if (TimingHistory.timedTicks % Timings.getHistoryInterval() == 0) {
             TimingsManager.HISTORY.add(new TimingHistory());
             TimingsManager.resetTimings();
@@ -59,13 +59,18 @@ public void init() {
         final TimingsCategory category = SpongeImpl.getGlobalConfigAdapter().getConfig().getTimings();
         TimingsManager.privacy = category.isServerNamePrivate();
         TimingsManager.hiddenConfigs.addAll(category.getHiddenConfigEntries());
+        TimingsManager.sampleInterval = Math.max(1, category.getSampleInterval());
         setVerboseTimingsEnabled(category.isVerbose());
         setTimingsEnabled(this.moduleEnabled && category.isEnabled());
         setHistoryInterval(category.getHistoryInterval());
         setHistoryLength(category.getHistoryLength());
+        if (this.moduleEnabled) {
+            TimingsLocalExporter.init(category.getLocalExport());
+        }
 
         SpongeImpl.getLogger().debug("Sponge Timings: " + this.timingsEnabled +
                                     " - Verbose: " + this.verboseEnabled +
+                                    " - Sample Interval: " + TimingsManager.sampleInterval +
                                     " - Interval: " + timeSummary(this.historyInterval / 20) +
                                     " - Length: " + timeSummary(this.historyLength / 20));
     }
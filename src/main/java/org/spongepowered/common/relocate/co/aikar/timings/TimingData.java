@@ -51,6 +51,9 @@ public TimingData apply(Integer input) {
     int curTickCount = 0;
     long curTickTotal = 0;
 
+    // Only allocated once latency histograms are requested, see TimingsLocalExporter
+    private TimingHistogram histogram;
+
     TimingData(int id) {
         this.id = id;
     }
@@ -61,6 +64,7 @@ public TimingData apply(Integer input) {
         this.lagTotalTime = data.lagTotalTime;
         this.count = data.count;
         this.lagCount = data.lagCount;
+        this.histogram = data.histogram == null ? null : data.histogram.clone();
     }
 
     void add(long diff) {
@@ -68,6 +72,18 @@ void add(long diff) {
         this.curTickTotal += diff;
     }
 
+    void add(long diff, int count) {
+        this.curTickCount += count;
+        this.curTickTotal += diff;
+    }
+
+    void recordLatency(long diff) {
+        if (this.histogram == null) {
+            this.histogram = new TimingHistogram();
+        }
+        this.histogram.record(diff);
+    }
+
     void processTick(boolean violated) {
         this.totalTime += this.curTickTotal;
         this.count += this.curTickCount;
@@ -86,6 +102,9 @@ void reset() {
         this.curTickCount = 0;
         this.totalTime = 0;
         this.lagTotalTime = 0;
+        if (this.histogram != null) {
+            this.histogram.reset();
+        }
     }
 
     @Override
@@ -106,6 +125,10 @@ public JsonArray export() {
         return array;
     }
 
+    TimingHistogram getHistogram() {
+        return this.histogram;
+    }
+
     boolean hasData() {
         return count > 0;
     }
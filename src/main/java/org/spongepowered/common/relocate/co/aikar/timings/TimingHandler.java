@@ -32,12 +32,15 @@
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.relocate.co.aikar.util.LoadingIntMap;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 class TimingHandler implements Timing {
 
     private static int idPool = 1;
     final int id = idPool++;
 
     final String name;
+    final String groupName;
     private final boolean verbose;
 
     final Int2ObjectOpenHashMap<TimingData> children = new LoadingIntMap<>(TimingData::new);
@@ -47,6 +50,7 @@ class TimingHandler implements Timing {
 
     private long start = 0;
     private int timingDepth = 0;
+    private boolean skipSample;
     private boolean added;
     protected boolean timed;
     protected boolean enabled;
@@ -61,6 +65,7 @@ class TimingHandler implements Timing {
             this.verbose = false;
         }
 
+        this.groupName = id.group;
         this.record = new TimingData(this.id);
         this.groupHandler = id.groupHandler;
 
@@ -114,9 +119,18 @@ public TimingHandler startTiming() {
         }
 
         if (++this.timingDepth == 1) {
-            this.start = System.nanoTime();
             this.parent = TimingsManager.CURRENT;
             TimingsManager.CURRENT = this;
+            // Invocations are sampled at random rather than every nth one, which
+            // could line up with a periodic task and always time the same case
+            if (TimingsManager.sampleInterval > 1 && !isSpecial()
+                    && ThreadLocalRandom.current().nextInt(TimingsManager.sampleInterval) != 0) {
+                // Only counted, see addUnsampled
+                this.start = 0;
+                this.skipSample = true;
+                return this;
+            }
+            this.start = System.nanoTime();
         }
         return this;
     }
@@ -134,8 +148,11 @@ public void stopTiming() {
                 this.start = 0;
                 return;
             }
-            addDiff(System.nanoTime() - this.start);
+            addDiff(System.nanoTime() - this.start, isSpecial() ? 1 : TimingsManager.sampleInterval);
             this.start = 0;
+        } else if (this.timingDepth == 0 && this.skipSample) {
+            this.skipSample = false;
+            addUnsampled();
         }
     }
 
@@ -143,26 +160,60 @@ public void stopTiming() {
     public void abort() {
         if (this.enabled && this.timingDepth > 0) {
             this.start = 0;
+            this.skipSample = false;
         }
     }
 
     void addDiff(long diff) {
+        addDiff(diff, 1);
+    }
+
+    /**
+     * Adds a measured invocation which, when sampling, stands in for
+     * {@code weight} invocations. The own record keeps exact counts since
+     * skipped invocations are counted by {@link #addUnsampled()}, only its
+     * total time is scaled. Child records of the parent and group handlers
+     * are estimated from the sample alone.
+     *
+     * @param diff The measured time
+     * @param weight The sample interval the time was measured with
+     */
+    void addDiff(long diff, int weight) {
+        long estimate = weight == 1 ? diff : diff * weight;
         if (TimingsManager.CURRENT == this) {
             TimingsManager.CURRENT = this.parent;
             if (this.parent != null) {
-                this.parent.children.get(this.id).add(diff);
+                this.parent.children.get(this.id).add(estimate, weight);
             }
         }
-        this.record.add(diff);
+        this.record.add(estimate);
+        if (TimingsLocalExporter.recordHistograms) {
+            this.record.recordLatency(diff);
+        }
+        markAdded();
+        if (this.groupHandler != null) {
+            this.groupHandler.addDiff(diff, weight);
+            this.groupHandler.children.get(this.id).add(estimate, weight);
+        }
+    }
+
+    private void addUnsampled() {
+        if (TimingsManager.CURRENT == this) {
+            TimingsManager.CURRENT = this.parent;
+        }
+        this.record.curTickCount++;
+        markAdded();
+        if (this.groupHandler != null) {
+            this.groupHandler.addUnsampled();
+        }
+    }
+
+    private void markAdded() {
         if (!this.added) {
             this.added = true;
             this.timed = true;
             TimingsManager.HANDLERS.add(this);
         }
-        if (this.groupHandler != null) {
-            this.groupHandler.addDiff(diff);
-            this.groupHandler.children.get(this.id).add(diff);
-        }
     }
 
     /**
@@ -177,6 +228,7 @@ void reset(boolean full) {
         }
         this.start = 0;
         this.timingDepth = 0;
+        this.skipSample = false;
         this.added = false;
         this.children.clear();
         checkEnabled();
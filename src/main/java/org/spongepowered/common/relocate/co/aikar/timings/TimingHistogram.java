@@ -0,0 +1,141 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import java.util.Arrays;
+
+/**
+ * A fixed size, log-linear latency histogram in the spirit of HdrHistogram.
+ *
+ * <p>Values are bucketed by their highest set bit, each power of two being
+ * split into {@link #SUB_BUCKETS} linear sub buckets, which keeps the relative
+ * error of reported percentiles below ~6% while only needing a flat
+ * {@code long[]} and no allocation when recording.</p>
+ */
+class TimingHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // 2^47 ns is roughly 39 hours, anything above is clamped into the last bucket
+    private static final int MAX_EXPONENT = 47;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    static final double[] EXPORTED_PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    private final long[] counts;
+    private long totalCount;
+    private long maxValue;
+
+    TimingHistogram() {
+        this.counts = new long[BUCKET_COUNT];
+    }
+
+    private TimingHistogram(TimingHistogram histogram) {
+        this.counts = histogram.counts.clone();
+        this.totalCount = histogram.totalCount;
+        this.maxValue = histogram.maxValue;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return value < 0 ? 0 : (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    void record(long value) {
+        this.counts[bucketIndex(value)]++;
+        this.totalCount++;
+        if (value > this.maxValue) {
+            this.maxValue = value;
+        }
+    }
+
+    long getTotalCount() {
+        return this.totalCount;
+    }
+
+    long getMaxValue() {
+        return this.maxValue;
+    }
+
+    /**
+     * Gets the (upper bound of the bucket holding the) value at the given
+     * percentile.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The value, or 0 if nothing has been recorded
+     */
+    long getValueAtPercentile(double percentile) {
+        if (this.totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(this.totalCount * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            seen += this.counts[i];
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), this.maxValue);
+            }
+        }
+        return this.maxValue;
+    }
+
+    long[] getExportedPercentiles() {
+        long[] values = new long[EXPORTED_PERCENTILES.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getValueAtPercentile(EXPORTED_PERCENTILES[i]);
+        }
+        return values;
+    }
+
+    void reset() {
+        if (this.totalCount == 0) {
+            return;
+        }
+        Arrays.fill(this.counts, 0);
+        this.totalCount = 0;
+        this.maxValue = 0;
+    }
+
+    @Override
+    protected TimingHistogram clone() {
+        return new TimingHistogram(this);
+    }
+}
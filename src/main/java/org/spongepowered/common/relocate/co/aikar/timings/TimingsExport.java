@@ -132,6 +132,7 @@ static void reportTimings() {
         RuntimeMXBean runtimeBean = ManagementFactory.getRuntimeMXBean();
         builder.add("system", JSONUtil.objectBuilder()
                 .add("timingcost", getCost())
+                .add("sampleinterval", TimingsManager.sampleInterval)
                 .add("name", System.getProperty("os.name"))
                 .add("version", System.getProperty("os.version"))
                 .add("jvmversion", System.getProperty("java.version"))
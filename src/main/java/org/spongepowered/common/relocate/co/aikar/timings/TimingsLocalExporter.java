@@ -0,0 +1,307 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.relocate.co.aikar.timings;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.common.config.category.TimingsLocalExportCategory;
+import org.spongepowered.common.relocate.co.aikar.util.JSONUtil;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Continuously exports timings to local JSON lines files and an optional
+ * plain text scrape endpoint, for servers which can't (or don't want to)
+ * upload reports to the Aikar webviewer.
+ *
+ * <p>Snapshots are taken on the main thread at the end of a server tick, all
+ * serialization and file/network I/O happens on a dedicated thread.</p>
+ */
+final class TimingsLocalExporter {
+
+    private static final String FILE_PREFIX = "timings-";
+    private static final String FILE_SUFFIX = ".jsonl";
+
+    /**
+     * Whether handlers should record per invocation latencies, only true while
+     * the local export is running.
+     */
+    static boolean recordHistograms = false;
+
+    private static int intervalTicks;
+    private static int maxFiles;
+    private static Path directory;
+    private static ExecutorService writer;
+    private static HttpServer httpServer;
+    private static volatile String latestText = "";
+
+    private TimingsLocalExporter() {
+    }
+
+    /**
+     * Starts the export with the given settings, stopping a previously
+     * started export first.
+     *
+     * @param category The export settings
+     */
+    static void init(TimingsLocalExportCategory category) {
+        // Releases the thread and the port of an earlier init
+        shutdown();
+        if (!category.isEnabled()) {
+            return;
+        }
+        intervalTicks = Math.max(1, category.getInterval()) * 20;
+        maxFiles = Math.max(1, category.getMaxFiles());
+        directory = SpongeImpl.getGameDir().resolve(category.getDirectory());
+        writer = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+                .setNameFormat("Sponge - Timings Export Thread")
+                .setDaemon(true)
+                .build());
+        recordHistograms = true;
+
+        if (category.getHttpPort() > 0) {
+            try {
+                httpServer = HttpServer.create(new InetSocketAddress(category.getHttpAddress(), category.getHttpPort()), 0);
+                httpServer.createContext("/timings", exchange -> {
+                    byte[] body = latestText.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+                httpServer.setExecutor(writer);
+                httpServer.start();
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not start the timings scrape endpoint on {}:{}", category.getHttpAddress(),
+                        category.getHttpPort(), e);
+                httpServer = null;
+            }
+        }
+    }
+
+    /**
+     * Called at the end of every timed server tick.
+     */
+    static void tick() {
+        if (writer == null || TimingHistory.timedTicks % intervalTicks != 0) {
+            return;
+        }
+        submit(new Snapshot());
+    }
+
+    static void shutdown() {
+        if (writer == null) {
+            return;
+        }
+        recordHistograms = false;
+        submit(new Snapshot());
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                SpongeImpl.getLogger().warn("Timed out while writing the last timings snapshot");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+    }
+
+    private static void submit(Snapshot snapshot) {
+        writer.execute(() -> {
+            latestText = snapshot.toText();
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                SpongeImpl.getLogger().error("Could not write timings snapshot to {}", directory, e);
+            }
+        });
+    }
+
+    private static void write(Snapshot snapshot) throws IOException {
+        Files.createDirectories(directory);
+        String hour = new SimpleDateFormat("yyyy-MM-dd-HH").format(new Date(snapshot.time));
+        Path file = directory.resolve(FILE_PREFIX + hour + FILE_SUFFIX);
+        boolean rolled = Files.notExists(file);
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(JSONUtil.toString(snapshot.toJson()));
+            out.write('\n');
+        }
+        if (rolled) {
+            pruneOldFiles();
+        }
+    }
+
+    private static void pruneOldFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        if (files.size() <= maxFiles) {
+            return;
+        }
+        // File names sort chronologically
+        Collections.sort(files);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private static final class Snapshot {
+
+        final long time = System.currentTimeMillis();
+        final long since = TimingsManager.historyStart;
+        final long ticks = TimingHistory.timedTicks;
+        final int sampleInterval = TimingsManager.sampleInterval;
+        final List<Entry> entries = new ArrayList<>(TimingsManager.HANDLERS.size());
+        final Map<String, Integer> chunkUnloadQueues = new LinkedHashMap<>();
+
+        Snapshot() {
+            for (TimingHandler handler : TimingsManager.HANDLERS) {
+                if (handler.record.count == 0 && handler.record.curTickCount == 0) {
+                    continue;
+                }
+                this.entries.add(new Entry(handler));
+            }
+            for (WorldServer world : SpongeImpl.getServer().worlds) {
+                final WorldTimingsHandler handler = ((WorldServerBridge) world).bridge$getTimingsHandler();
+                this.chunkUnloadQueues.put(handler.worldName, handler.chunkUnloadQueueSize);
+            }
+        }
+
+        JsonObject toJson() {
+            JsonObject object = new JsonObject();
+            object.addProperty("time", this.time);
+            object.addProperty("since", this.since);
+            object.addProperty("ticks", this.ticks);
+            object.addProperty("sample-interval", this.sampleInterval);
+            JsonArray handlers = new JsonArray();
+            for (Entry entry : this.entries) {
+                JsonArray data = entry.data;
+                JsonObject handler = new JsonObject();
+                handler.addProperty("group", entry.group);
+                handler.addProperty("name", entry.name);
+                handler.add("data", data);
+                if (entry.percentiles != null) {
+                    handler.add("latency", JSONUtil.arrayOf(entry.percentiles[0], entry.percentiles[1], entry.percentiles[2],
+                            entry.percentiles[3], entry.max));
+                }
+                handlers.add(handler);
+            }
+            object.add("handlers", handlers);
+            JsonObject worlds = new JsonObject();
+            for (Map.Entry<String, Integer> entry : this.chunkUnloadQueues.entrySet()) {
+                JsonObject world = new JsonObject();
+                world.addProperty("chunk-unload-queue", entry.getValue());
+                worlds.add(entry.getKey(), world);
+            }
+            object.add("worlds", worlds);
+            return object;
+        }
+
+        String toText() {
+            StringBuilder builder = new StringBuilder(this.entries.size() * 256);
+            builder.append("# Sponge timings since ").append(this.since).append(", ").append(this.ticks).append(" ticks\n");
+            for (Entry entry : this.entries) {
+                String labels = "{group=\"" + escape(entry.group) + "\",name=\"" + escape(entry.name) + "\"";
+                builder.append("sponge_timings_count").append(labels).append("} ").append(entry.count).append('\n');
+                builder.append("sponge_timings_total_nanoseconds").append(labels).append("} ").append(entry.totalTime).append('\n');
+                if (entry.percentiles == null) {
+                    continue;
+                }
+                for (int i = 0; i < entry.percentiles.length; i++) {
+                    builder.append("sponge_timings_latency_nanoseconds").append(labels)
+                            .append(",quantile=\"").append(TimingHistogram.EXPORTED_PERCENTILES[i] / 100.0).append("\"} ")
+                            .append(entry.percentiles[i]).append('\n');
+                }
+                builder.append("sponge_timings_latency_max_nanoseconds").append(labels).append("} ").append(entry.max).append('\n');
+            }
+            for (Map.Entry<String, Integer> entry : this.chunkUnloadQueues.entrySet()) {
+                builder.append("sponge_world_chunk_unload_queue{world=\"").append(escape(entry.getKey())).append("\"} ")
+                        .append(entry.getValue()).append('\n');
+            }
+            return builder.toString();
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+    }
+
+    private static final class Entry {
+
+        final String group;
+        final String name;
+        final int count;
+        final long totalTime;
+        final JsonArray data;
+        final long[] percentiles;
+        final long max;
+
+        Entry(TimingHandler handler) {
+            this.group = handler.groupName;
+            this.name = handler.name;
+            // Include the data of the current tick, it is only processed after the export
+            this.count = handler.record.count + handler.record.curTickCount;
+            this.totalTime = handler.record.totalTime + handler.record.curTickTotal;
+            this.data = handler.record.export();
+            TimingHistogram histogram = handler.record.getHistogram();
+            if (histogram != null && histogram.getTotalCount() > 0) {
+                this.percentiles = histogram.getExportedPercentiles();
+                this.max = histogram.getMaxValue();
+            } else {
+                this.percentiles = null;
+                this.max = 0;
+            }
+        }
+    }
+}
@@ -53,6 +53,11 @@ public final class TimingsManager {
     public static final Timing PLUGIN_GROUP_HANDLER = SpongeTimingsFactory.ofSafe("Plugins");
     public static List<String> hiddenConfigs = new ArrayList<>();
     public static boolean privacy = false;
+    /**
+     * Only 1 in this many invocations of a handler is actually timed, the
+     * others are only counted.
+     */
+    static int sampleInterval = 1;
 
     static final Collection<TimingHandler> HANDLERS = new ArrayDeque<>();
     static final ArrayDeque<TimingHistory.MinuteReport> MINUTE_REPORTS = new ArrayDeque<>();
@@ -96,6 +101,7 @@ static void tick() {
     }
 
     static void stopServer() {
+        TimingsLocalExporter.shutdown();
         Timings.setTimingsEnabled(false);
         recheckEnabled();
     }
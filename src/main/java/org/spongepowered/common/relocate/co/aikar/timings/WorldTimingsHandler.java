@@ -76,8 +76,17 @@ public class WorldTimingsHandler {
     // Chunk population
     public final Timing chunkPopulate;
 
+    /**
+     * The number of chunks waiting in the unload queue, updated every time
+     * the queue is processed.
+     */
+    public int chunkUnloadQueueSize;
+
+    final String worldName;
+
     public WorldTimingsHandler(World world) {
-        String name = world.getWorldInfo().getWorldName() + " - ";
+        this.worldName = world.getWorldInfo().getWorldName();
+        String name = this.worldName + " - ";
 
         this.mobSpawn = SpongeTimingsFactory.ofSafe(name + "mobSpawn");
         this.doChunkUnload = SpongeTimingsFactory.ofSafe(name + "doChunkUnload");
@@ -0,0 +1,316 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.ban;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.server.management.UserList;
+import net.minecraft.server.management.UserListEntry;
+import org.spongepowered.api.util.ban.Ban;
+import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
+import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
+import org.spongepowered.common.util.AtomicFiles;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the entries of a ban list indexed by their expiration date, so that
+ * expired bans no longer require a scan of the whole list on every query,
+ * and batches writes of the list to disk.
+ *
+ * <p>Lookups stay hashed by the key of the vanilla {@link UserList}. Expired
+ * entries are removed lazily, either when they are looked up or once the
+ * earliest expiration of the queue has passed. Queued expirations of entries
+ * which have since been replaced or pardoned are skipped when they are
+ * polled, and dropped from the queue at once when they make up most of
+ * it.</p>
+ *
+ * <p>Modifications are written by a background thread after a short delay,
+ * so that many bans added in a row only write the list once.</p>
+ *
+ * @param <K> The type of the banned object
+ * @param <V> The type of the ban entries
+ */
+class BanIndex<K, V extends UserListEntry<K>> {
+
+    private static final long SAVE_DELAY_MILLIS = 1000;
+    private static final int MIN_STALE_EXPIRATIONS_TO_COMPACT = 16;
+    @Nullable private static ScheduledExecutorService saveExecutor;
+
+    private final UserList<K, V> list;
+    private final Map<String, V> values;
+    private final PriorityQueue<Expiration<V>> expirations = new PriorityQueue<>();
+    // Queued expirations whose entry is no longer in the list
+    private int staleExpirations;
+    private final Object writeLock = new Object();
+    @Nullable private ScheduledFuture<?> scheduledSave;
+    private long modifications;
+    private long savedModifications;
+
+    @SuppressWarnings("unchecked")
+    BanIndex(final UserList<K, V> list) {
+        this.list = list;
+        this.values = ((UserListAccessor<K, V>) list).accessor$getValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    String getKey(final K obj) {
+        return ((UserListAccessor<K, V>) this.list).accessor$getObjectKey(obj);
+    }
+
+    /**
+     * Rebuilds the expiration queue, after the list has been read from disk.
+     * The list has to be read while holding the lock of this index.
+     */
+    synchronized void rebuild() {
+        this.expirations.clear();
+        this.staleExpirations = 0;
+        this.onCleared();
+        for (final Map.Entry<String, V> entry : this.values.entrySet()) {
+            this.queueExpiration(entry.getKey(), entry.getValue());
+            this.onAdded(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Nullable
+    synchronized V get(final K obj) {
+        return this.getByKey(this.getKey(obj));
+    }
+
+    @Nullable
+    final V getByKey(final String key) {
+        final V entry = this.values.get(key);
+        if (entry != null && isExpired(entry, System.currentTimeMillis())) {
+            this.values.remove(key);
+            this.onRemoved(key, entry);
+            this.onExpirationStale(entry);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Gets a copy of all the entries which haven't expired.
+     *
+     * @return The entries
+     */
+    synchronized List<V> getValues() {
+        this.removeExpired();
+        return new ArrayList<>(this.values.values());
+    }
+
+    synchronized void put(final V entry) {
+        @SuppressWarnings("unchecked")
+        final String key = this.getKey(((UserLIstEntryAccessor<K>) entry).accessor$getValue());
+        final V previous = this.values.put(key, entry);
+        if (previous != null) {
+            this.onRemoved(key, previous);
+            this.onExpirationStale(previous);
+        }
+        this.queueExpiration(key, entry);
+        this.onAdded(key, entry);
+        this.markDirty();
+    }
+
+    synchronized boolean remove(final K obj) {
+        final String key = this.getKey(obj);
+        final V previous = this.values.remove(key);
+        if (previous != null) {
+            this.onRemoved(key, previous);
+            this.onExpirationStale(previous);
+            this.markDirty();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Called when an entry has been added to the list, while holding the
+     * lock of this index.
+     *
+     * @param key The key of the entry
+     * @param entry The entry
+     */
+    void onAdded(final String key, final V entry) {
+    }
+
+    /**
+     * Called when an entry has been removed from the list, while holding the
+     * lock of this index.
+     *
+     * @param key The key of the entry
+     * @param entry The entry
+     */
+    void onRemoved(final String key, final V entry) {
+    }
+
+    /**
+     * Called before the index is rebuilt, while holding the lock of this
+     * index.
+     */
+    void onCleared() {
+    }
+
+    static boolean isExpired(final UserListEntry<?> entry, final long now) {
+        final Optional<Instant> expirationDate = ((Ban) entry).getExpirationDate();
+        return expirationDate.isPresent() && expirationDate.get().toEpochMilli() <= now;
+    }
+
+    final void removeExpired() {
+        if (this.expirations.isEmpty()) {
+            return;
+        }
+        final long now = System.currentTimeMillis();
+        Expiration<V> expiration;
+        while ((expiration = this.expirations.peek()) != null && expiration.time <= now) {
+            this.expirations.poll();
+            // The entry may have been pardoned or replaced in the meantime
+            if (this.values.remove(expiration.key, expiration.entry)) {
+                this.onRemoved(expiration.key, expiration.entry);
+            } else if (this.staleExpirations > 0) {
+                this.staleExpirations--;
+            }
+        }
+    }
+
+    private void onExpirationStale(final V entry) {
+        if (!((Ban) entry).getExpirationDate().isPresent()) {
+            return;
+        }
+        this.staleExpirations++;
+        // Pardoned temporary bans would otherwise stay queued until they would have expired
+        if (this.staleExpirations >= MIN_STALE_EXPIRATIONS_TO_COMPACT && this.staleExpirations > this.expirations.size() / 2) {
+            this.expirations.removeIf(expiration -> this.values.get(expiration.key) != expiration.entry);
+            this.staleExpirations = 0;
+        }
+    }
+
+    private void queueExpiration(final String key, final V entry) {
+        final Optional<Instant> expirationDate = ((Ban) entry).getExpirationDate();
+        if (expirationDate.isPresent()) {
+            this.expirations.add(new Expiration<>(expirationDate.get().toEpochMilli(), key, entry));
+        }
+    }
+
+    private void markDirty() {
+        this.modifications++;
+        if (this.scheduledSave == null) {
+            this.scheduledSave = getSaveExecutor().schedule(this::saveInBackground, SAVE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void saveInBackground() {
+        try {
+            this.save();
+        } catch (IOException e) {
+            UserListAccessor.accessor$getLogger().warn("Could not save the list after modifying it.", e);
+        }
+    }
+
+    /**
+     * Writes pending modifications on the calling thread.
+     */
+    void flush() {
+        synchronized (this) {
+            if (this.scheduledSave == null) {
+                return;
+            }
+        }
+        this.saveInBackground();
+    }
+
+    /**
+     * Writes the current entries to the save file of the list.
+     *
+     * @throws IOException If the file couldn't be written
+     */
+    @SuppressWarnings("unchecked")
+    void save() throws IOException {
+        final List<V> snapshot;
+        final long modifications;
+        synchronized (this) {
+            if (this.scheduledSave != null) {
+                this.scheduledSave.cancel(false);
+                this.scheduledSave = null;
+            }
+            snapshot = new ArrayList<>(this.values.values());
+            modifications = this.modifications;
+        }
+        // Serializing can take a while for large lists, so it's done outside of
+        // the lock and only the write itself is ordered
+        final UserListAccessor<K, V> accessor = (UserListAccessor<K, V>) this.list;
+        final String json = accessor.accessor$getGson().toJson(snapshot);
+        synchronized (this.writeLock) {
+            if (modifications < this.savedModifications) {
+                // A newer snapshot has already been written
+                return;
+            }
+            try (final AtomicFiles.AtomicWriter writer = AtomicFiles.newBufferedWriter(accessor.accessor$getSaveFile().toPath())) {
+                writer.write(json);
+                writer.commit();
+            }
+            this.savedModifications = modifications;
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getSaveExecutor() {
+        if (saveExecutor == null) {
+            saveExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                    .setNameFormat("Sponge - Ban List Save Thread")
+                    .setDaemon(true)
+                    .build());
+        }
+        return saveExecutor;
+    }
+
+    private static final class Expiration<V> implements Comparable<Expiration<V>> {
+
+        final long time;
+        final String key;
+        final V entry;
+
+        Expiration(final long time, final String key, final V entry) {
+            this.time = time;
+            this.key = key;
+            this.entry = entry;
+        }
+
+        @Override
+        public int compareTo(final Expiration<V> other) {
+            return Long.compare(this.time, other.time);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.ban;
+
+import net.minecraft.server.management.UserListIPBansEntry;
+import org.spongepowered.common.bridge.server.management.IPBanUserLIstEntryBridge;
+import org.spongepowered.common.util.IpPrefixTrie;
+
+import java.net.InetAddress;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link BanIndex} for ip bans, which additionally supports bans of whole
+ * CIDR ranges. Exact addresses are looked up by their key first, the ranges
+ * are kept in a prefix trie.
+ */
+final class IpBanIndex extends BanIndex<String, UserListIPBansEntry> {
+
+    private final IpPrefixTrie<UserListIPBansEntry> ranges = new IpPrefixTrie<>();
+
+    IpBanIndex(final SpongeIPBanList list) {
+        super(list);
+    }
+
+    /**
+     * Gets the ban of the address, either of the exact address or of the
+     * narrowest range containing it.
+     *
+     * @param address The address
+     * @param key The key of the address in the list
+     * @return The ban, if any
+     */
+    @Nullable
+    synchronized UserListIPBansEntry getFor(final InetAddress address, final String key) {
+        final UserListIPBansEntry entry = this.getByKey(key);
+        if (entry != null || this.ranges.isEmpty()) {
+            return entry;
+        }
+        final UserListIPBansEntry range = this.ranges.getLongestMatch(address);
+        if (range != null && isExpired(range, System.currentTimeMillis())) {
+            // Drop all expired entries, the address may still be in a wider range
+            this.removeExpired();
+            return this.ranges.getLongestMatch(address);
+        }
+        return range;
+    }
+
+    @Override
+    void onAdded(final String key, final UserListIPBansEntry entry) {
+        final IPBanUserLIstEntryBridge bridge = (IPBanUserLIstEntryBridge) entry;
+        if (bridge.bridge$isRange()) {
+            this.ranges.put(bridge.bridge$getAddress(), bridge.bridge$getPrefixLength(), entry);
+        }
+    }
+
+    @Override
+    void onRemoved(final String key, final UserListIPBansEntry entry) {
+        final IPBanUserLIstEntryBridge bridge = (IPBanUserLIstEntryBridge) entry;
+        if (bridge.bridge$isRange()) {
+            final UserListIPBansEntry removed = this.ranges.remove(bridge.bridge$getAddress(), bridge.bridge$getPrefixLength());
+            if (removed != null && removed != entry) {
+                // Another entry covers the same range with a differently written key
+                this.ranges.put(bridge.bridge$getAddress(), bridge.bridge$getPrefixLength(), removed);
+            }
+        }
+    }
+
+    @Override
+    void onCleared() {
+        this.ranges.clear();
+    }
+}
@@ -26,7 +26,6 @@
 
 import net.minecraft.server.management.UserListBans;
 import net.minecraft.server.management.UserListBansEntry;
-import net.minecraft.server.management.UserListEntry;
 import net.minecraft.server.management.UserListIPBans;
 import net.minecraft.server.management.UserListIPBansEntry;
 import org.spongepowered.api.Sponge;
@@ -38,8 +37,7 @@
 import org.spongepowered.api.util.ban.Ban;
 import org.spongepowered.api.util.ban.BanTypes;
 import org.spongepowered.common.SpongeImpl;
-import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
-import org.spongepowered.common.util.UserListUtils;
+import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
@@ -59,88 +57,62 @@
  */
 public class SpongeBanService implements BanService {
 
-    @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public Collection<Ban> getBans() {
-        final Collection<? extends Ban> bans = this.getProfileBans();
-        bans.addAll((Collection) this.getIpBans());
+        final Collection<Ban.Profile> profileBans = this.getProfileBans();
+        final Collection<Ban.Ip> ipBans = this.getIpBans();
+        final Collection<Ban> bans = new ArrayList<>(profileBans.size() + ipBans.size());
+        bans.addAll(profileBans);
+        bans.addAll(ipBans);
 
-        return (Collection<Ban>) bans;
+        return bans;
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Profile> getProfileBans() {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
-        return new ArrayList<>((Collection<Ban.Profile>) (Object) accessor.accessor$getValues().values());
+        return (Collection<Ban.Profile>) (Object) this.getUserBanIndex().getValues();
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public Collection<Ban.Ip> getIpBans() {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor = ((UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getIPBanList());
-        accessor.accessor$removeExpired();
-        return new ArrayList<>((Collection<Ban.Ip>) (Object) accessor.accessor$getValues().values());
+        return (Collection<Ban.Ip>) (Object) this.getIPBanIndex().getValues();
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<Ban.Profile> getBanFor(final GameProfile profile) {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
-        return Optional.ofNullable((Ban.Profile) accessor.accessor$getValues().get(accessor.accessor$getObjectKey((com.mojang.authlib.GameProfile) profile)));
+        return Optional.ofNullable((Ban.Profile) this.getUserBanIndex().get((com.mojang.authlib.GameProfile) profile));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Optional<Ban.Ip> getBanFor(final InetAddress address) {
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-
-        accessor.accessor$removeExpired();
-        return Optional.ofNullable((Ban.Ip) accessor.accessor$getValues().get(accessor.accessor$getObjectKey(((UserListIPBans) accessor).addressToString(new InetSocketAddress(address, 0)))));
+        return Optional.ofNullable((Ban.Ip) this.getIPBanIndex().getFor(address, this.addressToString(address)));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean isBanned(final GameProfile profile) {
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-
-        accessor.accessor$removeExpired();
-        return accessor.accessor$getValues().containsKey(accessor.accessor$getObjectKey((com.mojang.authlib.GameProfile) profile));
+        return this.getUserBanIndex().get((com.mojang.authlib.GameProfile) profile) != null;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean isBanned(final InetAddress address) {
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-
-        accessor.accessor$removeExpired();
-        return accessor.accessor$getValues().containsKey(accessor.accessor$getObjectKey(((UserListIPBans) accessor).addressToString(new InetSocketAddress(address, 0))));
+        return this.getIPBanIndex().getFor(address, this.addressToString(address)) != null;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean pardon(final GameProfile profile) {
         final Optional<Ban.Profile> ban = getBanFor(profile);
-        final UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry> accessor =
-            (UserListAccessor<com.mojang.authlib.GameProfile, UserListBansEntry>) this.getUserBanList();
-        accessor.accessor$removeExpired();
         return ban.isPresent() && removeBan(ban.get());
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean pardon(final InetAddress address) {
         final Optional<Ban.Ip> ban = getBanFor(address);
-        final UserListAccessor<String, UserListIPBansEntry> accessor = ((UserListAccessor<String, UserListIPBansEntry>) this.getIPBanList());
-        accessor.accessor$removeExpired();
         return ban.isPresent() && removeBan(ban.get());
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public boolean removeBan(final Ban ban) {
         if (!hasBan(ban)) {
@@ -150,13 +122,13 @@ public boolean removeBan(final Ban ban) {
             final User user = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getOrCreate(((Ban.Profile) ban).getProfile());
             Sponge.getEventManager().post(SpongeEventFactory.createPardonUserEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Profile) ban, user));
 
-            UserListUtils.removeEntry(this.getUserBanList(), ((Ban.Profile) ban).getProfile());
+            this.getUserBanIndex().remove((com.mojang.authlib.GameProfile) ((Ban.Profile) ban).getProfile());
             return true;
         } else if (ban.getType().equals(BanTypes.IP)) {
             Sponge.getEventManager().post(SpongeEventFactory.createPardonIpEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Ip) ban));
 
-            final InetSocketAddress inetSocketAddress = new InetSocketAddress(((Ban.Ip) ban).getAddress(), 0);
-            UserListUtils.removeEntry(this.getIPBanList(), this.getIPBanList().addressToString(inetSocketAddress));
+            // Removed by its own key, which for range bans isn't the address alone
+            this.getIPBanIndex().remove(((UserLIstEntryAccessor<String>) ban).accessor$getValue());
             return true;
         }
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
@@ -172,13 +144,13 @@ public Optional<? extends Ban> addBan(final Ban ban) {
             final User user = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getOrCreate(((Ban.Profile) ban).getProfile());
             Sponge.getEventManager().post(SpongeEventFactory.createBanUserEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Profile) ban, user));
 
-            UserListUtils.addEntry(this.getUserBanList(), (UserListEntry<?>) ban);
+            this.getUserBanIndex().put((UserListBansEntry) ban);
         } else if (ban.getType().equals(BanTypes.IP)) {
             prevBan = this.getBanFor(((Ban.Ip) ban).getAddress());
 
             Sponge.getEventManager().post(SpongeEventFactory.createBanIpEvent(Sponge.getCauseStackManager().getCurrentCause(), (Ban.Ip) ban));
 
-            UserListUtils.addEntry(this.getIPBanList(), (UserListEntry<?>) ban);
+            this.getIPBanIndex().put((UserListIPBansEntry) ban);
         } else {
             throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
         }
@@ -195,6 +167,18 @@ public boolean hasBan(final Ban ban) {
         throw new IllegalArgumentException(String.format("Ban %s had unrecognized BanType %s!", ban, ban.getType()));
     }
 
+    private String addressToString(final InetAddress address) {
+        return this.getIPBanList().addressToString(new InetSocketAddress(address, 0));
+    }
+
+    private BanIndex<com.mojang.authlib.GameProfile, UserListBansEntry> getUserBanIndex() {
+        return ((SpongeUserListBans) this.getUserBanList()).getIndex();
+    }
+
+    private IpBanIndex getIPBanIndex() {
+        return ((SpongeIPBanList) this.getIPBanList()).getIndex();
+    }
+
     private UserListBans getUserBanList() {
         return SpongeImpl.getServer().getPlayerList().getBannedPlayers();
     }
@@ -31,9 +31,11 @@
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.service.ban.BanService;
 import org.spongepowered.api.util.ban.Ban;
+import org.spongepowered.common.bridge.server.management.IPBanUserLIstEntryBridge;
 import org.spongepowered.common.util.NetworkUtil;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
@@ -48,8 +50,23 @@
  */
 public class SpongeIPBanList extends UserListIPBans {
 
+    private final IpBanIndex index;
+
     public SpongeIPBanList(File bansFile) {
         super(bansFile);
+        this.index = new IpBanIndex(this);
+    }
+
+    IpBanIndex getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Writes pending changes of the list, which are otherwise saved in the
+     * background shortly after they have been made.
+     */
+    public void flushChanges() {
+        this.index.flush();
     }
 
     private static BanService getService() {
@@ -100,7 +117,11 @@ public void removeEntry(String entry) {
     public String[] getKeys() {
         List<String> ips = new ArrayList<>();
         for (Ban.Ip ban : getService().getIpBans()) {
-            ips.add(this.addressToString(new InetSocketAddress(ban.getAddress(), 0)));
+            if (ban instanceof IPBanUserLIstEntryBridge && ((IPBanUserLIstEntryBridge) ban).bridge$isRange()) {
+                ips.add(ban.getAddress().getHostAddress() + "/" + ((IPBanUserLIstEntryBridge) ban).bridge$getPrefixLength());
+            } else {
+                ips.add(this.addressToString(new InetSocketAddress(ban.getAddress(), 0)));
+            }
         }
         return ips.toArray(new String[ips.size()]);
     }
@@ -125,4 +146,18 @@ public String addressToString(SocketAddress address) {
         return NetworkUtil.getHostString(address);
     }
 
+    @Override
+    public void readSavedFile() throws IOException {
+        // The entries are replaced by the vanilla list, lookups must not see them half read
+        synchronized (this.index) {
+            super.readSavedFile();
+            this.index.rebuild();
+        }
+    }
+
+    @Override
+    public void writeChanges() throws IOException {
+        this.index.save();
+    }
+
 }
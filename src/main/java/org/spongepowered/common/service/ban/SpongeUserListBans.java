@@ -30,8 +30,10 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.ban.BanService;
 import org.spongepowered.api.util.ban.Ban;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -42,8 +44,39 @@
  */
 public class SpongeUserListBans extends UserListBans {
 
+    private final BanIndex<com.mojang.authlib.GameProfile, UserListBansEntry> index;
+
     public SpongeUserListBans(File bansFile) {
         super(bansFile);
+        this.index = new BanIndex<com.mojang.authlib.GameProfile, UserListBansEntry>(this) {
+
+            @Override
+            void onAdded(String key, UserListBansEntry entry) {
+                SpongeUserStorageService.onListedProfilesChanged();
+            }
+
+            @Override
+            void onRemoved(String key, UserListBansEntry entry) {
+                SpongeUserStorageService.onListedProfilesChanged();
+            }
+
+            @Override
+            void onCleared() {
+                SpongeUserStorageService.onListedProfilesChanged();
+            }
+        };
+    }
+
+    BanIndex<com.mojang.authlib.GameProfile, UserListBansEntry> getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Writes pending changes of the list, which are otherwise saved in the
+     * background shortly after they have been made.
+     */
+    public void flushChanges() {
+        this.index.flush();
     }
 
     private static BanService getService() {
@@ -96,4 +129,18 @@ public com.mojang.authlib.GameProfile getBannedProfile(String username) {
         return null;
     }
 
+    @Override
+    public void readSavedFile() throws IOException {
+        // The entries are replaced by the vanilla list, lookups must not see them half read
+        synchronized (this.index) {
+            super.readSavedFile();
+            this.index.rebuild();
+        }
+    }
+
+    @Override
+    public void writeChanges() throws IOException {
+        this.index.save();
+    }
+
 }
@@ -28,7 +28,6 @@
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.Maps;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.source.RemoteSource;
 import org.spongepowered.api.network.RemoteConnection;
@@ -81,7 +80,7 @@ public Set<Context> load(RemoteSource key) {
                         return builder.build();
                     }
                     builder.add(new Context(contextKey, addr.getHostAddress()));
-                    for (String set : Maps.filterValues(SpongeImpl.getGlobalConfigAdapter().getConfig().getIpSets(), input -> input.apply(addr)).keySet()) {
+                    for (String set : SpongeImpl.getGlobalConfigAdapter().getConfig().getMatchingIpSets(addr)) {
                         builder.add(new Context(contextKey, set));
                     }
                     return builder.build();
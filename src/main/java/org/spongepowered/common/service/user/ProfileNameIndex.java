@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * An index of the known {@link GameProfile}s by their lowercase name, which
+ * allows looking up all the profiles whose name starts with a prefix without
+ * going through every known profile.
+ *
+ * <p>Profiles are kept sorted by their lowercase name followed by their
+ * unique id, so the profiles matching a prefix are a contiguous range and
+ * multiple profiles may share a name.</p>
+ */
+final class ProfileNameIndex {
+
+    // Sorts between the name and the unique id, before any other character
+    private static final char SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, GameProfile> profilesByName = new TreeMap<>();
+    private final Map<UUID, String> keysByUniqueId = new HashMap<>();
+
+    /**
+     * Adds the profile to the index, replacing the indexed profile with the
+     * same unique id. Profiles without a name are removed instead.
+     *
+     * @param profile The profile
+     */
+    synchronized void put(final GameProfile profile) {
+        final String name = profile.getName().orElse(null);
+        if (name == null) {
+            remove(profile.getUniqueId());
+            return;
+        }
+        final String key = name.toLowerCase(Locale.ROOT) + SEPARATOR + profile.getUniqueId();
+        final String oldKey = this.keysByUniqueId.put(profile.getUniqueId(), key);
+        if (oldKey != null && !oldKey.equals(key)) {
+            this.profilesByName.remove(oldKey);
+        }
+        this.profilesByName.put(key, profile);
+    }
+
+    synchronized void remove(final UUID uniqueId) {
+        final String key = this.keysByUniqueId.remove(uniqueId);
+        if (key != null) {
+            this.profilesByName.remove(key);
+        }
+    }
+
+    synchronized boolean contains(final UUID uniqueId) {
+        return this.keysByUniqueId.containsKey(uniqueId);
+    }
+
+    synchronized void clear() {
+        this.profilesByName.clear();
+        this.keysByUniqueId.clear();
+    }
+
+    synchronized int size() {
+        return this.keysByUniqueId.size();
+    }
+
+    /**
+     * Passes every profile whose lowercase name starts with the given
+     * lowercase prefix to the consumer.
+     *
+     * @param prefix The lowercase prefix
+     * @param consumer The consumer of the matching profiles
+     */
+    synchronized void forEachMatch(final String prefix, final Consumer<GameProfile> consumer) {
+        final Collection<GameProfile> matches = this.profilesByName.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        for (final GameProfile profile : matches) {
+            consumer.accept(profile);
+        }
+    }
+
+}
@@ -28,16 +28,18 @@
 import static com.google.common.base.Preconditions.checkNotNull;
 import static com.google.common.base.Preconditions.checkState;
 
-import com.google.common.collect.Sets;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.entity.player.SpongeUser;
 
 import java.util.Collection;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 public class SpongeUserStorageService implements UserStorageService {
@@ -86,10 +88,42 @@ public User getOrCreate(GameProfile profile) {
         return UserDiscoverer.create((com.mojang.authlib.GameProfile) profile);
     }
 
+    /**
+     * Gets or creates the {@link User} of the given profile, with its stored
+     * data loaded in the background. The returned future is completed on the
+     * server thread.
+     *
+     * @param profile The profile
+     * @return The future of the loaded user
+     */
+    public CompletableFuture<User> getOrCreateLoaded(GameProfile profile) {
+        checkState(SpongeImplHooks.isMainThread(), "Users can only be loaded from the server thread!");
+        final User user = getOrCreate(profile);
+        return ((SpongeUser) user).loadAsync();
+    }
+
     public User forceRecreateUser(GameProfile profile) {
         return UserDiscoverer.forceRecreate((com.mojang.authlib.GameProfile) profile);
     }
 
+    /**
+     * Called when entries of the whitelist or the ban list have been added or
+     * removed, so that {@link #match(String)} indexes their names again.
+     */
+    public static void onListedProfilesChanged() {
+        UserDiscoverer.onListedProfilesChanged();
+    }
+
+    /**
+     * Called when a profile has been added to the profile cache, so that
+     * {@link #match(String)} uses its current name.
+     *
+     * @param profile The cached profile
+     */
+    public static void onProfileCached(com.mojang.authlib.GameProfile profile) {
+        UserDiscoverer.onProfileCached(profile);
+    }
+
     @Override
     public Collection<GameProfile> getAll() {
         return UserDiscoverer.getAllProfiles();
@@ -110,14 +144,7 @@ public boolean delete(User user) {
     @Override
     public Collection<GameProfile> match(String lastKnownName) {
         lastKnownName = checkNotNull(lastKnownName, "lastKnownName").toLowerCase(Locale.ROOT);
-        Collection<GameProfile> allProfiles = UserDiscoverer.getAllProfiles();
-        Collection<GameProfile> matching = Sets.newHashSet();
-        for (GameProfile profile : allProfiles) {
-            if (profile.getName().isPresent() && profile.getName().get().startsWith(lastKnownName)) {
-                matching.add(profile);
-            }
-        }
-        return matching;
+        return UserDiscoverer.matchProfiles(lastKnownName);
     }
 
 }
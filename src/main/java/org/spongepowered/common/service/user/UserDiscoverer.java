@@ -31,7 +31,6 @@
 import com.google.common.cache.RemovalNotification;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Sets;
 import com.mojang.authlib.GameProfile;
 import net.minecraft.server.management.PlayerList;
 import net.minecraft.server.management.PlayerProfileCache;
@@ -49,6 +48,7 @@
 import org.spongepowered.common.bridge.entity.player.EntityPlayerMPBridge;
 import org.spongepowered.common.bridge.world.storage.SaveHandlerBridge;
 import org.spongepowered.common.entity.player.SpongeUser;
+import org.spongepowered.common.entity.player.UserDataIO;
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
 import org.spongepowered.common.mixin.core.world.storage.SaveHandlerAccessor;
@@ -74,6 +74,7 @@
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 import javax.annotation.Nullable;
@@ -92,6 +93,17 @@ class UserDiscoverer {
     private static boolean hasInitBeenStarted = false;
     private static boolean scanningIO = true;
 
+    // The names of the profiles of the stored and cached users, kept up to date
+    // with the detected stored UUIDs once it has been built
+    private static final ProfileNameIndex profileNameIndex = new ProfileNameIndex();
+    private static volatile boolean profileNameIndexStale = true;
+
+    // The names of the whitelisted and banned profiles, built again on the next
+    // match once the lists have been modified
+    private static final ProfileNameIndex listedProfileNameIndex = new ProfileNameIndex();
+    private static final AtomicLong listedProfileModifications = new AtomicLong(1);
+    private static long indexedListedProfileModifications;
+
     // This is inherently tied to the user cache, so we use its removal listener to remove entries here.
     // Note that this cache is intended for _stored_ user data, while the GameProfileCache might contain
     // other user data. This is why we store it here.
@@ -105,9 +117,20 @@ class UserDiscoverer {
             .expireAfterAccess(1, TimeUnit.DAYS)
             .build();
 
+    // The loaded data of offline users is kept in memory, so the amount of cached users is bounded
+    private static final int MAX_CACHED_USERS = 10000;
+
     private static final Cache<UUID, User> userCache = CacheBuilder.newBuilder()
             .expireAfterAccess(1, TimeUnit.DAYS)
+            .maximumSize(MAX_CACHED_USERS)
             .removalListener((RemovalNotification<UUID, User> removalNotification) -> {
+                if (removalNotification.wasEvicted()) {
+                    final SpongeUser user = (SpongeUser) removalNotification.getValue();
+                    if (SpongeUser.dirtyUsers.contains(user)) {
+                        // Captured and written by the user data I/O thread
+                        user.saveEvicted();
+                    }
+                }
                 // If we're replacing, we're going through the create method so the other
                 // caches will be updated accordingly.
                 if (removalNotification.getCause() != RemovalCause.REPLACED) {
@@ -193,13 +216,10 @@ static User findByUsername(final String username) {
         }
 
         // check mojang cache
-        final PlayerProfileCache cache = SpongeImpl.getServer().getPlayerProfileCache();
-        final HashSet<String> names = Sets.newHashSet(cache.getUsernames());
-        if (names.contains(username.toLowerCase(Locale.ROOT))) {
-            final GameProfile profile = cache.getGameProfileForUsername(username);
-            if (profile != null) {
-                return findByProfile((org.spongepowered.api.profile.GameProfile) profile);
-            }
+        final Optional<org.spongepowered.api.profile.GameProfile> cachedProfile =
+                ((GameProfileCache) SpongeImpl.getServer().getPlayerProfileCache()).getByName(username);
+        if (cachedProfile.isPresent()) {
+            return findByProfile(cachedProfile.get());
         }
 
         // check username cache
@@ -237,7 +257,7 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
             // Add all known profiles from the data files
             final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
 
-            pollFilesystemWatcher();
+            pollFilesystemWatcher(profileCache);
             getProfilesFromDetectedUUIDs(profileCache, profiles);
 
             // Add all whitelisted users
@@ -260,6 +280,127 @@ static Collection<org.spongepowered.api.profile.GameProfile> getAllProfiles() {
         }
     }
 
+    /**
+     * Gets the known profiles whose name starts with the given prefix, the
+     * same profiles {@link #getAllProfiles()} would return.
+     *
+     * @param lastKnownName The lowercase prefix of the name
+     * @return The matching profiles
+     */
+    @SuppressWarnings("unchecked")
+    static Collection<org.spongepowered.api.profile.GameProfile> matchProfiles(final String lastKnownName) {
+        Preconditions.checkState(Sponge.isServerAvailable(), "Server is not available!");
+        if (scanningIO || filesystemWatchService == null || watchKey == null || !watchKey.isValid()) {
+            // The index can't be kept up to date without the file watcher
+            final Collection<org.spongepowered.api.profile.GameProfile> matching = new HashSet<>();
+            for (final org.spongepowered.api.profile.GameProfile profile : getAllProfiles()) {
+                if (profile.getName().isPresent() && profile.getName().get().toLowerCase(Locale.ROOT).startsWith(lastKnownName)) {
+                    matching.add(profile);
+                }
+            }
+            return matching;
+        }
+
+        synchronized (lockingObject) {
+            final PlayerProfileCache profileCache = SpongeImpl.getServer().getPlayerProfileCache();
+            pollFilesystemWatcher(profileCache);
+            if (profileNameIndexStale) {
+                rebuildProfileNameIndex(profileCache);
+            }
+
+            final Collection<org.spongepowered.api.profile.GameProfile> matching = new HashSet<>();
+            profileNameIndex.forEachMatch(lastKnownName, matching::add);
+
+            // The whitelist and ban list only add the profiles which aren't
+            // known otherwise, the same way getAllProfiles adds them
+            final long modifications = listedProfileModifications.get();
+            if (modifications != indexedListedProfileModifications) {
+                rebuildListedProfileNameIndex(profileCache);
+                indexedListedProfileModifications = modifications;
+            }
+            listedProfileNameIndex.forEachMatch(lastKnownName, profile -> {
+                if (!profileNameIndex.contains(profile.getUniqueId())) {
+                    matching.add(profile);
+                }
+            });
+            return matching;
+        }
+    }
+
+    /**
+     * Called when entries of the whitelist or the ban list have been added or
+     * removed, the names of their profiles are indexed again on the next
+     * match.
+     */
+    static void onListedProfilesChanged() {
+        listedProfileModifications.incrementAndGet();
+    }
+
+    /**
+     * Called when a profile has been added to the profile cache, the cached
+     * name takes precedence over the name stored in the whitelist and ban
+     * list.
+     *
+     * @param profile The cached profile
+     */
+    static void onProfileCached(final GameProfile profile) {
+        if (profile.getName() != null && listedProfileNameIndex.contains(profile.getId())) {
+            listedProfileNameIndex.put((org.spongepowered.api.profile.GameProfile) profile);
+        }
+    }
+
+    private static void rebuildProfileNameIndex(final PlayerProfileCache profileCache) {
+        profileNameIndex.clear();
+        // Same precedence as getAllProfiles, the stored profiles replace the cached ones
+        for (final org.spongepowered.api.profile.GameProfile profile : gameProfileCache.values()) {
+            profileNameIndex.put(profile);
+        }
+        for (final UUID uuid : detectedStoredUUIDs) {
+            indexStoredProfile(uuid, profileCache);
+        }
+        profileNameIndexStale = false;
+    }
+
+    private static void indexStoredProfile(final UUID uuid, final PlayerProfileCache profileCache) {
+        final GameProfile profile = profileCache.getProfileByUUID(uuid);
+        if (profile != null) {
+            profileNameIndex.put((org.spongepowered.api.profile.GameProfile) profile);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void rebuildListedProfileNameIndex(final PlayerProfileCache profileCache) {
+        listedProfileNameIndex.clear();
+        final PlayerList pl = SpongeImpl.getServer().getPlayerList();
+        addToListedProfileNameIndex(
+                ((UserListAccessor<GameProfile, UserListWhitelistEntry>) pl.getWhitelistedPlayers()).accessor$getValues().values(),
+                profileCache);
+        addToListedProfileNameIndex(
+                ((UserListAccessor<GameProfile, UserListBansEntry>) pl.getBannedPlayers()).accessor$getValues().values(),
+                profileCache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addToListedProfileNameIndex(
+            final Collection<? extends UserListEntry<GameProfile>> gameProfiles,
+            final PlayerProfileCache profileCache) {
+
+        for (final UserListEntry<GameProfile> entry : gameProfiles) {
+            final GameProfile value = ((UserLIstEntryAccessor<GameProfile>) entry).accessor$getValue();
+            // The first list containing a profile wins, like in getAllProfiles
+            if (value == null || listedProfileNameIndex.contains(value.getId())) {
+                continue;
+            }
+            GameProfile profile = profileCache.getProfileByUUID(value.getId());
+            if (profile == null) {
+                profile = value;
+            }
+            if (profile.getName() != null) {
+                listedProfileNameIndex.put((org.spongepowered.api.profile.GameProfile) profile);
+            }
+        }
+    }
+
     static void init() {
         if (!hasInitBeenStarted) {
             hasInitBeenStarted = true;
@@ -295,6 +436,8 @@ private static void startFilesystemWatchServiceTask() {
 
             detectedStoredUUIDs.clear();
             nonExistentUsers.clear();
+            // Built again from the scanned UUIDs on the next match
+            profileNameIndexStale = true;
 
             SaveHandlerBridge saveHandler = (SaveHandlerBridge) WorldManager.getWorldByDimensionId(0).get().getSaveHandler();
             Set<UUID> uuids = getAvailablePlayerUUIDs(saveHandler.bridge$getPlayersDirectory().toPath());
@@ -359,7 +502,7 @@ private static void getProfilesFromDetectedUUIDs(
         }
     }
 
-    private static void pollFilesystemWatcher() {
+    private static void pollFilesystemWatcher(final PlayerProfileCache profileCache) {
         // We've already got the UUIDs, so we need to just see if the file system
         // watcher has found any more (or removed any).
         synchronized (updateCache) {
@@ -386,9 +529,13 @@ private static void pollFilesystemWatcher() {
 
                             // It will only be create or delete here.
                             if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                                detectedStoredUUIDs.add(uuid);
+                                if (detectedStoredUUIDs.add(uuid) && !profileNameIndexStale) {
+                                    indexStoredProfile(uuid, profileCache);
+                                }
                             } else {
-                                detectedStoredUUIDs.remove(uuid);
+                                if (detectedStoredUUIDs.remove(uuid) && !profileNameIndexStale && !gameProfileCache.containsKey(uuid)) {
+                                    profileNameIndex.remove(uuid);
+                                }
                             }
                         } catch (IllegalArgumentException ex) {
                             // ignored, file isn't of use to us.
@@ -544,6 +691,8 @@ private static File getPlayerDataFile(final UUID uniqueId) {
     private static boolean deleteStoredPlayerData(final UUID uniqueId) {
         final File dataFile = getPlayerDataFile(uniqueId);
         if (dataFile != null) {
+            // Pending writes would recreate the file
+            UserDataIO.flush(uniqueId);
             try {
                 return dataFile.delete();
             } catch (SecurityException e) {
@@ -570,6 +719,9 @@ private static void createCacheEntry(User user) {
         invalidateEntry(user.getProfile());
         userCache.put(user.getUniqueId(), user);
         gameProfileCache.put(user.getUniqueId(), user.getProfile());
+        if (!profileNameIndexStale && user.getName() != null) {
+            profileNameIndex.put(user.getProfile());
+        }
         if (user.getName() != null) {
             userByNameCache.put(user.getName(), user);
             caseInsensitiveUserByNameCache.put(user.getName().toLowerCase(), user);
@@ -579,7 +731,9 @@ private static void createCacheEntry(User user) {
 
     private static void invalidateEntry(org.spongepowered.api.profile.GameProfile profile) {
         UUID uuid = profile.getUniqueId();
-        gameProfileCache.remove(uuid);
+        if (gameProfileCache.remove(uuid) != null && !profileNameIndexStale && !scanningIO && !detectedStoredUUIDs.contains(uuid)) {
+            profileNameIndex.remove(uuid);
+        }
         userCache.invalidate(uuid);
         profile.getName().ifPresent(name -> {
             @Nullable User user = userByNameCache.getIfPresent(name);
@@ -31,8 +31,10 @@
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.whitelist.WhitelistService;
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -93,4 +95,10 @@ public com.mojang.authlib.GameProfile getByName(final String profileName) {
         return null;
     }
 
+    @Override
+    public void readSavedFile() throws IOException {
+        super.readSavedFile();
+        SpongeUserStorageService.onListedProfilesChanged();
+    }
+
 }
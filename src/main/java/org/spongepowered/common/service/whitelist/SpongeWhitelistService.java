@@ -31,6 +31,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.mixin.core.server.management.UserLIstEntryAccessor;
 import org.spongepowered.common.mixin.core.server.management.UserListAccessor;
+import org.spongepowered.common.service.user.SpongeUserStorageService;
 import org.spongepowered.common.util.UserListUtils;
 
 import java.util.ArrayList;
@@ -65,6 +66,7 @@ public boolean isWhitelisted(final GameProfile profile) {
     public boolean addProfile(final GameProfile profile) {
         final boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.addEntry(getWhitelist(), new UserListWhitelistEntry((com.mojang.authlib.GameProfile) profile));
+        SpongeUserStorageService.onListedProfilesChanged();
         return wasWhitelisted;
     }
 
@@ -72,6 +74,7 @@ public boolean addProfile(final GameProfile profile) {
     public boolean removeProfile(final GameProfile profile) {
         final boolean wasWhitelisted = this.isWhitelisted(profile);
         UserListUtils.removeEntry(getWhitelist(), profile);
+        SpongeUserStorageService.onListedProfilesChanged();
         return wasWhitelisted;
     }
 
@@ -29,6 +29,9 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Ordering;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.world.WorldServer;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.data.manipulator.mutable.DisplayNameData;
@@ -56,8 +59,12 @@
 import org.spongepowered.api.util.AABB;
 import org.spongepowered.api.util.Functional;
 import org.spongepowered.api.world.Locatable;
+import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.entity.EntityUtil;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.util.VecHelper;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -67,8 +74,6 @@
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
 
@@ -101,6 +106,11 @@ private static Vector3d positionFromSource(CommandSource origin) {
     private final Vector3d position;
     private final Selector selector;
     private final Predicate<Entity> selectorFilter;
+    // The area all the selected entities intersect with, if the selector is location based
+    @Nullable private final AABB searchBox;
+    private final boolean playersOnly;
+    // The class all the selected entities are instances of, if known
+    @Nullable private final Class<? extends net.minecraft.entity.Entity> searchClass;
 
     public SelectorResolver(Selector selector, Collection<? extends Extent> extents) {
         this(selector, extents, null, null);
@@ -121,6 +131,79 @@ private SelectorResolver(Selector selector, Collection<? extends Extent> extents
         }
         this.position = position == null ? Vector3d.ZERO : position;
         this.selectorFilter = makeFilter();
+        this.searchBox = makeSearchBox();
+        this.playersOnly = isPlayersOnly();
+        this.searchClass = makeSearchClass();
+    }
+
+    /**
+     * Gets the box that contains every entity the location based arguments
+     * of the selector can select, so only the chunks within it have to be
+     * searched instead of every entity of the world.
+     */
+    @Nullable
+    private AABB makeSearchBox() {
+        final Vector3d position = getPositionOrDefault(this.position, ArgumentTypes.POSITION);
+        @Nullable AABB box = null;
+        final Optional<Integer> radiusMax = this.selector.get(ArgumentTypes.RADIUS.maximum());
+        if (radiusMax.isPresent()) {
+            // Grown by a block, the entities are matched by their position but found by their bounding box
+            final double radius = Math.max(radiusMax.get(), 1.0E-4D) + 1;
+            box = new AABB(position.sub(radius, radius, radius), position.add(radius, radius, radius));
+        }
+        final AABB volume = getVolume(position);
+        if (volume != null) {
+            box = box == null ? volume : intersection(box, volume);
+        }
+        return box;
+    }
+
+    @Nullable
+    private static AABB intersection(final AABB a, final AABB b) {
+        final Vector3d min = a.getMin().max(b.getMin());
+        final Vector3d max = a.getMax().min(b.getMax());
+        if (min.getX() >= max.getX() || min.getY() >= max.getY() || min.getZ() >= max.getZ()) {
+            // Nothing can be selected, use the smallest box there is
+            return new AABB(min, min.add(1.0E-4D, 1.0E-4D, 1.0E-4D));
+        }
+        return new AABB(min, max);
+    }
+
+    private boolean isPlayersOnly() {
+        final SelectorType selectorType = this.selector.getType();
+        final boolean untypedRandom = selectorType == SelectorTypes.RANDOM && !this.selector.getArgument(ArgumentTypes.ENTITY_TYPE).isPresent();
+        return selectorType == SelectorTypes.ALL_PLAYERS || selectorType == SelectorTypes.NEAREST_PLAYER || untypedRandom;
+    }
+
+    /**
+     * Gets the class all the entities selected by this selector are instances
+     * of, so the per-class entity lists of the chunks can be searched instead
+     * of checking the type of every entity.
+     */
+    @Nullable
+    private Class<? extends net.minecraft.entity.Entity> makeSearchClass() {
+        if (this.playersOnly) {
+            return EntityPlayerMP.class;
+        }
+        final Optional<Argument.Invertible<EntityType>> typeOpt = this.selector.getArgument(ArgumentTypes.ENTITY_TYPE);
+        if (typeOpt.isPresent() && !typeOpt.get().isInverted() && typeOpt.get().getValue() instanceof SpongeEntityType) {
+            return ((SpongeEntityType) typeOpt.get().getValue()).entityClass;
+        }
+        return null;
+    }
+
+    @Nullable
+    private AABB getVolume(final Vector3d position) {
+        if (!this.selector.has(ArgumentTypes.DIMENSION.x()) &&
+                !this.selector.has(ArgumentTypes.DIMENSION.y()) &&
+                !this.selector.has(ArgumentTypes.DIMENSION.z())) {
+            return null;
+        }
+
+        Integer x = this.selector.get(ArgumentTypes.DIMENSION.x()).orElse(0);
+        Integer y = this.selector.get(ArgumentTypes.DIMENSION.y()).orElse(0);
+        Integer z = this.selector.get(ArgumentTypes.DIMENSION.z()).orElse(0);
+        return getAABB(position.toInt(), x, y, z);
     }
 
     private Predicate<Entity> makeFilter() {
@@ -143,17 +226,9 @@ private Predicate<Entity> makeFilter() {
     }
 
     private void addDimensionFilters(final Vector3d position, List<Predicate<Entity>> filters) {
-        if (this.selector.has(ArgumentTypes.DIMENSION.x()) || 
-                this.selector.has(ArgumentTypes.DIMENSION.y()) || 
-                this.selector.has(ArgumentTypes.DIMENSION.z())) return;
-
-        Integer x = this.selector.get(ArgumentTypes.DIMENSION.x()).orElse(0);
-        Integer y = this.selector.get(ArgumentTypes.DIMENSION.y()).orElse(0);
-        Integer z = this.selector.get(ArgumentTypes.DIMENSION.z()).orElse(0);
-        AABB axisalignedbb = getAABB(this.position.toInt(), x, y, z);
-
-        if (this.entityOrigin != null) {
-            filters.add(input -> this.entityOrigin.getBoundingBox().map(aabb -> aabb.intersects(axisalignedbb)).orElse(false));
+        final AABB axisalignedbb = getVolume(position);
+        if (axisalignedbb != null) {
+            filters.add(input -> input.getBoundingBox().map(aabb -> aabb.intersects(axisalignedbb)).orElse(false));
         }
     }
 
@@ -166,6 +241,10 @@ private void addGamemodeFilters(List<Predicate<Entity>> filters) {
             if (actualMode != GameModes.NOT_SET) {
                 final boolean inverted = gamemode.get().isInverted();
                 filters.add(input -> {
+                    // Only players have a game mode, skip the data lookup for anything else
+                    if (!(input instanceof Player)) {
+                        return inverted;
+                    }
                     Optional<GameModeData> mode = input.get(GameModeData.class);
                     return inverted ^ (mode.isPresent() && mode.get().type().get() == actualMode);
                 });
@@ -179,6 +258,9 @@ private void addLevelFilters(List<Predicate<Entity>> filters) {
         if (levelMin.isPresent()) {
             final int actualMin = levelMin.get();
             filters.add(input -> {
+                if (!(input instanceof Player)) {
+                    return false;
+                }
                 Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
                 return xp.isPresent() && xp.get().level().get() >= actualMin;
             });
@@ -186,6 +268,9 @@ private void addLevelFilters(List<Predicate<Entity>> filters) {
         if (levelMax.isPresent()) {
             final int actualMax = levelMax.get();
             filters.add(input -> {
+                if (!(input instanceof Player)) {
+                    return false;
+                }
                 Optional<ExperienceHolderData> xp = input.get(ExperienceHolderData.class);
                 return xp.isPresent() && xp.get().level().get() <= actualMax;
             });
@@ -332,26 +417,52 @@ public ImmutableSet<Entity> resolve() {
         boolean isReversed = maxToSelect < 0;
         maxToSelect = Math.abs(maxToSelect);
         Set<? extends Extent> extents = getExtentSet();
-        Stream<Entity> entityStream = extents.stream()
-                .flatMap(ext -> ext.getEntities().stream())
-                .filter(this.selectorFilter);
+        List<Entity> entities = new ArrayList<>();
+        for (Extent extent : extents) {
+            collectEntities(extent, entities);
+        }
 
         if (maxToSelect == 0) {
-            return entityStream.sorted(distanceSort(isReversed))
-                    .collect(ImmutableSet.toImmutableSet());
+            entities.sort(distanceSort(isReversed));
+            return ImmutableSet.copyOf(entities);
         }
 
         if (selectorType == SelectorTypes.RANDOM) {
-            List<Entity> holder = entityStream.collect(Collectors.toList());
-            if (holder.isEmpty()) return ImmutableSet.of();
+            if (entities.isEmpty()) return ImmutableSet.of();
 
-            Collections.shuffle(holder);
-            return ImmutableSet.copyOf(holder.subList(0, maxToSelect));
+            Collections.shuffle(entities);
+            return ImmutableSet.copyOf(entities.subList(0, Math.min(maxToSelect, entities.size())));
         }
 
-        return entityStream.sorted(distanceSort(isReversed))
-                .limit(maxToSelect)
-                .collect(ImmutableSet.toImmutableSet());
+        // Only the selected entities are sorted
+        return ImmutableSet.copyOf(Ordering.from(distanceSort(isReversed)).leastOf(entities, maxToSelect));
+    }
+
+    private void collectEntities(Extent extent, Collection<Entity> entities) {
+        if (this.searchBox != null) {
+            if (this.searchClass != null && extent instanceof net.minecraft.world.World) {
+                for (net.minecraft.entity.Entity entity : ((net.minecraft.world.World) extent).getEntitiesWithinAABB(this.searchClass,
+                        VecHelper.toMinecraftAABB(this.searchBox), entity -> this.selectorFilter.test((Entity) entity))) {
+                    entities.add((Entity) entity);
+                }
+            } else {
+                entities.addAll(extent.getIntersectingEntities(this.searchBox, this.selectorFilter));
+            }
+        } else if (this.playersOnly && extent instanceof World) {
+            for (Player player : ((World) extent).getPlayers()) {
+                if (this.selectorFilter.test(player)) {
+                    entities.add(player);
+                }
+            }
+        } else if (this.searchClass != null && extent instanceof WorldServer) {
+            EntityUtil.forEachEntityOfType((WorldServer) extent, this.searchClass, entity -> {
+                if (this.selectorFilter.test((Entity) entity)) {
+                    entities.add((Entity) entity);
+                }
+            });
+        } else {
+            entities.addAll(extent.getEntities(this.selectorFilter));
+        }
     }
 
     private Comparator<? super Entity> distanceSort(boolean isReversed) {
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Writes files through a temporary sibling file which only replaces the
+ * target once it has been fully written and committed, so that readers (and
+ * crashes) never observe a partially written file.
+ */
+public final class AtomicFiles {
+
+    private AtomicFiles() {
+    }
+
+    /**
+     * Opens a stream which writes to a temporary file. The temporary file is
+     * moved over {@code target} by {@link AtomicOutputStream#commit()}, if
+     * the stream is closed without being committed it is deleted and the
+     * target is left untouched.
+     *
+     * @param target The file to replace
+     * @return The stream
+     * @throws IOException If the temporary file could not be created
+     */
+    public static AtomicOutputStream newOutputStream(final Path target) throws IOException {
+        final Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final Path temp = Files.createTempFile(parent, target.getFileName().toString(), ".tmp");
+        return new AtomicOutputStream(Files.newOutputStream(temp), temp, target);
+    }
+
+    /**
+     * Opens a UTF-8 writer which writes to a temporary file, see
+     * {@link #newOutputStream(Path)}.
+     *
+     * @param target The file to replace
+     * @return The writer
+     * @throws IOException If the temporary file could not be created
+     */
+    public static AtomicWriter newBufferedWriter(final Path target) throws IOException {
+        final AtomicOutputStream out = AtomicFiles.newOutputStream(target);
+        return new AtomicWriter(out);
+    }
+
+    public static final class AtomicOutputStream extends FilterOutputStream {
+
+        private final Path temp;
+        private final Path target;
+        private boolean committed;
+        private boolean closed;
+
+        AtomicOutputStream(final OutputStream out, final Path temp, final Path target) {
+            super(out);
+            this.temp = temp;
+            this.target = target;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            this.out.write(b, off, len);
+        }
+
+        /**
+         * Closes the stream and replaces the target with everything written
+         * to it.
+         *
+         * @throws IOException If the file could not be written or moved
+         */
+        public void commit() throws IOException {
+            if (this.closed) {
+                throw new IOException("Stream already closed");
+            }
+            this.committed = true;
+            close();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (this.closed) {
+                return;
+            }
+            this.closed = true;
+            try {
+                super.close();
+            } catch (final IOException e) {
+                Files.deleteIfExists(this.temp);
+                throw e;
+            }
+            if (this.committed) {
+                AtomicFiles.replace(this.temp, this.target);
+            } else {
+                Files.deleteIfExists(this.temp);
+            }
+        }
+    }
+
+    public static final class AtomicWriter extends BufferedWriter {
+
+        private final AtomicOutputStream out;
+
+        AtomicWriter(final AtomicOutputStream out) {
+            super(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            this.out = out;
+        }
+
+        /**
+         * Closes the writer and replaces the target with everything written
+         * to it.
+         *
+         * @throws IOException If the file could not be written or moved
+         */
+        public void commit() throws IOException {
+            flush();
+            this.out.commit();
+            close();
+        }
+    }
+
+    private static void replace(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            Files.deleteIfExists(source);
+            throw e;
+        }
+    }
+}
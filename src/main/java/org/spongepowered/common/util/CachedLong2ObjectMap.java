@@ -27,31 +27,120 @@
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import org.spongepowered.common.bridge.util.CacheKeyBridge;
 
-import javax.annotation.Nullable;
+import java.util.Arrays;
 
+/**
+ * A map of chunks keyed by their packed chunk position, which remembers the
+ * most recently retrieved chunks in a small direct mapped cache.
+ *
+ * <p>The cache slot of a chunk is picked from the low bits of its x and z
+ * coordinates, so all chunks of any 8 by 8 area can be cached at the same
+ * time. Entities, lighting and block updates crossing chunk borders usually
+ * alternate between a handful of neighbouring chunks, which all hit the
+ * cache instead of the hash map.</p>
+ *
+ * <p>A cached value is validated against its own {@link CacheKeyBridge cache
+ * key}, so a slot is a single reference which can't be observed half
+ * updated, even by lookups from other threads.</p>
+ *
+ * <p>Values have to be removed through {@link #remove(long)}, {@link #put}
+ * or {@link #clear()}, removals through iterators of the map views are not
+ * seen by the cache.</p>
+ */
 public class CachedLong2ObjectMap<V extends CacheKeyBridge> extends Long2ObjectOpenHashMap<V> {
 
     private static final long serialVersionUID = 190617916448550012L;
-    @Nullable private V lastRetrievedValue = null;
 
+    private static final int SLOT_BITS = 3;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int SLOTS = 1 << (SLOT_BITS * 2);
+
+    private CacheKeyBridge[] cachedValues = new CacheKeyBridge[SLOTS];
+    private long hits;
+    private long misses;
+
+    private static int slot(final long key) {
+        // The x coordinate is stored in the lower, the z coordinate in the upper 32 bits
+        return ((int) key & SLOT_MASK) | (((int) (key >>> 32) & SLOT_MASK) << SLOT_BITS);
+    }
+
+    @SuppressWarnings("unchecked")
     @Override
     public V get(final long key) {
-        if (this.lastRetrievedValue != null && key == this.lastRetrievedValue.bridge$getCacheKey()) {
-            return this.lastRetrievedValue;
+        final int slot = slot(key);
+        final CacheKeyBridge cached = this.cachedValues[slot];
+        if (cached != null && cached.bridge$getCacheKey() == key) {
+            this.hits++;
+            return (V) cached;
         }
-        return this.lastRetrievedValue = super.get(key);
+        this.misses++;
+        final V value = super.get(key);
+        if (value != null) {
+            this.cachedValues[slot] = value;
+        }
+        return value;
+    }
+
+    @Override
+    public V put(final long key, final V value) {
+        this.invalidate(key);
+        return super.put(key, value);
     }
 
     @Override
     public V remove(final long key) {
-        if (this.lastRetrievedValue != null && key == this.lastRetrievedValue.bridge$getCacheKey()) {
-            this.lastRetrievedValue = null;
-        }
+        this.invalidate(key);
         return super.remove(key);
     }
 
+    @Override
+    public void clear() {
+        Arrays.fill(this.cachedValues, null);
+        super.clear();
+    }
+
     @Override
     public boolean containsKey(final long key) {
         return this.get(key) != null;
     }
+
+    private void invalidate(final long key) {
+        final int slot = slot(key);
+        final CacheKeyBridge cached = this.cachedValues[slot];
+        if (cached != null && cached.bridge$getCacheKey() == key) {
+            this.cachedValues[slot] = null;
+        }
+    }
+
+    /**
+     * Gets the share of lookups since the map was created, or since the last
+     * {@link #resetStatistics()}, that were answered from the cache.
+     *
+     * @return The hit rate between 0 and 1, or 0 if there were no lookups
+     */
+    public double getHitRate() {
+        final long lookups = this.hits + this.misses;
+        return lookups == 0 ? 0 : (double) this.hits / lookups;
+    }
+
+    public long getHits() {
+        return this.hits;
+    }
+
+    public long getMisses() {
+        return this.misses;
+    }
+
+    public void resetStatistics() {
+        this.hits = 0;
+        this.misses = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public CachedLong2ObjectMap<V> clone() {
+        final CachedLong2ObjectMap<V> clone = (CachedLong2ObjectMap<V>) super.clone();
+        clone.cachedValues = this.cachedValues.clone();
+        return clone;
+    }
 }
@@ -0,0 +1,315 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.net.InetAddress;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * A path compressed binary trie which maps IPv4 and IPv6 prefixes (CIDR
+ * ranges) to values. Looking up the prefixes which contain an address takes
+ * at most one step per bit of the address, regardless of how many prefixes
+ * are stored.
+ *
+ * <p>This class is not thread safe.</p>
+ *
+ * @param <V> The type of the values
+ */
+public final class IpPrefixTrie<V> {
+
+    private final Node<V> ipv4Root = new Node<>(0, 0, 0, null);
+    private final Node<V> ipv6Root = new Node<>(0, 0, 0, null);
+    private int size;
+
+    /**
+     * Associates the value with the given prefix.
+     *
+     * @param address The address of the prefix, bits after the prefix length are ignored
+     * @param prefixLen The prefix length
+     * @param value The value
+     * @return The value previously associated with the prefix, if any
+     */
+    @Nullable
+    public V put(final InetAddress address, final int prefixLen, final V value) {
+        checkNotNull(value, "value");
+        final byte[] bytes = address.getAddress();
+        checkPrefixLength(bytes, prefixLen);
+        final long hi = high(bytes);
+        final long lo = low(bytes);
+
+        Node<V> parent = null;
+        Node<V> node = root(bytes);
+        while (true) {
+            final int common = Math.min(Math.min(commonPrefixLength(node.hi, node.lo, hi, lo), node.len), prefixLen);
+            if (common < node.len) {
+                // The new prefix diverges within (or ends before the end of) this node, split it
+                final Node<V> split = new Node<>(mask(hi, common, 0), mask(lo, common, 64), common, null);
+                split.setChild(bit(node.hi, node.lo, common), node);
+                if (common == prefixLen) {
+                    split.value = value;
+                } else {
+                    split.setChild(bit(hi, lo, common), new Node<>(mask(hi, prefixLen, 0), mask(lo, prefixLen, 64), prefixLen, value));
+                }
+                checkNotNull(parent).setChild(bit(node.hi, node.lo, parent.len), split);
+                this.size++;
+                return null;
+            }
+            if (node.len == prefixLen) {
+                final V previous = node.value;
+                node.value = value;
+                if (previous == null) {
+                    this.size++;
+                }
+                return previous;
+            }
+            final int bit = bit(hi, lo, node.len);
+            final Node<V> child = node.getChild(bit);
+            if (child == null) {
+                node.setChild(bit, new Node<>(mask(hi, prefixLen, 0), mask(lo, prefixLen, 64), prefixLen, value));
+                this.size++;
+                return null;
+            }
+            parent = node;
+            node = child;
+        }
+    }
+
+    /**
+     * Removes the value associated with the exact prefix.
+     *
+     * @param address The address of the prefix
+     * @param prefixLen The prefix length
+     * @return The removed value, if any
+     */
+    @Nullable
+    public V remove(final InetAddress address, final int prefixLen) {
+        final byte[] bytes = address.getAddress();
+        checkPrefixLength(bytes, prefixLen);
+        final long hi = high(bytes);
+        final long lo = low(bytes);
+
+        Node<V> grandParent = null;
+        Node<V> parent = null;
+        Node<V> node = root(bytes);
+        while (node.len < prefixLen) {
+            final Node<V> child = node.getChild(bit(hi, lo, node.len));
+            if (child == null || child.len > prefixLen || !matches(child, hi, lo)) {
+                return null;
+            }
+            grandParent = parent;
+            parent = node;
+            node = child;
+        }
+        if (node.len != prefixLen || node.value == null) {
+            return null;
+        }
+        final V previous = node.value;
+        node.value = null;
+        this.size--;
+        if (parent == null) {
+            // The root is never removed
+            return previous;
+        }
+
+        // Remove nodes which no longer branch or hold a value
+        if (node.zero == null && node.one == null) {
+            parent.setChild(bit(node.hi, node.lo, parent.len), null);
+            if (grandParent != null && parent.value == null) {
+                final Node<V> remaining = parent.zero != null ? parent.zero : parent.one;
+                grandParent.setChild(bit(parent.hi, parent.lo, grandParent.len), remaining);
+            }
+        } else if (node.zero == null || node.one == null) {
+            parent.setChild(bit(node.hi, node.lo, parent.len), node.zero != null ? node.zero : node.one);
+        }
+        return previous;
+    }
+
+    /**
+     * Gets the value of the longest prefix which contains the address.
+     *
+     * @param address The address
+     * @return The value, if any
+     */
+    @Nullable
+    public V getLongestMatch(final InetAddress address) {
+        final byte[] bytes = address.getAddress();
+        final long hi = high(bytes);
+        final long lo = low(bytes);
+        final int maxLen = bytes.length * 8;
+
+        V match = null;
+        Node<V> node = root(bytes);
+        while (node != null && node.len <= maxLen && matches(node, hi, lo)) {
+            if (node.value != null) {
+                match = node.value;
+            }
+            if (node.len == maxLen) {
+                break;
+            }
+            node = node.getChild(bit(hi, lo, node.len));
+        }
+        return match;
+    }
+
+    /**
+     * Passes the values of all prefixes which contain the address to the
+     * consumer, from the shortest to the longest prefix.
+     *
+     * @param address The address
+     * @param consumer The consumer
+     */
+    public void forEachMatch(final InetAddress address, final Consumer<? super V> consumer) {
+        final byte[] bytes = address.getAddress();
+        final long hi = high(bytes);
+        final long lo = low(bytes);
+        final int maxLen = bytes.length * 8;
+
+        Node<V> node = root(bytes);
+        while (node != null && node.len <= maxLen && matches(node, hi, lo)) {
+            if (node.value != null) {
+                consumer.accept(node.value);
+            }
+            if (node.len == maxLen) {
+                break;
+            }
+            node = node.getChild(bit(hi, lo, node.len));
+        }
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        this.ipv4Root.zero = this.ipv4Root.one = null;
+        this.ipv4Root.value = null;
+        this.ipv6Root.zero = this.ipv6Root.one = null;
+        this.ipv6Root.value = null;
+        this.size = 0;
+    }
+
+    private Node<V> root(final byte[] bytes) {
+        return bytes.length == 4 ? this.ipv4Root : this.ipv6Root;
+    }
+
+    private static void checkPrefixLength(final byte[] bytes, final int prefixLen) {
+        checkArgument(prefixLen >= 0 && prefixLen <= bytes.length * 8, "Invalid prefix length %s for an address of %s bits",
+                prefixLen, bytes.length * 8);
+    }
+
+    // Addresses are stored left aligned in 128 bits, IPv4 addresses only use the first 32
+
+    private static long high(final byte[] bytes) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value <<= 8;
+            if (i < bytes.length) {
+                value |= bytes[i] & 0xFF;
+            }
+        }
+        return value;
+    }
+
+    private static long low(final byte[] bytes) {
+        long value = 0;
+        for (int i = 8; i < 16; i++) {
+            value <<= 8;
+            if (i < bytes.length) {
+                value |= bytes[i] & 0xFF;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Keeps the bits of one half of an address which are within the prefix.
+     */
+    private static long mask(final long half, final int prefixLen, final int offset) {
+        final int bits = prefixLen - offset;
+        if (bits <= 0) {
+            return 0;
+        }
+        if (bits >= 64) {
+            return half;
+        }
+        return half & (-1L << (64 - bits));
+    }
+
+    private static int bit(final long hi, final long lo, final int index) {
+        return (int) (index < 64 ? hi >>> (63 - index) : lo >>> (127 - index)) & 1;
+    }
+
+    private static int commonPrefixLength(final long hi1, final long lo1, final long hi2, final long lo2) {
+        final long hi = hi1 ^ hi2;
+        if (hi != 0) {
+            return Long.numberOfLeadingZeros(hi);
+        }
+        return 64 + Long.numberOfLeadingZeros(lo1 ^ lo2);
+    }
+
+    private static boolean matches(final Node<?> node, final long hi, final long lo) {
+        return mask(hi, node.len, 0) == node.hi && mask(lo, node.len, 64) == node.lo;
+    }
+
+    private static final class Node<V> {
+
+        final long hi;
+        final long lo;
+        final int len;
+        @Nullable V value;
+        @Nullable Node<V> zero;
+        @Nullable Node<V> one;
+
+        Node(final long hi, final long lo, final int len, @Nullable final V value) {
+            this.hi = hi;
+            this.lo = lo;
+            this.len = len;
+            this.value = value;
+        }
+
+        @Nullable
+        Node<V> getChild(final int bit) {
+            return bit == 0 ? this.zero : this.one;
+        }
+
+        void setChild(final int bit, @Nullable final Node<V> child) {
+            if (bit == 0) {
+                this.zero = child;
+            } else {
+                this.one = child;
+            }
+        }
+    }
+
+}
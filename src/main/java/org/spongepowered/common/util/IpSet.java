@@ -62,7 +62,7 @@ public boolean apply(InetAddress input) {
             }
         }
         for (byte i = 0; i < overlap; ++i) {
-            if (((checkAddr[completeSegments + 1] >> (7 - i)) & 0x1) != ((address[completeSegments + 1] >> (7 - i)) & 0x1)) {
+            if (((checkAddr[completeSegments] >> (7 - i)) & 0x1) != ((address[completeSegments] >> (7 - i)) & 0x1)) {
                 return false;
             }
         }
@@ -70,25 +70,41 @@ public boolean apply(InetAddress input) {
         return true;
     }
 
+    public InetAddress getAddress() {
+        return this.addr;
+    }
+
+    public int getPrefixLength() {
+        return this.prefixLen;
+    }
+
     public static IpSet fromAddrPrefix(InetAddress address, int prefixLen) {
         validatePrefixLength(checkNotNull(address, "address"), checkNotNull(prefixLen, "prefixLen"));
         return new IpSet(address, prefixLen);
     }
 
     /**
+     * Parses a CIDR range like {@code 10.42.0.0/16} or {@code [fc00::]/8}. If
+     * no prefix length is given, the range only contains the address itself.
+     * Host bits of the address are cleared, so {@code 10.42.1.7/16} results
+     * in the same range as {@code 10.42.0.0/16}.
      *
-     * @param spec
-     * @return
+     * @param spec The range
+     * @return The ip set
      */
     public static IpSet fromCidr(String spec) {
         String addrString;
         int prefixLen;
         int slashIndex = checkNotNull(spec, "spec").lastIndexOf("/");
         if (slashIndex == -1) {
-            prefixLen = 32;
+            prefixLen = -1;
             addrString = spec;
         } else {
-            prefixLen = Integer.parseInt(spec.substring(slashIndex + 1));
+            try {
+                prefixLen = Integer.parseInt(spec.substring(slashIndex + 1));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(spec + " does not contain a valid prefix length");
+            }
             addrString = spec.substring(0, slashIndex);
         }
 
@@ -99,7 +115,40 @@ public static IpSet fromCidr(String spec) {
             throw new IllegalArgumentException(addrString + " does not contain a valid IP address");
         }
 
-        return fromAddrPrefix(addr, prefixLen);
+        if (prefixLen == -1) {
+            return fromAddrPrefix(addr, getMaxPrefixLength(addr));
+        }
+        validatePrefixLength(addr, prefixLen);
+        return new IpSet(getNetworkAddress(addr, prefixLen), prefixLen);
+    }
+
+    private static InetAddress getNetworkAddress(InetAddress address, int prefixLen) {
+        final byte[] bytes = address.getAddress();
+        for (int i = 0; i < bytes.length; i++) {
+            final int bits = prefixLen - i * 8;
+            if (bits <= 0) {
+                bytes[i] = 0;
+            } else if (bits < 8) {
+                bytes[i] &= (byte) (0xff << (8 - bits));
+            }
+        }
+        try {
+            return InetAddress.getByAddress(bytes);
+        } catch (UnknownHostException e) {
+            // Can't happen, the length is the one of a valid address
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Gets whether the given string is a CIDR range with a prefix length,
+     * rather than a single address.
+     *
+     * @param spec The string to check
+     * @return True if it contains a prefix length
+     */
+    public static boolean isRange(String spec) {
+        return spec.indexOf('/') != -1;
     }
 
     private static void validatePrefixLength(InetAddress address, int prefixLen) throws IllegalArgumentException {
@@ -72,6 +72,7 @@
 import org.spongepowered.common.bridge.entity.player.EntityPlayerMPBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.entity.player.SpongeUser;
+import org.spongepowered.common.entity.player.UserDataIO;
 import org.spongepowered.common.mixin.core.server.PlayerListAccessor;
 import org.spongepowered.common.text.SpongeTexts;
 import org.spongepowered.common.world.WorldManager;
@@ -161,6 +162,8 @@ public static void initializeConnectionToPlayer(final PlayerList playerList, fin
         }
 
         user.invalidate();
+        // The player data is read directly from the file
+        UserDataIO.flush(playerIn.getUniqueID());
         // Sponge end
 
         final NBTTagCompound nbttagcompound = playerList.readPlayerDataFromFile(playerIn);
@@ -25,7 +25,14 @@
 package org.spongepowered.common.util.gen;
 
 import com.flowpowered.math.vector.Vector3i;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.util.BitArray;
 import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.util.DiscreteTransform3;
@@ -36,6 +43,7 @@
 import org.spongepowered.api.world.extent.worker.MutableBlockVolumeWorker;
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.api.world.schematic.PaletteTypes;
+import org.spongepowered.common.bridge.world.chunk.BlockStateContainerBridge;
 import org.spongepowered.common.world.extent.MutableBlockViewDownsize;
 import org.spongepowered.common.world.extent.MutableBlockViewTransform;
 import org.spongepowered.common.world.extent.UnmodifiableBlockVolumeWrapper;
@@ -45,6 +53,7 @@
 import org.spongepowered.common.world.schematic.GlobalPalette;
 
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Objects;
 
 public class ArrayMutableBlockBuffer extends AbstractBlockBuffer implements MutableBlockVolume {
@@ -90,6 +99,37 @@ public ArrayMutableBlockBuffer(Palette<BlockState> palette, Vector3i start, Vect
         this.data = new CharBackingData(blocks);
     }
 
+    /**
+     * Creates a buffer using the given palette from global block state ids,
+     * as created by {@link org.spongepowered.common.world.extent.ExtentBufferUtil#copyToArray}.
+     * Every distinct id is only translated once.
+     *
+     * @param palette The palette
+     * @param start The start block position
+     * @param size The block size
+     * @param blocks The global block state ids, not cloned if the palette is the global palette
+     * @return The buffer
+     */
+    public static ArrayMutableBlockBuffer fromGlobalIds(Palette<BlockState> palette, Vector3i start, Vector3i size, char[] blocks) {
+        final Palette<BlockState> global = GlobalPalette.getBlockPalette();
+        if (palette == global) {
+            return new ArrayMutableBlockBuffer(palette, start, size, blocks);
+        }
+        final BitSet present = new BitSet();
+        for (char id : blocks) {
+            present.set(id);
+        }
+        final int[] remap = new int[present.length()];
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            remap[id] = palette.getOrAssign(global.get(id).orElse(AIR));
+        }
+        final BackingData data = new PackedBackingData(blocks.length, palette.getHighestId());
+        for (int i = 0; i < blocks.length; i++) {
+            data.set(i, remap[blocks[i]]);
+        }
+        return new ArrayMutableBlockBuffer(palette, data, start, size);
+    }
+
     /**
      * Does not clone!
      *
@@ -112,6 +152,16 @@ public Palette<BlockState> getPalette() {
     @Override
     public boolean setBlock(int x, int y, int z, BlockState block) {
         checkRange(x, y, z);
+        int id = getOrAssignId(block);
+        this.data.set(getIndex(x, y, z), id);
+        return true;
+    }
+
+    /**
+     * Gets the id of the block in the palette, widening the backing data or
+     * switching to the global palette if the id doesn't fit.
+     */
+    private int getOrAssignId(BlockState block) {
         int id = this.palette.getOrAssign(block);
         if (id > this.data.getMax()) {
 
@@ -138,8 +188,117 @@ public boolean setBlock(int x, int y, int z, BlockState block) {
             }
             this.data = newdata;
         }
-        this.data.set(getIndex(x, y, z), id);
-        return true;
+        return id;
+    }
+
+    /**
+     * Copies the blocks of a world into this buffer. The block at a world
+     * position is stored at that position plus the offset. Palette ids are
+     * translated once per chunk section instead of once per block. Must be
+     * called from the main thread.
+     *
+     * @param world The world
+     * @param min The minimum world position
+     * @param max The maximum world position
+     * @param offset The offset from world positions to buffer positions
+     */
+    public void copyFrom(net.minecraft.world.World world, Vector3i min, Vector3i max, Vector3i offset) {
+        checkRange(min.getX() + offset.getX(), min.getY() + offset.getY(), min.getZ() + offset.getZ());
+        checkRange(max.getX() + offset.getX(), max.getY() + offset.getY(), max.getZ() + offset.getZ());
+        // Section palette ids to buffer palette ids, -1 if not yet translated
+        final int[] localRemap = new int[1 << 8];
+        final Int2IntOpenHashMap globalRemap = new Int2IntOpenHashMap();
+        globalRemap.defaultReturnValue(-1);
+
+        for (int cx = min.getX() >> 4; cx <= max.getX() >> 4; cx++) {
+            for (int cz = min.getZ() >> 4; cz <= max.getZ() >> 4; cz++) {
+                final ExtendedBlockStorage[] storageArray = world.getChunk(cx, cz).getBlockStorageArray();
+                final int minX = Math.max(min.getX(), cx << 4);
+                final int maxX = Math.min(max.getX(), (cx << 4) + 15);
+                final int minZ = Math.max(min.getZ(), cz << 4);
+                final int maxZ = Math.min(max.getZ(), (cz << 4) + 15);
+                for (int sy = min.getY() >> 4; sy <= max.getY() >> 4; sy++) {
+                    final int minY = Math.max(min.getY(), sy << 4);
+                    final int maxY = Math.min(max.getY(), (sy << 4) + 15);
+                    final ExtendedBlockStorage storage = sy < 0 || sy >= storageArray.length ? Chunk.NULL_BLOCK_STORAGE : storageArray[sy];
+                    if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+                        fill(minX, minY, minZ, maxX, maxY, maxZ, offset, getOrAssignId(AIR));
+                        continue;
+                    }
+                    final BlockStateContainerBridge container = (BlockStateContainerBridge) storage.getData();
+                    final IBlockStatePalette sectionPalette = container.bridge$getPalette();
+                    final BitArray sectionStorage = container.bridge$getStorage();
+                    final boolean global = sectionPalette instanceof BlockStatePaletteRegistry;
+                    if (!global) {
+                        Arrays.fill(localRemap, -1);
+                    }
+                    Palette<BlockState> palette = this.palette;
+                    for (int x = minX; x <= maxX; x++) {
+                        for (int z = minZ; z <= maxZ; z++) {
+                            // Runs along the y axis are contiguous in the buffer
+                            int index = getIndex(x + offset.getX(), minY + offset.getY(), z + offset.getZ());
+                            for (int y = minY; y <= maxY; y++, index++) {
+                                final int sectionId = sectionStorage.getAt((y & 15) << 8 | (z & 15) << 4 | (x & 15));
+                                int id = global ? globalRemap.get(sectionId) : localRemap[sectionId];
+                                if (id == -1) {
+                                    final IBlockState state = sectionPalette.getBlockState(sectionId);
+                                    id = getOrAssignId(state == null ? AIR : (BlockState) state);
+                                    if (palette != this.palette) {
+                                        // Switched to the global palette, all translated ids are stale
+                                        palette = this.palette;
+                                        Arrays.fill(localRemap, -1);
+                                        globalRemap.clear();
+                                    }
+                                    if (global) {
+                                        globalRemap.put(sectionId, id);
+                                    } else {
+                                        localRemap[sectionId] = id;
+                                    }
+                                }
+                                this.data.set(index, id);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private void fill(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Vector3i offset, int id) {
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int index = getIndex(x + offset.getX(), minY + offset.getY(), z + offset.getZ());
+                for (int y = minY; y <= maxY; y++, index++) {
+                    this.data.set(index, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Visits every block in this buffer. Each palette id is only looked up
+     * once.
+     *
+     * @param visitor The visitor
+     */
+    public void forEachBlock(BlockVisitor visitor) {
+        final BlockState[] states = new BlockState[this.palette.getHighestId() + 1];
+        int index = 0;
+        for (int x = this.start.getX(); x <= this.end.getX(); x++) {
+            for (int z = this.start.getZ(); z <= this.end.getZ(); z++) {
+                for (int y = this.start.getY(); y <= this.end.getY(); y++) {
+                    final int id = this.data.get(index++);
+                    BlockState state = id < states.length ? states[id] : null;
+                    if (state == null) {
+                        state = this.palette.get(id).orElse(AIR);
+                        if (id < states.length) {
+                            states[id] = state;
+                        }
+                    }
+                    visitor.visit(x, y, z, state);
+                }
+            }
+        }
     }
 
     @Override
@@ -211,6 +370,12 @@ public int hashCode() {
         return Objects.hash(super.hashCode(), this.palette, this.data);
     }
 
+    @FunctionalInterface
+    public interface BlockVisitor {
+
+        void visit(int x, int y, int z, BlockState state);
+    }
+
     /**
      * Basically a fixed length list of non negative numbers/ids.
      */
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable copy of the blocks of a chunk section, in the packed format
+ * of its {@code BlockStateContainer}. The backing array is shared with the
+ * container until the container is next modified, at which point the
+ * container makes a copy for itself.
+ */
+public final class BlockStateContainerSnapshot {
+
+    private static final IBlockState AIR = Blocks.AIR.getDefaultState();
+
+    private final long[] data;
+    private final int bits;
+    private final long mask;
+    // Null if the ids are global block state ids
+    @Nullable private final IBlockState[] palette;
+
+    public BlockStateContainerSnapshot(final long[] data, final int bits, @Nullable final IBlockState[] palette) {
+        this.data = data;
+        this.bits = bits;
+        this.mask = (1L << bits) - 1L;
+        this.palette = palette;
+    }
+
+    /**
+     * Gets the block state at the given position within the section.
+     *
+     * @param x The x coordinate, from 0 to 15
+     * @param y The y coordinate, from 0 to 15
+     * @param z The z coordinate, from 0 to 15
+     * @return The block state
+     */
+    public IBlockState get(final int x, final int y, final int z) {
+        // Same as BitArray#getAt
+        final int bitIndex = (y << 8 | z << 4 | x) * this.bits;
+        final int startIndex = bitIndex >> 6;
+        final int endIndex = (bitIndex + this.bits - 1) >> 6;
+        final int offset = bitIndex & 63;
+        final int id;
+        if (startIndex == endIndex) {
+            id = (int) (this.data[startIndex] >>> offset & this.mask);
+        } else {
+            id = (int) ((this.data[startIndex] >>> offset | this.data[endIndex] << (64 - offset)) & this.mask);
+        }
+        final IBlockState state;
+        if (this.palette == null) {
+            state = Block.BLOCK_STATE_IDS.getByValue(id);
+        } else {
+            state = id < this.palette.length ? this.palette[id] : null;
+        }
+        return state == null ? AIR : state;
+    }
+
+    /**
+     * Gets the approximate number of bytes kept alive by this snapshot once
+     * the section it was taken from has been modified.
+     *
+     * @return The size in bytes
+     */
+    public long getRetainedSize() {
+        return this.data.length * 8L + (this.palette == null ? 0 : this.palette.length * 4L);
+    }
+
+}
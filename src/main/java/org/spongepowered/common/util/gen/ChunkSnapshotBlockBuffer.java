@@ -0,0 +1,358 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.util.DiscreteTransform3;
+import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.api.world.extent.MutableBlockVolume;
+import org.spongepowered.api.world.extent.StorageType;
+import org.spongepowered.api.world.extent.UnmodifiableBlockVolume;
+import org.spongepowered.api.world.extent.worker.BlockVolumeWorker;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.common.bridge.world.chunk.BlockStateContainerBridge;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
+import org.spongepowered.common.world.extent.ImmutableBlockViewDownsize;
+import org.spongepowered.common.world.extent.ImmutableBlockViewTransform;
+import org.spongepowered.common.world.extent.worker.SpongeBlockVolumeWorker;
+import org.spongepowered.common.world.schematic.GlobalPalette;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable block volume backed by snapshots of the chunk sections it
+ * covers. Creating one only copies the section palettes, the block storage
+ * is shared with the world until the section is next modified. Once created
+ * it's safe to read from any thread.
+ */
+public final class ChunkSnapshotBlockBuffer extends AbstractBlockBuffer implements ImmutableBlockVolume {
+
+    @SuppressWarnings("ConstantConditions")
+    private static final BlockState AIR = BlockTypes.AIR.getDefaultState();
+
+    private static final ReferenceQueue<ChunkSnapshotBlockBuffer> QUEUE = new ReferenceQueue<>();
+    private static final Set<SizeReference> LIVE = ConcurrentHashMap.newKeySet();
+    private static final AtomicLong RETAINED_SIZE = new AtomicLong();
+
+    private final int chunkMinX;
+    private final int chunkMinZ;
+    private final int sectionMinY;
+    private final int chunksX;
+    private final int chunksZ;
+    private final int sectionsY;
+    // Indexed by chunk x, chunk z and section y, null for empty sections
+    private final BlockStateContainerSnapshot[] sections;
+
+    private ChunkSnapshotBlockBuffer(final Vector3i start, final Vector3i size, final int chunkMinX, final int chunkMinZ, final int sectionMinY,
+            final int chunksX, final int chunksZ, final int sectionsY, final BlockStateContainerSnapshot[] sections) {
+        super(start, size);
+        this.chunkMinX = chunkMinX;
+        this.chunkMinZ = chunkMinZ;
+        this.sectionMinY = sectionMinY;
+        this.chunksX = chunksX;
+        this.chunksZ = chunksZ;
+        this.sectionsY = sectionsY;
+        this.sections = sections;
+    }
+
+    /**
+     * Creates an immutable copy of the blocks between the given positions,
+     * chunks that aren't loaded will be loaded. Must be called from the
+     * main thread.
+     *
+     * @param world The world
+     * @param min The minimum block position
+     * @param max The maximum block position
+     * @return The copy
+     */
+    public static ChunkSnapshotBlockBuffer copyOf(final net.minecraft.world.World world, final Vector3i min, final Vector3i max) {
+        return copyOf(world, null, min, max);
+    }
+
+    /**
+     * Creates an immutable copy of the blocks of the given chunk. Must be
+     * called from the main thread.
+     *
+     * @param chunk The chunk
+     * @param min The minimum block position
+     * @param max The maximum block position
+     * @return The copy
+     */
+    public static ChunkSnapshotBlockBuffer copyOf(final Chunk chunk, final Vector3i min, final Vector3i max) {
+        return copyOf(chunk.getWorld(), chunk, min, max);
+    }
+
+    private static ChunkSnapshotBlockBuffer copyOf(final net.minecraft.world.World world, @Nullable final Chunk known, final Vector3i min,
+            final Vector3i max) {
+        expungeStaleEntries();
+
+        final int chunkMinX = min.getX() >> 4;
+        final int chunkMinZ = min.getZ() >> 4;
+        final int chunksX = (max.getX() >> 4) - chunkMinX + 1;
+        final int chunksZ = (max.getZ() >> 4) - chunkMinZ + 1;
+        // Blocks outside of the world height are always air
+        final int sectionMinY = Math.max(0, min.getY() >> 4);
+        final int sectionMaxY = Math.min(15, max.getY() >> 4);
+        final int sectionsY = Math.max(0, sectionMaxY - sectionMinY + 1);
+
+        final BlockStateContainerSnapshot[] sections = new BlockStateContainerSnapshot[chunksX * chunksZ * sectionsY];
+        long size = 0;
+        int index = 0;
+        for (int cx = 0; cx < chunksX; cx++) {
+            for (int cz = 0; cz < chunksZ; cz++) {
+                final Chunk chunk;
+                if (known != null && known.x == chunkMinX + cx && known.z == chunkMinZ + cz) {
+                    chunk = known;
+                } else {
+                    chunk = world.getChunk(chunkMinX + cx, chunkMinZ + cz);
+                }
+                final ExtendedBlockStorage[] storageArray = chunk.getBlockStorageArray();
+                for (int sy = 0; sy < sectionsY; sy++, index++) {
+                    final ExtendedBlockStorage storage = storageArray[sectionMinY + sy];
+                    if (storage == Chunk.NULL_BLOCK_STORAGE || storage.isEmpty()) {
+                        continue;
+                    }
+                    final BlockStateContainerSnapshot snapshot = ((BlockStateContainerBridge) storage.getData()).bridge$createSnapshot();
+                    sections[index] = snapshot;
+                    size += snapshot.getRetainedSize();
+                }
+            }
+        }
+
+        final ChunkSnapshotBlockBuffer buffer = new ChunkSnapshotBlockBuffer(min, max.sub(min).add(Vector3i.ONE), chunkMinX, chunkMinZ,
+                sectionMinY, chunksX, chunksZ, sectionsY, sections);
+        LIVE.add(new SizeReference(buffer, size));
+        RETAINED_SIZE.addAndGet(size);
+        return buffer;
+    }
+
+    /**
+     * Gets the number of snapshot buffers that haven't been garbage
+     * collected yet.
+     *
+     * @return The number of snapshot buffers
+     */
+    public static int getLiveCount() {
+        expungeStaleEntries();
+        return LIVE.size();
+    }
+
+    /**
+     * Gets the approximate number of bytes that the live snapshot buffers
+     * can keep alive, this is only reached once all the sections they share
+     * with the world have been modified.
+     *
+     * @return The size in bytes
+     */
+    public static long getRetainedSize() {
+        expungeStaleEntries();
+        return RETAINED_SIZE.get();
+    }
+
+    private static void expungeStaleEntries() {
+        Reference<? extends ChunkSnapshotBlockBuffer> reference;
+        while ((reference = QUEUE.poll()) != null) {
+            final SizeReference sizeReference = (SizeReference) reference;
+            if (LIVE.remove(sizeReference)) {
+                RETAINED_SIZE.addAndGet(-sizeReference.size);
+            }
+        }
+    }
+
+    /**
+     * Copies the global block state ids of this buffer into an array, in the
+     * same layout as {@link ExtentBufferUtil#copyToArray(BlockVolume, Vector3i, Vector3i, Vector3i)}.
+     *
+     * @return The block state ids
+     */
+    public char[] copyToArray() {
+        final char[] copy = newIdArray();
+        final char airId = (char) Block.BLOCK_STATE_IDS.get(Blocks.AIR.getDefaultState());
+        for (int column = 0; column < this.chunksX * this.chunksZ; column++) {
+            copyColumn(copy, column, airId);
+        }
+        return copy;
+    }
+
+    /**
+     * Copies the global block state ids of this buffer into an array like
+     * {@link #copyToArray()}, with the chunk columns split into tasks that
+     * run on the given executor. Blocks until all of them are done.
+     *
+     * @param executor The executor to copy the chunk columns on
+     * @return The block state ids
+     */
+    public char[] copyToArray(final Executor executor) {
+        final char[] copy = newIdArray();
+        final char airId = (char) Block.BLOCK_STATE_IDS.get(Blocks.AIR.getDefaultState());
+        final int columns = this.chunksX * this.chunksZ;
+        final int tasks = Math.min(columns, Runtime.getRuntime().availableProcessors());
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[tasks];
+        for (int i = 0; i < tasks; i++) {
+            final int first = i;
+            // Each column writes to its own part of the array
+            futures[i] = CompletableFuture.runAsync(() -> {
+                for (int column = first; column < columns; column += tasks) {
+                    copyColumn(copy, column, airId);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        return copy;
+    }
+
+    private char[] newIdArray() {
+        final long memory = (long) this.size.getX() * (long) this.size.getY() * (long) this.size.getZ();
+        // Leave 8 bytes for a header used in some JVMs
+        if (memory > Integer.MAX_VALUE - 8) {
+            throw new OutOfMemoryError("Cannot copy the blocks to an array because the size limit was reached");
+        }
+        return new char[(int) memory];
+    }
+
+    private void copyColumn(final char[] copy, final int column, final char airId) {
+        final int yzSlice = this.size.getY() * this.size.getZ();
+        final int yLine = this.size.getY();
+        final int cx = this.chunkMinX + column / this.chunksZ;
+        final int cz = this.chunkMinZ + column % this.chunksZ;
+        final int minX = Math.max(this.start.getX(), cx << 4);
+        final int maxX = Math.min(this.end.getX(), (cx << 4) + 15);
+        final int minZ = Math.max(this.start.getZ(), cz << 4);
+        final int maxZ = Math.min(this.end.getZ(), (cz << 4) + 15);
+        final int sectionIndex = column * this.sectionsY;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int index = (x - this.start.getX()) * yzSlice + (z - this.start.getZ()) * yLine;
+                for (int y = this.start.getY(); y <= this.end.getY(); y++, index++) {
+                    final int sy = (y >> 4) - this.sectionMinY;
+                    final BlockStateContainerSnapshot section = sy < 0 || sy >= this.sectionsY ? null : this.sections[sectionIndex + sy];
+                    copy[index] = section == null ? airId : (char) Block.BLOCK_STATE_IDS.get(section.get(x & 15, y & 15, z & 15));
+                }
+            }
+        }
+    }
+
+    @Override
+    public Palette<BlockState> getPalette() {
+        return GlobalPalette.getBlockPalette();
+    }
+
+    @Override
+    public BlockState getBlock(final int x, final int y, final int z) {
+        checkRange(x, y, z);
+        final int sy = (y >> 4) - this.sectionMinY;
+        if (sy < 0 || sy >= this.sectionsY) {
+            return AIR;
+        }
+        final int index = (((x >> 4) - this.chunkMinX) * this.chunksZ + (z >> 4) - this.chunkMinZ) * this.sectionsY + sy;
+        final BlockStateContainerSnapshot section = this.sections[index];
+        if (section == null) {
+            return AIR;
+        }
+        return (BlockState) section.get(x & 15, y & 15, z & 15);
+    }
+
+    @Override
+    public ImmutableBlockVolume getBlockView(final Vector3i newMin, final Vector3i newMax) {
+        checkRange(newMin.getX(), newMin.getY(), newMin.getZ());
+        checkRange(newMax.getX(), newMax.getY(), newMax.getZ());
+        return new ImmutableBlockViewDownsize(this, newMin, newMax);
+    }
+
+    @Override
+    public ImmutableBlockVolume getBlockView(final DiscreteTransform3 transform) {
+        return new ImmutableBlockViewTransform(this, transform);
+    }
+
+    @Override
+    public UnmodifiableBlockVolume getUnmodifiableBlockView() {
+        return this;
+    }
+
+    @Override
+    public BlockVolumeWorker<? extends ImmutableBlockVolume> getBlockWorker() {
+        return new SpongeBlockVolumeWorker<>(this);
+    }
+
+    @Override
+    public MutableBlockVolume getBlockCopy(final StorageType type) {
+        switch (type) {
+            case STANDARD:
+                return new ArrayMutableBlockBuffer(GlobalPalette.getBlockPalette(), this.start, this.size, copyToArray());
+            case THREAD_SAFE:
+            default:
+                throw new UnsupportedOperationException(type.name());
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        final ChunkSnapshotBlockBuffer that = (ChunkSnapshotBlockBuffer) o;
+        return Arrays.equals(this.sections, that.sections);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), Arrays.hashCode(this.sections));
+    }
+
+    private static final class SizeReference extends PhantomReference<ChunkSnapshotBlockBuffer> {
+
+        final long size;
+
+        SizeReference(final ChunkSnapshotBlockBuffer referent, final long size) {
+            super(referent, QUEUE);
+            this.size = size;
+        }
+    }
+
+}
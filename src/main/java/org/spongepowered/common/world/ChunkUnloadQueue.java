@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.world.chunk.Chunk;
+
+import java.util.PriorityQueue;
+
+import javax.annotation.Nullable;
+
+/**
+ * The chunks of a world that were queued for unloading, ordered by the time
+ * they are allowed to unload at. This lets the chunk provider only look at
+ * the chunks that are due instead of all loaded chunks every tick.
+ *
+ * <p>Entries are not removed when a chunk is marked active again, they are
+ * dropped once they are polled and the chunk turns out to be no longer
+ * queued.</p>
+ */
+public final class ChunkUnloadQueue {
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+
+    /**
+     * Adds the chunk to the queue.
+     *
+     * @param chunk The chunk
+     * @param unloadTime The time in milliseconds the chunk may unload at
+     */
+    public void add(final Chunk chunk, final long unloadTime) {
+        this.queue.add(new Entry(chunk, unloadTime));
+    }
+
+    /**
+     * Removes and returns the chunk that is due first, if it is due at the
+     * given time.
+     *
+     * @param now The current time in milliseconds
+     * @return The chunk, or null if no chunk is due yet
+     */
+    @Nullable
+    public Chunk pollDue(final long now) {
+        final Entry entry = this.queue.peek();
+        if (entry == null || entry.unloadTime > now) {
+            return null;
+        }
+        this.queue.poll();
+        return entry.chunk;
+    }
+
+    public int size() {
+        return this.queue.size();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+
+        final Chunk chunk;
+        final long unloadTime;
+
+        Entry(final Chunk chunk, final long unloadTime) {
+            this.chunk = chunk;
+            this.unloadTime = unloadTime;
+        }
+
+        @Override
+        public int compareTo(final Entry other) {
+            return Long.compare(this.unloadTime, other.unloadTime);
+        }
+    }
+}
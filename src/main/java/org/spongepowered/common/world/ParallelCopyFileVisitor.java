@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Copies a directory tree, handing every file off to a shared pool of copy
+ * threads so that many (region) files are copied at once. Files are copied
+ * with {@link FileChannel#transferTo}, which lets the kernel move the data
+ * without it passing through the heap.
+ *
+ * <p>Hard links are deliberately not used, region files are modified in
+ * place, so a linked copy would not stay independent from its source.</p>
+ */
+final class ParallelCopyFileVisitor extends SimpleFileVisitor<Path> {
+
+    private static final long TRANSFER_CHUNK_SIZE = 8L * 1024 * 1024;
+
+    private static final ThreadPoolExecutor COPY_EXECUTOR;
+
+    static {
+        final int threads = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+        COPY_EXECUTOR = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("Sponge - World Copy Thread #%d").setDaemon(true).build());
+        COPY_EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final Path source;
+    private final Path target;
+    private final WorldCopyFuture progress;
+    private final List<CompletableFuture<Void>> copies = new ArrayList<>();
+
+    ParallelCopyFileVisitor(final Path source, final Path target, final WorldCopyFuture progress) {
+        this.source = source;
+        this.target = target;
+        this.progress = progress;
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+        Files.createDirectories(this.target.resolve(this.source.relativize(dir)));
+        return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+        final Path destination = this.target.resolve(this.source.relativize(file));
+        this.progress.addFile(attrs.size());
+        this.copies.add(CompletableFuture.runAsync(() -> {
+            try {
+                this.copyFile(file, destination);
+            } catch (final IOException e) {
+                throw new CompletionException(e);
+            }
+        }, COPY_EXECUTOR));
+        return FileVisitResult.CONTINUE;
+    }
+
+    private void copyFile(final Path file, final Path destination) throws IOException {
+        try (final FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                final FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final long size = in.size();
+            long position = 0;
+            while (position < size) {
+                final long transferred = in.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), out);
+                if (transferred <= 0) {
+                    // The file was truncated while copying
+                    break;
+                }
+                position += transferred;
+                this.progress.addCopiedBytes(transferred);
+            }
+        }
+        this.progress.fileCopied();
+    }
+
+    /**
+     * Waits for all files visited so far to be copied.
+     *
+     * @throws IOException If any of the files failed to copy
+     */
+    void awaitCopies() throws IOException {
+        try {
+            CompletableFuture.allOf(this.copies.toArray(new CompletableFuture<?>[0])).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
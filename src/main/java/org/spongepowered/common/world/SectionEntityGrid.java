@@ -0,0 +1,246 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import net.minecraft.util.math.MathHelper;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsGridCapability;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A uniform grid of the entities listed in one 16x16x16 chunk section, used
+ * as a broad phase for entity collision queries. The grid is kept up to date
+ * as entities are added, removed and moved, so a query only has to look at
+ * the entities in the cells its bounding box overlaps.
+ *
+ * <p>Entities are binned by the center of their bounding box. An entity is
+ * only moved to another section at the end of its update, so it can be
+ * outside of the section for a while, in which case it is put in the
+ * nearest border cell.</p>
+ */
+public final class SectionEntityGrid {
+
+    private static final int CELL_SHIFT = 2;
+    private static final int CELLS_PER_AXIS = 16 >> CELL_SHIFT;
+    private static final int MAX_CELL = CELLS_PER_AXIS - 1;
+    private static final Entity[] NO_ENTITIES = new Entity[0];
+
+    private final int originX;
+    private final int originY;
+    private final int originZ;
+    private final Entity[][] cells = new Entity[CELLS_PER_AXIS * CELLS_PER_AXIS * CELLS_PER_AXIS][];
+    private final int[] cellSizes = new int[this.cells.length];
+    private int size;
+    // Largest half extents of all entities added since the grid was last empty
+    private double maxHalfWidth;
+    private double maxHalfHeight;
+
+    public SectionEntityGrid(final int chunkX, final int sectionY, final int chunkZ) {
+        this.originX = chunkX << 4;
+        this.originY = sectionY << 4;
+        this.originZ = chunkZ << 4;
+        Arrays.fill(this.cells, NO_ENTITIES);
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Adds the entity to this grid, removing it from the grid it was
+     * previously in.
+     *
+     * @param entity The entity
+     */
+    public void add(final Entity entity) {
+        final SectionEntityGrid previous = ((CollisionsGridCapability) entity).collision$getGrid();
+        if (previous != null) {
+            previous.remove(entity);
+        }
+        this.insert(entity, this.getCell(entity.getEntityBoundingBox()));
+        this.size++;
+    }
+
+    /**
+     * Removes the entity from this grid, if it is in it.
+     *
+     * @param entity The entity
+     */
+    public void remove(final Entity entity) {
+        final CollisionsGridCapability capability = (CollisionsGridCapability) entity;
+        if (capability.collision$getGrid() != this) {
+            return;
+        }
+        this.delete(capability.collision$getGridCell(), capability.collision$getGridSlot());
+        capability.collision$setGridPosition(null, -1, -1);
+        if (--this.size == 0) {
+            this.maxHalfWidth = 0;
+            this.maxHalfHeight = 0;
+        }
+    }
+
+    /**
+     * Moves the entity to the cell matching its current bounding box. Must
+     * be called whenever the bounding box of an entity in this grid changes.
+     *
+     * @param entity The entity
+     */
+    public void update(final Entity entity) {
+        final CollisionsGridCapability capability = (CollisionsGridCapability) entity;
+        final AxisAlignedBB bb = entity.getEntityBoundingBox();
+        final int cell = this.getCell(bb);
+        if (cell == capability.collision$getGridCell()) {
+            this.updateExtents(bb);
+            return;
+        }
+        this.delete(capability.collision$getGridCell(), capability.collision$getGridSlot());
+        this.insert(entity, cell);
+    }
+
+    /**
+     * Gets the entities whose bounding boxes may intersect the given box.
+     * The bounding boxes of the returned entities still have to be checked,
+     * and the grid may not be modified while iterating.
+     *
+     * @param aabb The box
+     * @return The candidate entities
+     */
+    public Iterator<Entity> getCandidates(final AxisAlignedBB aabb) {
+        return new CandidateIterator(
+                getCell(aabb.minX - this.maxHalfWidth, this.originX), getCell(aabb.maxX + this.maxHalfWidth, this.originX),
+                getCell(aabb.minY - this.maxHalfHeight, this.originY), getCell(aabb.maxY + this.maxHalfHeight, this.originY),
+                getCell(aabb.minZ - this.maxHalfWidth, this.originZ), getCell(aabb.maxZ + this.maxHalfWidth, this.originZ));
+    }
+
+    private void insert(final Entity entity, final int cell) {
+        Entity[] entities = this.cells[cell];
+        final int slot = this.cellSizes[cell]++;
+        if (slot == entities.length) {
+            entities = Arrays.copyOf(entities, Math.max(4, slot * 2));
+            this.cells[cell] = entities;
+        }
+        entities[slot] = entity;
+        ((CollisionsGridCapability) entity).collision$setGridPosition(this, cell, slot);
+        this.updateExtents(entity.getEntityBoundingBox());
+    }
+
+    private void delete(final int cell, final int slot) {
+        final Entity[] entities = this.cells[cell];
+        final int last = --this.cellSizes[cell];
+        if (slot != last) {
+            // Fill the gap with the last entity of the cell
+            final Entity moved = entities[last];
+            entities[slot] = moved;
+            ((CollisionsGridCapability) moved).collision$setGridPosition(this, cell, slot);
+        }
+        entities[last] = null;
+    }
+
+    private void updateExtents(final AxisAlignedBB bb) {
+        this.maxHalfWidth = Math.max(this.maxHalfWidth, Math.max(bb.maxX - bb.minX, bb.maxZ - bb.minZ) / 2);
+        this.maxHalfHeight = Math.max(this.maxHalfHeight, (bb.maxY - bb.minY) / 2);
+    }
+
+    private int getCell(final AxisAlignedBB bb) {
+        final int x = getCell((bb.minX + bb.maxX) / 2, this.originX);
+        final int y = getCell((bb.minY + bb.maxY) / 2, this.originY);
+        final int z = getCell((bb.minZ + bb.maxZ) / 2, this.originZ);
+        return getIndex(x, y, z);
+    }
+
+    private static int getCell(final double coordinate, final int origin) {
+        final int cell = MathHelper.floor(coordinate - origin) >> CELL_SHIFT;
+        return cell < 0 ? 0 : cell > MAX_CELL ? MAX_CELL : cell;
+    }
+
+    private static int getIndex(final int x, final int y, final int z) {
+        return (y * CELLS_PER_AXIS + z) * CELLS_PER_AXIS + x;
+    }
+
+    private final class CandidateIterator implements Iterator<Entity> {
+
+        private final int minX;
+        private final int maxX;
+        private final int maxY;
+        private final int minZ;
+        private final int maxZ;
+        private int x;
+        private int y;
+        private int z;
+        private int cell;
+        private int slot;
+
+        CandidateIterator(final int minX, final int maxX, final int minY, final int maxY, final int minZ, final int maxZ) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.minZ = minZ;
+            this.maxZ = maxZ;
+            this.x = minX;
+            this.y = minY;
+            this.z = minZ;
+            this.cell = getIndex(minX, minY, minZ);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (this.slot >= SectionEntityGrid.this.cellSizes[this.cell]) {
+                if (++this.x > this.maxX) {
+                    this.x = this.minX;
+                    if (++this.z > this.maxZ) {
+                        this.z = this.minZ;
+                        if (++this.y > this.maxY) {
+                            // Stay on the last cell, it has been fully visited
+                            this.y = this.maxY;
+                            this.x = this.maxX;
+                            this.z = this.maxZ;
+                            return false;
+                        }
+                    }
+                }
+                this.cell = getIndex(this.x, this.y, this.z);
+                this.slot = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public Entity next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return SectionEntityGrid.this.cells[this.cell][this.slot++];
+        }
+    }
+
+}
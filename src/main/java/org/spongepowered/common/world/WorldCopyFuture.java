@@ -0,0 +1,92 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import org.spongepowered.api.world.storage.WorldProperties;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The future returned by {@link WorldManager#copyWorld}, which additionally
+ * exposes the progress of the copy.
+ */
+public final class WorldCopyFuture extends CompletableFuture<Optional<WorldProperties>> {
+
+    private final AtomicLong totalBytes = new AtomicLong();
+    private final AtomicLong copiedBytes = new AtomicLong();
+    private final AtomicInteger totalFiles = new AtomicInteger();
+    private final AtomicInteger copiedFiles = new AtomicInteger();
+
+    void addFile(final long size) {
+        this.totalFiles.incrementAndGet();
+        this.totalBytes.addAndGet(size);
+    }
+
+    void addCopiedBytes(final long bytes) {
+        this.copiedBytes.addAndGet(bytes);
+    }
+
+    void fileCopied() {
+        this.copiedFiles.incrementAndGet();
+    }
+
+    /**
+     * Gets the total amount of bytes to copy, this grows while the world
+     * folder is still being scanned.
+     *
+     * @return The total amount of bytes
+     */
+    public long getTotalBytes() {
+        return this.totalBytes.get();
+    }
+
+    public long getCopiedBytes() {
+        return this.copiedBytes.get();
+    }
+
+    public int getTotalFiles() {
+        return this.totalFiles.get();
+    }
+
+    public int getCopiedFiles() {
+        return this.copiedFiles.get();
+    }
+
+    /**
+     * Gets the progress of the copy, between 0 and 1.
+     *
+     * @return The progress
+     */
+    public double getProgress() {
+        if (this.isDone()) {
+            return 1.0;
+        }
+        final long total = this.totalBytes.get();
+        return total == 0 ? 0.0 : Math.min(1.0, (double) this.copiedBytes.get() / total);
+    }
+}
@@ -62,7 +62,6 @@
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.event.SpongeEventFactory;
 import org.spongepowered.api.event.world.UnloadWorldEvent;
-import org.spongepowered.api.util.file.CopyFileVisitor;
 import org.spongepowered.api.util.file.DeleteFileVisitor;
 import org.spongepowered.api.util.file.ForwardingFileVisitor;
 import org.spongepowered.api.world.DimensionTypes;
@@ -1143,13 +1142,21 @@ public static CompletableFuture<Optional<WorldProperties>> copyWorld(final World
                 throw new RuntimeException(e);
             }
 
-            ((MinecraftServerBridge) SpongeImpl.getServer()).bridge$setSaveEnabled(false);
+            // Only pause saving of the copied world, without touching the /save-off state
+            ((WorldServerBridge) worldServer).bridge$beginWorldCopy();
         }
 
-        final CompletableFuture<Optional<WorldProperties>> future = SpongeImpl.getScheduler().submitAsyncTask(new CopyWorldTask(info, copyName));
-        if (worldServer != null) { // World was loaded
-            future.thenRun(() -> ((MinecraftServerBridge) SpongeImpl.getServer()).bridge$setSaveEnabled(true));
-        }
+        final WorldCopyFuture future = new WorldCopyFuture();
+        SpongeImpl.getScheduler().submitAsyncTask(new CopyWorldTask(info, copyName, future)).whenComplete((result, throwable) -> {
+            if (worldServer != null) { // World was loaded
+                SpongeImpl.getScheduler().callSync(() -> ((WorldServerBridge) worldServer).bridge$endWorldCopy());
+            }
+            if (throwable != null) {
+                future.completeExceptionally(throwable);
+            } else {
+                future.complete(result);
+            }
+        });
         return future;
     }
 
@@ -1234,10 +1241,12 @@ private static class CopyWorldTask implements Callable<Optional<WorldProperties>
 
         private final WorldInfo oldInfo;
         private final String newName;
+        private final WorldCopyFuture progress;
 
-        CopyWorldTask(final WorldInfo info, final String newName) {
+        CopyWorldTask(final WorldInfo info, final String newName, final WorldCopyFuture progress) {
             this.oldInfo = info;
             this.newName = newName;
+            this.progress = progress;
         }
 
         @Override
@@ -1249,9 +1258,13 @@ public Optional<WorldProperties> call() throws Exception {
                 return Optional.empty();
             }
 
-            FileVisitor<Path> visitor = new CopyFileVisitor(newWorldFolder);
+            final long start = System.currentTimeMillis();
             if (((WorldInfoBridge) this.oldInfo).bridge$getDimensionId() == 0) {
                 oldWorldFolder = getCurrentSavesDirectory().get();
+            }
+            final ParallelCopyFileVisitor copyVisitor = new ParallelCopyFileVisitor(oldWorldFolder, newWorldFolder, this.progress);
+            FileVisitor<Path> visitor = copyVisitor;
+            if (((WorldInfoBridge) this.oldInfo).bridge$getDimensionId() == 0) {
                 visitor = new ForwardingFileVisitor<Path>(visitor) {
 
                     private boolean root = true;
@@ -1269,7 +1282,14 @@ public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttribut
             }
 
             // Copy the world folder
-            Files.walkFileTree(oldWorldFolder, visitor);
+            try {
+                Files.walkFileTree(oldWorldFolder, visitor);
+            } finally {
+                // Never leave copies running past the end of the task, they may still be writing the new world folder
+                copyVisitor.awaitCopies();
+            }
+            SpongeImpl.getLogger().info("Copied world '{}' to '{}' ({} files, {} bytes) in {} ms", this.oldInfo.getWorldName(), this.newName,
+                    this.progress.getCopiedFiles(), this.progress.getCopiedBytes(), System.currentTimeMillis() - start);
 
             final WorldInfo info = new WorldInfo(this.oldInfo);
             info.setWorldName(this.newName);
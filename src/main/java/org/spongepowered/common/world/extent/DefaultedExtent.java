@@ -173,11 +173,17 @@ default ArchetypeVolume createArchetypeVolume(Vector3i min, Vector3i max, final
         final int ox = origin.getX();
         final int oy = origin.getY();
         final int oz = origin.getZ();
-        final MutableBlockVolume backing = new ArrayMutableBlockBuffer(min.sub(origin), max.sub(min).add(1, 1, 1));
+        final ArrayMutableBlockBuffer backing = new ArrayMutableBlockBuffer(min.sub(origin), max.sub(min).add(1, 1, 1));
+        final net.minecraft.world.World world = ExtentBufferUtil.getBackingWorld(this);
+        if (world != null) {
+            backing.copyFrom(world, min, max, origin.mul(-1));
+        }
         final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
         volume.getBlockWorker().iterate((extent, x, y, z) -> {
-            final BlockState state = extent.getBlock(x, y, z);
-            backing.setBlock(x - ox, y - oy, z - oz, state);
+            if (world == null) {
+                final BlockState state = extent.getBlock(x, y, z);
+                backing.setBlock(x - ox, y - oy, z - oz, state);
+            }
             final Optional<TileEntity> tile = extent.getTileEntity(x, y, z);
             if (tile.isPresent()) {
                 final TileEntityArchetype archetype = tile.get().createArchetype();
@@ -32,6 +32,10 @@
 import org.spongepowered.api.world.biome.VirtualBiomeType;
 import org.spongepowered.api.world.extent.BiomeVolume;
 import org.spongepowered.api.world.extent.BlockVolume;
+import org.spongepowered.api.world.extent.Extent;
+import org.spongepowered.common.SpongeImplHooks;
+
+import javax.annotation.Nullable;
 
 public class ExtentBufferUtil {
 
@@ -75,4 +79,29 @@ public static char[] copyToArray(BlockVolume volume, Vector3i min, Vector3i max,
         return copy;
     }
 
+    /**
+     * Gets the world that holds the blocks of the extent, if the blocks of
+     * the world can be read directly from the current thread. Block
+     * positions in the extent are the same as in the world.
+     *
+     * @param extent The extent
+     * @return The world, or null
+     */
+    @Nullable
+    public static net.minecraft.world.World getBackingWorld(Extent extent) {
+        if (!SpongeImplHooks.isMainThread()) {
+            return null;
+        }
+        if (extent instanceof ExtentViewDownsize) {
+            extent = ((ExtentViewDownsize) extent).getBackingExtent();
+        }
+        if (extent instanceof net.minecraft.world.World) {
+            return (net.minecraft.world.World) extent;
+        }
+        if (extent instanceof net.minecraft.world.chunk.Chunk) {
+            return ((net.minecraft.world.chunk.Chunk) extent).getWorld();
+        }
+        return null;
+    }
+
 }
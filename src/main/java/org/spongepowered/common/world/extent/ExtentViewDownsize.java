@@ -59,7 +59,10 @@
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.Extent;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.util.gen.ChunkSnapshotBlockBuffer;
 
 import java.util.Collection;
 import java.util.Iterator;
@@ -500,6 +503,29 @@ public Optional<Entity> restoreSnapshot(EntitySnapshot snapshot, Vector3d positi
         return this.extent.restoreSnapshot(snapshot, position);
     }
 
+    /**
+     * Gets the extent this is a view of, block positions are the same in
+     * both.
+     *
+     * @return The backing extent
+     */
+    public Extent getBackingExtent() {
+        return this.extent;
+    }
+
+    @Override
+    public ImmutableBlockVolume getImmutableBlockCopy() {
+        if (SpongeImplHooks.isMainThread()) {
+            if (this.extent instanceof net.minecraft.world.World) {
+                return ChunkSnapshotBlockBuffer.copyOf((net.minecraft.world.World) this.extent, this.blockMin, this.blockMax);
+            }
+            if (this.extent instanceof net.minecraft.world.chunk.Chunk) {
+                return ChunkSnapshotBlockBuffer.copyOf((net.minecraft.world.chunk.Chunk) this.extent, this.blockMin, this.blockMax);
+            }
+        }
+        return DefaultedExtent.super.getImmutableBlockCopy();
+    }
+
     @Override
     public Extent getExtentView(Vector3i newMin, Vector3i newMax) {
         checkBlockRange(newMin.getX(), newMin.getY(), newMin.getZ());
@@ -24,36 +24,46 @@
  */
 package org.spongepowered.common.world.schematic;
 
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import org.spongepowered.api.CatalogType;
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.api.world.schematic.PaletteType;
 
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Collection;
 import java.util.Objects;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 public class BimapPalette<T extends CatalogType> implements Palette<T> {
 
     private static final int DEFAULT_ALLOCATION_SIZE = 64;
-
-    private final BiMap<Integer, T> ids;
-    private final BiMap<T, Integer> idsr;
+    // Ids from here on are kept in the sparse map instead of the id table
+    private static final int MAX_DENSE_ID = 1 << 16;
+
+    // Indexed by id, null for unassigned ids
+    private Object[] ids;
+    // Assigned ids of at least MAX_DENSE_ID, only created when needed
+    @Nullable private Int2ObjectMap<T> sparseIds;
+    private final Object2IntMap<T> idsr;
     private final BitSet allocation = new BitSet(DEFAULT_ALLOCATION_SIZE);
     private final PaletteType<T> paletteType;
     private int maxId = 0;
 
     public BimapPalette(PaletteType<T> paletteType) {
-        this.ids = HashBiMap.create();
-        this.idsr = this.ids.inverse();
-        this.paletteType = paletteType;
+        this(paletteType, DEFAULT_ALLOCATION_SIZE);
     }
 
     public BimapPalette(PaletteType<T> paletteType, int expectedSize) {
-        this.ids = HashBiMap.create(expectedSize);
-        this.idsr = this.ids.inverse();
+        this.ids = new Object[Math.min(Math.max(expectedSize, 1), MAX_DENSE_ID)];
+        this.idsr = new Object2IntOpenHashMap<>(expectedSize);
+        this.idsr.defaultReturnValue(-1);
         this.paletteType = paletteType;
     }
 
@@ -69,51 +79,113 @@ public int getHighestId() {
 
     @Override
     public Optional<Integer> get(T state) {
-        return Optional.ofNullable(this.idsr.get(state));
+        final int id = this.idsr.getInt(state);
+        return id == -1 ? Optional.empty() : Optional.of(id);
     }
 
     @Override
     public int getOrAssign(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.getInt(state);
+        if (id == -1) {
             int next = this.allocation.nextClearBit(0);
+            if (next >= MAX_DENSE_ID && this.sparseIds != null) {
+                while (this.sparseIds.containsKey(next)) {
+                    next++;
+                }
+            }
             if (this.maxId < next) {
                 this.maxId = next;
             }
-            this.allocation.set(next);
-            this.ids.put(next, state);
+            if (next < MAX_DENSE_ID) {
+                this.allocation.set(next);
+            }
+            put(next, state);
             return next;
         }
         return id;
     }
 
+    @SuppressWarnings("unchecked")
     @Override
     public Optional<T> get(int id) {
-        return Optional.ofNullable(this.ids.get(id));
+        if (id < 0) {
+            return Optional.empty();
+        }
+        if (id >= this.ids.length) {
+            return id >= MAX_DENSE_ID && this.sparseIds != null ? Optional.ofNullable(this.sparseIds.get(id)) : Optional.empty();
+        }
+        return Optional.ofNullable((T) this.ids[id]);
     }
 
     public void assign(T state, int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("negative id: " + id);
+        }
+        final int current = this.idsr.getInt(state);
+        if (current != -1 && current != id) {
+            throw new IllegalArgumentException("value already present: " + state);
+        }
         if (this.maxId < id) {
             this.maxId = id;
         }
-        this.allocation.set(id);
-        this.ids.put(id, state);
+        if (id < MAX_DENSE_ID) {
+            this.allocation.set(id);
+        }
+        put(id, state);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void put(int id, T state) {
+        final T previous;
+        if (id >= MAX_DENSE_ID) {
+            if (this.sparseIds == null) {
+                this.sparseIds = new Int2ObjectOpenHashMap<>();
+            }
+            previous = this.sparseIds.put(id, state);
+        } else {
+            if (id >= this.ids.length) {
+                this.ids = Arrays.copyOf(this.ids, Math.min(Math.max(id + 1, this.ids.length * 2), MAX_DENSE_ID));
+            }
+            previous = (T) this.ids[id];
+            this.ids[id] = state;
+        }
+        if (previous != null) {
+            this.idsr.removeInt(previous);
+        }
+        this.idsr.put(state, id);
     }
 
     @Override
     public boolean remove(T state) {
-        Integer id = this.idsr.get(state);
-        if (id == null) {
+        final int id = this.idsr.removeInt(state);
+        if (id == -1) {
             return false;
         }
-        this.allocation.clear(id);
+        if (id >= MAX_DENSE_ID) {
+            this.sparseIds.remove(id);
+        } else {
+            this.allocation.clear(id);
+            this.ids[id] = null;
+        }
         if (id == this.maxId) {
-            this.maxId = this.allocation.previousSetBit(this.maxId);
+            this.maxId = highestSparseId();
+            if (this.maxId == -1) {
+                this.maxId = this.allocation.previousSetBit(Math.min(id, MAX_DENSE_ID - 1));
+            }
         }
-        this.ids.remove(id);
         return true;
     }
 
+    private int highestSparseId() {
+        int highest = -1;
+        if (this.sparseIds != null) {
+            for (final IntIterator it = this.sparseIds.keySet().iterator(); it.hasNext(); ) {
+                highest = Math.max(highest, it.nextInt());
+            }
+        }
+        return highest;
+    }
+
     @Override
     public Collection<T> getEntries() {
         return this.idsr.keySet();
@@ -129,13 +201,13 @@ public boolean equals(Object o) {
         }
         BimapPalette<?> that = (BimapPalette<?>) o;
         return this.maxId == that.maxId &&
-               this.ids.equals(that.ids) &&
+               this.idsr.equals(that.idsr) &&
                this.allocation.equals(that.allocation) &&
                this.paletteType.equals(that.paletteType);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.ids, this.allocation, this.paletteType, this.maxId);
+        return Objects.hash(this.idsr, this.allocation, this.paletteType, this.maxId);
     }
 }
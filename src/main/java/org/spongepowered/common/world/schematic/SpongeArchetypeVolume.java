@@ -50,6 +50,7 @@
 import org.spongepowered.api.world.schematic.Palette;
 import org.spongepowered.common.entity.SpongeEntityArchetype;
 import org.spongepowered.common.util.gen.AbstractBlockBuffer;
+import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 import org.spongepowered.common.world.extent.worker.SpongeMutableBlockVolumeWorker;
 
 import java.util.ArrayList;
@@ -127,9 +128,15 @@ public MutableBlockVolumeWorker<? extends ArchetypeVolume> getBlockWorker() {
 
     @Override
     public void apply(Location<World> location, BlockChangeFlag changeFlag) {
-        this.backing.getBlockWorker().iterate((v, x, y, z) -> {
-            location.getExtent().setBlock(x + location.getBlockX(), y + location.getBlockY(), z + location.getBlockZ(), v.getBlock(x, y, z), changeFlag);
-        });
+        final World world = location.getExtent();
+        final int ox = location.getBlockX();
+        final int oy = location.getBlockY();
+        final int oz = location.getBlockZ();
+        if (this.backing instanceof ArrayMutableBlockBuffer) {
+            ((ArrayMutableBlockBuffer) this.backing).forEachBlock((x, y, z, block) -> world.setBlock(x + ox, y + oy, z + oz, block, changeFlag));
+        } else {
+            this.backing.getBlockWorker().iterate((v, x, y, z) -> world.setBlock(x + ox, y + oy, z + oz, v.getBlock(x, y, z), changeFlag));
+        }
         for (Vector3i pos : this.tiles.keySet()) {
             TileEntityArchetype archetype = this.tiles.get(pos);
             archetype.apply(location.add(pos));
@@ -29,6 +29,7 @@
 import com.flowpowered.math.vector.Vector3d;
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.Maps;
+import net.minecraft.util.math.BlockPos;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.tileentity.TileEntity;
 import org.spongepowered.api.block.tileentity.TileEntityArchetype;
@@ -51,9 +52,13 @@
 import org.spongepowered.api.world.schematic.PaletteTypes;
 import org.spongepowered.api.world.schematic.Schematic;
 import org.spongepowered.api.world.schematic.Schematic.Builder;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.util.VecHelper;
 import org.spongepowered.common.util.gen.ArrayMutableBlockBuffer;
 import org.spongepowered.common.util.gen.ByteArrayMutableBiomeBuffer;
+import org.spongepowered.common.util.gen.ChunkSnapshotBlockBuffer;
+import org.spongepowered.common.world.extent.ExtentBufferUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -63,6 +68,8 @@
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -255,20 +262,21 @@ public Schematic build() throws IllegalArgumentException {
             min = this.backingVolume.getBlockMin();
             size = this.backingVolume.getBlockSize();
         }
-        if (this.metadata == null) {
-            this.metadata = DataContainer.createNew();
-        }
-        for (Map.Entry<String, Object> entry : this.metaValues.entrySet()) {
-            this.metadata.set(DataQuery.of('.', entry.getKey()), entry.getValue());
-        }
+        applyMetaValues();
         if (this.tiles == null) {
             if (this.volume == null) {
                 if (this.view != null) {
-                    final MutableBlockVolume volume = new ArrayMutableBlockBuffer(this.blockPalette, min, size);
+                    final ArrayMutableBlockBuffer volume = new ArrayMutableBlockBuffer(this.blockPalette, min, size);
+                    final net.minecraft.world.World world = ExtentBufferUtil.getBackingWorld(this.view);
+                    if (world != null) {
+                        volume.copyFrom(world, min, this.view.getBlockMax(), Vector3i.ZERO);
+                    }
                     Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
                     final MutableBlockVolumeWorker<? extends Extent> blockWorker = this.view.getBlockWorker();
                     blockWorker.iterate((v, x, y, z) -> {
-                        volume.setBlock(x, y, z, v.getBlock(x, y, z));
+                        if (world == null) {
+                            volume.setBlock(x, y, z, v.getBlock(x, y, z));
+                        }
                         Optional<TileEntity> tile = v.getTileEntity(x, y, z);
                         tile.map(TileEntity::createArchetype)
                             .ifPresent(archetype -> tiles.put(new Vector3i(x, y, z), archetype));
@@ -301,15 +309,7 @@ public Schematic build() throws IllegalArgumentException {
             if (this.volume != null) {
                 this.entities = this.volume.getEntityArchetypes();
             } else if (this.view != null && this.backingVolume != null) {
-                this.entities = this.view.getIntersectingEntities(
-                        this.backingVolume.getBlockMin().toDouble(),
-                        this.backingVolume.getBlockMax().add(1, 1,1).toDouble())
-                    .stream()
-                    .map(EntityUniverse.EntityHit::getEntity)
-                    .filter(Objects::nonNull)
-                    .filter(entity -> !(entity instanceof Player) || !SpongeImplHooks.isFakePlayer((net.minecraft.entity.Entity) entity))
-                    .map(Entity::createArchetype)
-                    .collect(Collectors.toList());
+                this.entities = captureEntities(this.view, this.backingVolume.getBlockMin(), this.backingVolume.getBlockMax());
             } else {
                 this.entities = Collections.emptyList();
             }
@@ -321,4 +321,100 @@ public Schematic build() throws IllegalArgumentException {
         return new SpongeSchematic(this);
     }
 
+    /**
+     * Builds a schematic of a world view like {@link #build()}, but only
+     * reads the world on the calling thread. The blocks are captured as
+     * chunk section snapshots, the palette and block data are then built
+     * in parallel on the async scheduler. Tile entities, biomes and entities
+     * are still captured on the calling thread. The builder must not be
+     * used until the future is complete.
+     *
+     * <p>Falls back to {@link #build()} when not building from a world view
+     * on the main thread.</p>
+     *
+     * @return The future schematic
+     */
+    public CompletableFuture<Schematic> buildAsync() {
+        final net.minecraft.world.World world = this.view == null ? null : ExtentBufferUtil.getBackingWorld(this.view);
+        if (world == null || this.volume != null || this.tiles != null || this.backingVolume != null
+                || !SpongeImplHooks.isMainThread()) {
+            // The chunk sections can only be captured safely on the main thread
+            return CompletableFuture.completedFuture(build());
+        }
+        if (this.blockPalette == null) {
+            this.blockPalette = this.blockType.create();
+        }
+        final Vector3i min = this.view.getBlockMin();
+        final Vector3i max = this.view.getBlockMax();
+        final Vector3i size = this.view.getBlockSize();
+        applyMetaValues();
+
+        final ChunkSnapshotBlockBuffer blocks = ChunkSnapshotBlockBuffer.copyOf(world, min, max);
+        final Map<Vector3i, TileEntityArchetype> tiles = Maps.newHashMap();
+        for (int cx = min.getX() >> 4; cx <= max.getX() >> 4; cx++) {
+            for (int cz = min.getZ() >> 4; cz <= max.getZ() >> 4; cz++) {
+                for (net.minecraft.tileentity.TileEntity tile : world.getChunk(cx, cz).getTileEntityMap().values()) {
+                    final BlockPos pos = tile.getPos();
+                    if (!tile.isInvalid() && VecHelper.inBounds(pos.getX(), pos.getY(), pos.getZ(), min, max)) {
+                        tiles.put(VecHelper.toVector3i(pos), ((TileEntity) tile).createArchetype());
+                    }
+                }
+            }
+        }
+        final BiomeType[] biomeColumns;
+        if (this.biomeVolume == null) {
+            biomeColumns = new BiomeType[size.getX() * size.getZ()];
+            int i = 0;
+            for (int x = min.getX(); x <= max.getX(); x++) {
+                for (int z = min.getZ(); z <= max.getZ(); z++) {
+                    biomeColumns[i++] = this.view.getBiome(x, 0, z);
+                }
+            }
+        } else {
+            biomeColumns = null;
+        }
+        if (this.entities == null) {
+            this.entities = captureEntities(this.view, min, max);
+        }
+
+        final Executor executor = SpongeImpl.getScheduler().createAsyncExecutor(SpongeImpl.getPlugin());
+        return CompletableFuture.supplyAsync(() -> {
+            this.backingVolume = ArrayMutableBlockBuffer.fromGlobalIds(this.blockPalette, min, size, blocks.copyToArray(executor));
+            this.tiles = tiles;
+            if (biomeColumns != null) {
+                // See build() for why the volume is flattened
+                final MutableBiomeVolume biomes = new ByteArrayMutableBiomeBuffer(
+                        this.biomePalette, min.mul(1, 0, 1), new Vector3i(size.getX(), 1, size.getZ()));
+                int i = 0;
+                for (int x = min.getX(); x <= max.getX(); x++) {
+                    for (int z = min.getZ(); z <= max.getZ(); z++) {
+                        biomes.setBiome(x, 0, z, biomeColumns[i++]);
+                    }
+                }
+                this.biomeVolume = biomes;
+            }
+            this.biomePalette = GlobalPalette.getBiomePalette();
+            return new SpongeSchematic(this);
+        }, executor);
+    }
+
+    private void applyMetaValues() {
+        if (this.metadata == null) {
+            this.metadata = DataContainer.createNew();
+        }
+        for (Map.Entry<String, Object> entry : this.metaValues.entrySet()) {
+            this.metadata.set(DataQuery.of('.', entry.getKey()), entry.getValue());
+        }
+    }
+
+    private static List<EntityArchetype> captureEntities(Extent view, Vector3i min, Vector3i max) {
+        return view.getIntersectingEntities(min.toDouble(), max.add(1, 1, 1).toDouble())
+            .stream()
+            .map(EntityUniverse.EntityHit::getEntity)
+            .filter(Objects::nonNull)
+            .filter(entity -> !(entity instanceof Player) || !SpongeImplHooks.isFakePlayer((net.minecraft.entity.Entity) entity))
+            .map(Entity::createArchetype)
+            .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,138 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.spongepowered.api.data.DataContainer;
+import org.spongepowered.api.data.DataQuery;
+import org.spongepowered.api.data.DataView;
+
+import java.util.Map;
+import java.util.Optional;
+
+public class MemoryDataViewTest {
+
+    private static final DataQuery NESTED = DataQuery.of("foo", "bar", "baz");
+
+    @Test
+    public void testNestedSetAndGet() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(NESTED, 5);
+
+        assertEquals(Optional.of(5), container.getInt(NESTED));
+        assertTrue(container.contains(NESTED));
+        assertTrue(container.contains(DataQuery.of("foo", "bar")));
+        assertFalse(container.contains(DataQuery.of("foo", "baz")));
+        assertFalse(container.contains(DataQuery.of("foo", "bar", "baz", "qux")));
+
+        final DataView view = container.getView(DataQuery.of("foo", "bar")).get();
+        assertEquals(DataQuery.of("foo", "bar"), view.getCurrentPath());
+        assertEquals(container, view.getContainer());
+        assertEquals(Optional.of(5), view.getInt(DataQuery.of("baz")));
+    }
+
+    @Test
+    public void testOverwriteValueWithView() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("foo"), "value");
+        container.set(DataQuery.of("foo", "bar"), 1);
+
+        assertEquals(Optional.of(1), container.getInt(DataQuery.of("foo", "bar")));
+    }
+
+    @Test
+    public void testRemove() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(NESTED, 5);
+        container.remove(NESTED);
+
+        assertFalse(container.contains(NESTED));
+        assertTrue(container.contains(DataQuery.of("foo", "bar")));
+    }
+
+    @Test
+    public void testArraysAreCloned() {
+        final int[] array = {1, 2, 3};
+        final DataContainer container = new MemoryDataContainer();
+        container.set(NESTED, array);
+        array[0] = 4;
+
+        final int[] stored = (int[]) container.get(NESTED).get();
+        assertArrayEquals(new int[] {1, 2, 3}, stored);
+        stored[1] = 5;
+        assertArrayEquals(new int[] {1, 2, 3}, (int[]) container.get(NESTED).get());
+    }
+
+    @Test
+    public void testSetViewCopiesNestedValues() {
+        final DataContainer source = new MemoryDataContainer();
+        source.set(DataQuery.of("a"), 1);
+        source.set(DataQuery.of("b", "c"), "d");
+
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("copy"), source);
+
+        assertEquals(Optional.of(1), container.getInt(DataQuery.of("copy", "a")));
+        assertEquals(Optional.of("d"), container.getString(DataQuery.of("copy", "b", "c")));
+        assertEquals(DataQuery.of("copy", "b"), container.getView(DataQuery.of("copy", "b")).get().getCurrentPath());
+    }
+
+    @Test
+    public void testDeepValues() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("a"), 1);
+        container.set(DataQuery.of("b", "c"), 2);
+        container.set(DataQuery.of("b", "d", "e"), 3);
+
+        final Map<DataQuery, Object> values = container.getValues(true);
+        assertEquals(ImmutableList.copyOf(container.getKeys(true)), ImmutableList.copyOf(values.keySet()));
+        assertEquals(1, values.get(DataQuery.of("a")));
+        assertEquals(ImmutableMap.of(DataQuery.of("c"), 2, DataQuery.of("d"), ImmutableMap.of(DataQuery.of("e"), 3),
+                DataQuery.of("d", "e"), 3), values.get(DataQuery.of("b")));
+        assertEquals(3, values.get(DataQuery.of("b", "d", "e")));
+    }
+
+    @Test
+    public void testCopy() {
+        final DataContainer container = new MemoryDataContainer();
+        container.set(DataQuery.of("a"), 1);
+        container.set(NESTED, new byte[] {1});
+
+        final DataContainer copy = container.copy();
+        assertNotSame(container, copy);
+        assertEquals(Optional.of(1), copy.getInt(DataQuery.of("a")));
+        assertArrayEquals(new byte[] {1}, (byte[]) copy.get(NESTED).get());
+        assertEquals(container.getKeys(true), copy.getKeys(true));
+    }
+
+}
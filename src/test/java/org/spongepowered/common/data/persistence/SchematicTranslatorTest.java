@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.data.persistence;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.api.data.persistence.InvalidDataException;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SchematicTranslatorTest {
+
+    private static byte[] write(final int... ids) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (final int id : ids) {
+            SchematicTranslator.writeIdToBuffer(buffer, id);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Test
+    public void testReadVarInts() {
+        final int[] ids = {0, 1, 127, 128, 300, 16384, Integer.MAX_VALUE, 5};
+        Assert.assertArrayEquals(ids, SchematicTranslator.readVarInts(write(ids), ids.length));
+    }
+
+    @Test
+    public void testReadFewerVarInts() {
+        // Missing values are left to the caller
+        final int[] ids = {4, 200, 3};
+        Assert.assertArrayEquals(ids, SchematicTranslator.readVarInts(write(ids), 10));
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void testLeftoverBytes() {
+        SchematicTranslator.readVarInts(write(4, 200, 3), 2);
+    }
+
+    @Test(expected = InvalidDataException.class)
+    public void testTruncatedVarInt() {
+        final byte[] data = write(1, 300);
+        SchematicTranslator.readVarInts(Arrays.copyOf(data, data.length - 1), 2);
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.item.inventory.query;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.common.item.inventory.lens.Lens;
+import org.spongepowered.common.item.inventory.lens.MutableLensSet;
+import org.spongepowered.common.item.inventory.lens.impl.collections.MutableLensSetImpl;
+
+import java.util.Arrays;
+
+public class QueryPlanCacheTest {
+
+    private static Lens lens(final Lens... children) {
+        final Lens lens = Mockito.mock(Lens.class);
+        Mockito.when(lens.getChildren()).thenReturn(Arrays.asList(children));
+        return lens;
+    }
+
+    private static MutableLensSet setOf(final Lens... lenses) {
+        final MutableLensSet set = new MutableLensSetImpl(true);
+        for (final Lens lens : lenses) {
+            set.add(lens);
+        }
+        return set;
+    }
+
+    @Test
+    public void testRootMatch() {
+        final Lens root = lens(lens(), lens());
+        final MutableLensSet resolved = QueryPlanCache.Plan.of(root, setOf(root)).resolve(root);
+        Assert.assertEquals(1, resolved.size());
+        Assert.assertSame(root, resolved.getLens(0));
+    }
+
+    @Test
+    public void testNestedMatch() {
+        final Lens deep = lens();
+        final Lens middle = lens(lens(), null, deep);
+        final Lens other = lens();
+        final Lens root = lens(other, middle);
+        final QueryPlanCache.Plan plan = QueryPlanCache.Plan.of(root, setOf(deep, other));
+        Assert.assertFalse(plan.matchesRoot());
+        final MutableLensSet resolved = plan.resolve(root);
+        Assert.assertEquals(2, resolved.size());
+        Assert.assertSame(deep, resolved.getLens(0));
+        Assert.assertSame(other, resolved.getLens(1));
+    }
+
+    @Test
+    public void testNoMatch() {
+        final Lens root = lens(lens(), lens(lens()));
+        Assert.assertTrue(QueryPlanCache.Plan.of(root, setOf()).resolve(root).isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testMatchOutsideOfTree() {
+        final Lens root = lens(lens());
+        QueryPlanCache.Plan.of(root, setOf(lens()));
+    }
+
+    @Test
+    public void testPlanIsCached() {
+        final Lens match = lens();
+        final Lens root = lens(match);
+        final SpongeQueryOperation<?>[] operations = {Mockito.mock(SpongeQueryOperation.class)};
+        final QueryPlanCache.Plan plan = QueryPlanCache.getPlan(root, operations, () -> QueryPlanCache.Plan.of(root, setOf(match)));
+        Assert.assertSame(plan, QueryPlanCache.getPlan(root, operations, () -> {
+            throw new AssertionError("Planned twice");
+        }));
+
+        // Modifying the tree drops the plan
+        QueryPlanCache.invalidate(root);
+        Assert.assertNotSame(plan, QueryPlanCache.getPlan(root, operations, () -> QueryPlanCache.Plan.of(root, setOf(match))));
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.util;
+
+import net.minecraft.util.ClassInheritanceMultiMap;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.common.bridge.util.ClassInheritanceMultiMapBridge;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.Arrays;
+import java.util.List;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class ClassInheritanceMultiMapMixinTest {
+
+    @SuppressWarnings("unchecked")
+    private static ClassInheritanceMultiMapBridge<Object> bridge(final ClassInheritanceMultiMap<Object> map) {
+        return (ClassInheritanceMultiMapBridge<Object>) map;
+    }
+
+    @Test
+    public void testValuesOfType() {
+        final ClassInheritanceMultiMap<Object> map = new ClassInheritanceMultiMap<>(Object.class);
+        map.add("a");
+        map.add(1);
+        map.add("b");
+        Assert.assertEquals(Arrays.asList("a", "b"), bridge(map).bridge$getValuesOfType(String.class));
+        Assert.assertEquals(Arrays.asList("a", 1, "b"), bridge(map).bridge$getValues());
+    }
+
+    @Test
+    public void testValuesOfAbsentType() {
+        final ClassInheritanceMultiMap<Object> map = new ClassInheritanceMultiMap<>(Object.class);
+        map.add("a");
+        final List<Double> values = bridge(map).bridge$getValuesOfType(Double.class);
+        Assert.assertNotNull(values);
+        Assert.assertTrue(values.isEmpty());
+
+        // The lookup for the type is known now, later values are still found
+        map.add(1.0D);
+        Assert.assertEquals(Arrays.asList(1.0D), bridge(map).bridge$getValuesOfType(Double.class));
+    }
+
+    @Test
+    public void testValuesOfTypeOnEmptyMap() {
+        final ClassInheritanceMultiMap<Object> map = new ClassInheritanceMultiMap<>(Object.class);
+        Assert.assertTrue(bridge(map).bridge$getValuesOfType(String.class).isEmpty());
+    }
+
+}
@@ -0,0 +1,134 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.core.world.chunk;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.util.BitArray;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.NibbleArray;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.spongepowered.common.bridge.world.chunk.BlockStateContainerBridge;
+import org.spongepowered.common.util.gen.BlockStateContainerSnapshot;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class BlockStateContainerMixinTest {
+
+    private static BlockStateContainerBridge bridge(final BlockStateContainer container) {
+        return (BlockStateContainerBridge) container;
+    }
+
+    @Test
+    public void testSnapshotUnchangedAfterSet() {
+        final IBlockState stone = Blocks.STONE.getDefaultState();
+        final IBlockState dirt = Blocks.DIRT.getDefaultState();
+        final BlockStateContainer container = new BlockStateContainer();
+        container.set(0, 0, 0, stone);
+        container.set(15, 15, 15, stone);
+
+        final BlockStateContainerSnapshot snapshot = bridge(container).bridge$createSnapshot();
+        container.set(0, 0, 0, dirt);
+        container.set(1, 0, 0, dirt);
+
+        Assert.assertEquals(stone, snapshot.get(0, 0, 0));
+        Assert.assertEquals(Blocks.AIR.getDefaultState(), snapshot.get(1, 0, 0));
+        Assert.assertEquals(stone, snapshot.get(15, 15, 15));
+        Assert.assertEquals(dirt, container.get(0, 0, 0));
+        Assert.assertEquals(dirt, container.get(1, 0, 0));
+    }
+
+    @Test
+    public void testSnapshotUnchangedAfterResize() {
+        final IBlockState stone = Blocks.STONE.getDefaultState();
+        final BlockStateContainer container = new BlockStateContainer();
+        container.set(0, 0, 0, stone);
+        final int bits = bridge(container).bridge$getBits();
+
+        final BlockStateContainerSnapshot snapshot = bridge(container).bridge$createSnapshot();
+        // Add states until the palette has to be resized
+        final Iterator<IBlockState> states = Block.BLOCK_STATE_IDS.iterator();
+        for (int i = 1; bridge(container).bridge$getBits() == bits; i++) {
+            container.set(i & 15, 0, i >> 4, states.next());
+        }
+        container.set(0, 0, 0, Blocks.DIRT.getDefaultState());
+
+        Assert.assertNotEquals(bits, bridge(container).bridge$getBits());
+        Assert.assertEquals(stone, snapshot.get(0, 0, 0));
+        for (int i = 1; i < 16; i++) {
+            Assert.assertEquals(Blocks.AIR.getDefaultState(), snapshot.get(i, 0, 0));
+        }
+        Assert.assertEquals(Blocks.DIRT.getDefaultState(), container.get(0, 0, 0));
+    }
+
+    @Test
+    public void testSnapshotUnchangedAfterSetDataFromNBT() {
+        final IBlockState stone = Blocks.STONE.getDefaultState();
+        final BlockStateContainer container = new BlockStateContainer();
+        container.set(0, 0, 0, stone);
+
+        final BlockStateContainerSnapshot snapshot = bridge(container).bridge$createSnapshot();
+        final byte[] ids = new byte[4096];
+        Arrays.fill(ids, (byte) Block.getIdFromBlock(Blocks.DIRT));
+        container.setDataFromNBT(ids, new NibbleArray(), null);
+
+        Assert.assertEquals(stone, snapshot.get(0, 0, 0));
+        Assert.assertEquals(Blocks.AIR.getDefaultState(), snapshot.get(1, 0, 0));
+        Assert.assertEquals(Blocks.DIRT.getDefaultState(), container.get(0, 0, 0));
+        Assert.assertEquals(Blocks.DIRT.getDefaultState(), container.get(1, 0, 0));
+    }
+
+    @Test
+    public void testStorageCopiedOnce() {
+        final IBlockState stone = Blocks.STONE.getDefaultState();
+        final BlockStateContainer container = new BlockStateContainer();
+        container.set(0, 0, 0, stone);
+
+        // Without a snapshot the storage is modified in place
+        final BitArray original = bridge(container).bridge$getStorage();
+        container.set(1, 0, 0, stone);
+        Assert.assertSame(original, bridge(container).bridge$getStorage());
+
+        bridge(container).bridge$createSnapshot();
+        container.set(2, 0, 0, stone);
+        final BitArray copy = bridge(container).bridge$getStorage();
+        Assert.assertNotSame(original, copy);
+        container.set(3, 0, 0, stone);
+        container.set(4, 0, 0, stone);
+        Assert.assertSame(copy, bridge(container).bridge$getStorage());
+
+        // A new snapshot shares the copy, so it's copied again
+        bridge(container).bridge$createSnapshot();
+        container.set(5, 0, 0, stone);
+        Assert.assertNotSame(copy, bridge(container).bridge$getStorage());
+    }
+
+}
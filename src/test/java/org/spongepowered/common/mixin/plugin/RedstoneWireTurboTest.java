@@ -0,0 +1,84 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.mixin.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import net.minecraft.util.math.BlockPos;
+import org.junit.Test;
+
+public class RedstoneWireTurboTest {
+
+    private static final BlockPos[] POSITIONS = {
+            new BlockPos(0, 0, 0),
+            new BlockPos(17, 64, -33),
+            new BlockPos(-30000000, 255, 29999999),
+            new BlockPos(29999999, 1, -30000000),
+    };
+
+    @Test
+    public void testPackMatchesBlockPos() {
+        for (final BlockPos pos : POSITIONS) {
+            assertEquals(pos.toLong(), RedstoneWireTurbo.pack(pos.getX(), pos.getY(), pos.getZ()));
+        }
+    }
+
+    /*
+     * The update order of the turbo depends on the order of these offsets,
+     * which has to stay the same as the order of the neighbor positions
+     * visited by World.notifyNeighborsOfStateChange, minus duplicates.
+     */
+    @Test
+    public void testNeighborOrder() {
+        for (final BlockPos pos : POSITIONS) {
+            final BlockPos[] expected = expectedNeighbors(pos);
+            for (int i = 0; i < 24; i++) {
+                final long key = RedstoneWireTurbo.pack(
+                        pos.getX() + RedstoneWireTurbo.neighbor_x[i],
+                        pos.getY() + RedstoneWireTurbo.neighbor_y[i],
+                        pos.getZ() + RedstoneWireTurbo.neighbor_z[i]);
+                assertEquals("neighbor " + i + " of " + pos, expected[i].toLong(), key);
+            }
+        }
+    }
+
+    private static BlockPos[] expectedNeighbors(final BlockPos pos) {
+        final BlockPos west = pos.west();
+        final BlockPos east = pos.east();
+        final BlockPos down = pos.down();
+        final BlockPos up = pos.up();
+        final BlockPos north = pos.north();
+        final BlockPos south = pos.south();
+        return new BlockPos[] {
+                west, east, down, up, north, south,
+                west.west(), west.down(), west.up(), west.north(), west.south(),
+                east.east(), east.down(), east.up(), east.north(), east.south(),
+                down.down(), down.north(), down.south(),
+                up.up(), up.north(), up.south(),
+                north.north(), south.south(),
+        };
+    }
+
+}
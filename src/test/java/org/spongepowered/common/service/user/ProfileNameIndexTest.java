@@ -0,0 +1,109 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.service.user;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.profile.GameProfile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+
+public class ProfileNameIndexTest {
+
+    @Test
+    public void testMatchIgnoresCase() {
+        final ProfileNameIndex index = new ProfileNameIndex();
+        final GameProfile notch = profile("Notch");
+        final GameProfile jeb = profile("jeb_");
+        index.put(notch);
+        index.put(jeb);
+
+        // Queries are lowercased by SpongeUserStorageService#match
+        assertEquals(1, match(index, "NOT").size());
+        assertTrue(match(index, "not").contains(notch));
+        assertTrue(match(index, "JEB").contains(jeb));
+        assertTrue(match(index, "dinnerbone").isEmpty());
+    }
+
+    @Test
+    public void testSharedNames() {
+        final ProfileNameIndex index = new ProfileNameIndex();
+        final GameProfile first = profile("Steve");
+        final GameProfile second = profile("steve");
+        index.put(first);
+        index.put(second);
+
+        assertEquals(2, match(index, "steve").size());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    public void testRename() {
+        final ProfileNameIndex index = new ProfileNameIndex();
+        final GameProfile profile = profile("Alex");
+        index.put(profile);
+        index.put(profile(profile.getUniqueId(), "Herobrine"));
+
+        assertTrue(match(index, "alex").isEmpty());
+        assertEquals(1, match(index, "hero").size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testRemove() {
+        final ProfileNameIndex index = new ProfileNameIndex();
+        final GameProfile profile = profile("Alex");
+        index.put(profile);
+        index.remove(profile.getUniqueId());
+
+        assertFalse(index.contains(profile.getUniqueId()));
+        assertTrue(match(index, "alex").isEmpty());
+    }
+
+    private static List<GameProfile> match(final ProfileNameIndex index, final String query) {
+        final List<GameProfile> matches = new ArrayList<>();
+        index.forEachMatch(query.toLowerCase(Locale.ROOT), matches::add);
+        return matches;
+    }
+
+    private static GameProfile profile(final String name) {
+        return profile(UUID.randomUUID(), name);
+    }
+
+    private static GameProfile profile(final UUID uniqueId, final String name) {
+        final GameProfile profile = Mockito.mock(GameProfile.class);
+        Mockito.when(profile.getUniqueId()).thenReturn(uniqueId);
+        Mockito.when(profile.getName()).thenReturn(Optional.of(name));
+        return profile;
+    }
+}
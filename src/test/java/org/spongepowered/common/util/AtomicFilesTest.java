@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+public class AtomicFilesTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path newTarget() throws IOException {
+        final Path target = this.folder.getRoot().toPath().resolve("target.txt");
+        Files.write(target, "original".getBytes(StandardCharsets.UTF_8));
+        return target;
+    }
+
+    private void assertOnlyTarget(final Path target) throws IOException {
+        // No temporary files are left behind
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            Assert.assertEquals(1, files.count());
+        }
+    }
+
+    private static void writeAndFail(final Writer writer) throws IOException {
+        writer.write("partial");
+        writer.flush();
+        throw new IllegalStateException("Serialization failed");
+    }
+
+    @Test
+    public void testCommit() throws IOException {
+        final Path target = newTarget();
+        try (AtomicFiles.AtomicWriter writer = AtomicFiles.newBufferedWriter(target)) {
+            writer.write("updated");
+            Assert.assertEquals("original", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+            writer.commit();
+        }
+        Assert.assertEquals("updated", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertOnlyTarget(target);
+    }
+
+    @Test
+    public void testCloseWithoutCommit() throws IOException {
+        final Path target = newTarget();
+        try (OutputStream out = AtomicFiles.newOutputStream(target)) {
+            out.write("partial".getBytes(StandardCharsets.UTF_8));
+        }
+        Assert.assertEquals("original", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertOnlyTarget(target);
+    }
+
+    @Test
+    public void testFailureMidWrite() throws IOException {
+        final Path target = newTarget();
+        try (AtomicFiles.AtomicWriter writer = AtomicFiles.newBufferedWriter(target)) {
+            writeAndFail(writer);
+            writer.commit();
+        } catch (final IllegalStateException expected) {
+            // Expected
+        }
+        Assert.assertEquals("original", new String(Files.readAllBytes(target), StandardCharsets.UTF_8));
+        assertOnlyTarget(target);
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import net.minecraft.util.math.ChunkPos;
+import org.junit.Test;
+import org.spongepowered.common.bridge.util.CacheKeyBridge;
+
+public class CachedLong2ObjectMapTest {
+
+    private static final long KEY = ChunkPos.asLong(3, -5);
+    // Maps to the same cache slot as KEY
+    private static final long COLLIDING_KEY = ChunkPos.asLong(11, 3);
+
+    @Test
+    public void testGet() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        final Value value = new Value(KEY);
+        map.put(KEY, value);
+
+        assertSame(value, map.get(KEY));
+        assertSame(value, map.get(KEY));
+        assertNull(map.get(COLLIDING_KEY));
+        assertEquals(1, map.getHits());
+        assertEquals(2, map.getMisses());
+    }
+
+    @Test
+    public void testCollidingKeys() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        final Value value = new Value(KEY);
+        final Value colliding = new Value(COLLIDING_KEY);
+        map.put(KEY, value);
+        map.put(COLLIDING_KEY, colliding);
+
+        assertSame(value, map.get(KEY));
+        assertSame(colliding, map.get(COLLIDING_KEY));
+        assertSame(value, map.get(KEY));
+        assertTrue(map.containsKey(COLLIDING_KEY));
+    }
+
+    @Test
+    public void testRemoveInvalidates() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        map.put(KEY, new Value(KEY));
+        map.get(KEY);
+        map.remove(KEY);
+
+        assertNull(map.get(KEY));
+        assertFalse(map.containsKey(KEY));
+    }
+
+    @Test
+    public void testPutInvalidates() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        map.put(KEY, new Value(KEY));
+        map.get(KEY);
+        final Value replacement = new Value(KEY);
+        map.put(KEY, replacement);
+
+        assertSame(replacement, map.get(KEY));
+    }
+
+    @Test
+    public void testClearInvalidates() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        map.put(KEY, new Value(KEY));
+        map.get(KEY);
+        map.clear();
+
+        assertNull(map.get(KEY));
+    }
+
+    @Test
+    public void testHitRate() {
+        final CachedLong2ObjectMap<Value> map = new CachedLong2ObjectMap<>();
+        map.put(KEY, new Value(KEY));
+        map.get(KEY);
+        map.get(KEY);
+
+        assertEquals(0.5, map.getHitRate(), 0);
+        // Reading the hit rate doesn't reset it
+        assertEquals(0.5, map.getHitRate(), 0);
+        map.resetStatistics();
+        assertEquals(0, map.getHitRate(), 0);
+    }
+
+    private static final class Value implements CacheKeyBridge {
+
+        private final long key;
+
+        Value(final long key) {
+            this.key = key;
+        }
+
+        @Override
+        public long bridge$getCacheKey() {
+            return this.key;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class IpPrefixTrieTest {
+
+    private static void put(IpPrefixTrie<String> trie, String cidr) {
+        IpSet set = IpSet.fromCidr(cidr);
+        trie.put(set.getAddress(), set.getPrefixLength(), cidr);
+    }
+
+    private static String remove(IpPrefixTrie<String> trie, String cidr) {
+        IpSet set = IpSet.fromCidr(cidr);
+        return trie.remove(set.getAddress(), set.getPrefixLength());
+    }
+
+    private static List<String> matches(IpPrefixTrie<String> trie, String address) throws UnknownHostException {
+        List<String> matches = new ArrayList<>();
+        trie.forEachMatch(InetAddress.getByName(address), matches::add);
+        return matches;
+    }
+
+    @Test
+    public void testLongestMatch() throws UnknownHostException {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        put(trie, "10.0.0.0/8");
+        put(trie, "10.42.0.0/16");
+        put(trie, "10.42.2.5/32");
+        assertEquals("10.42.2.5/32", trie.getLongestMatch(InetAddress.getByName("10.42.2.5")));
+        assertEquals("10.42.0.0/16", trie.getLongestMatch(InetAddress.getByName("10.42.2.6")));
+        assertEquals("10.0.0.0/8", trie.getLongestMatch(InetAddress.getByName("10.43.2.5")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("11.42.2.5")));
+        assertEquals(Arrays.asList("10.0.0.0/8", "10.42.0.0/16", "10.42.2.5/32"), matches(trie, "10.42.2.5"));
+    }
+
+    @Test
+    public void testSeparateAddressFamilies() throws UnknownHostException {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        put(trie, "0.0.0.0/0");
+        put(trie, "[fc00::]/8");
+        assertEquals(Arrays.asList("0.0.0.0/0"), matches(trie, "10.42.2.5"));
+        assertEquals(Arrays.asList("[fc00::]/8"), matches(trie, "fcc0:c0b2:2a14:7afc:5216:1854:1a2f:2c13"));
+        assertTrue(matches(trie, "::dead:beef").isEmpty());
+    }
+
+    @Test
+    public void testNonByteAlignedPrefixes() throws UnknownHostException {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        put(trie, "[2064:45:300::]/40");
+        put(trie, "172.16.0.0/12");
+        assertEquals("[2064:45:300::]/40", trie.getLongestMatch(InetAddress.getByName("2064:45:310::cafe")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("2064:45:410::cafe")));
+        assertEquals("172.16.0.0/12", trie.getLongestMatch(InetAddress.getByName("172.31.255.255")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("172.32.0.0")));
+    }
+
+    @Test
+    public void testRemove() throws UnknownHostException {
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        put(trie, "10.0.0.0/8");
+        put(trie, "10.42.0.0/16");
+        put(trie, "10.43.0.0/16");
+        assertEquals(3, trie.size());
+        assertNull(remove(trie, "10.44.0.0/16"));
+        assertEquals("10.0.0.0/8", remove(trie, "10.0.0.0/8"));
+        assertEquals("10.42.0.0/16", trie.getLongestMatch(InetAddress.getByName("10.42.2.5")));
+        assertNull(trie.getLongestMatch(InetAddress.getByName("10.44.2.5")));
+        assertEquals("10.42.0.0/16", remove(trie, "10.42.0.0/16"));
+        assertEquals("10.43.0.0/16", trie.getLongestMatch(InetAddress.getByName("10.43.2.5")));
+        assertEquals(1, trie.size());
+    }
+
+    @Test
+    public void testMatchesIpSets() throws UnknownHostException {
+        Random random = new Random(0);
+        IpPrefixTrie<String> trie = new IpPrefixTrie<>();
+        List<IpSet> sets = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            byte[] address = new byte[4];
+            random.nextBytes(address);
+            String cidr = InetAddress.getByAddress(address).getHostAddress() + "/" + random.nextInt(33);
+            sets.add(IpSet.fromCidr(cidr));
+            put(trie, cidr);
+        }
+        for (int i = 0; i < 10000; i++) {
+            byte[] bytes = new byte[4];
+            random.nextBytes(bytes);
+            InetAddress address = InetAddress.getByAddress(bytes);
+            boolean expected = false;
+            for (IpSet set : sets) {
+                expected |= set.apply(address);
+            }
+            assertEquals(address.toString(), expected, trie.getLongestMatch(address) != null);
+        }
+    }
+}
@@ -24,6 +24,7 @@
  */
 package org.spongepowered.common.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -61,4 +62,12 @@ public void testFullLengthSets() throws UnknownHostException {
         assertTrue(specv4.apply(InetAddress.getByName("10.0.0.1")));
         assertFalse(specv4.apply(InetAddress.getByName("10.0.0.2")));
     }
+
+    @Test
+    public void testHostBitsAreCleared() throws UnknownHostException {
+        assertEquals("10.42.0.0/16", IpSet.fromCidr("10.42.1.7/16").toString());
+        assertEquals("10.42.0.0/20", IpSet.fromCidr("10.42.15.255/20").toString());
+        assertEquals("2064:45:300:0:0:0:0:0/40", IpSet.fromCidr("[2064:45:3ff::1]/40").toString());
+        assertTrue(IpSet.fromCidr("10.42.1.7/16").apply(InetAddress.getByName("10.42.200.1")));
+    }
 }
@@ -0,0 +1,160 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.util.gen;
+
+import com.flowpowered.math.vector.Vector3i;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.world.schematic.Palette;
+import org.spongepowered.api.world.schematic.PaletteType;
+import org.spongepowered.common.world.schematic.BimapPalette;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compares the blocks read from chunk section snapshots, as done by
+ * SpongeSchematicBuilder#buildAsync, with the blocks copied directly from
+ * the chunks, as done by SpongeSchematicBuilder#build.
+ */
+@RunWith(LaunchWrapperTestRunner.class)
+public class ChunkSnapshotBlockBufferTest {
+
+    private static final Vector3i MIN = new Vector3i(-20, 5, 3);
+    private static final Vector3i MAX = new Vector3i(25, 60, 40);
+    private static final Vector3i SIZE = MAX.sub(MIN).add(Vector3i.ONE);
+
+    private final Random random = new Random(0xB10C5L);
+    private final List<IBlockState> states = new ArrayList<>();
+    private World world;
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        Block.BLOCK_STATE_IDS.forEach(this.states::add);
+        this.world = Mockito.mock(World.class);
+        for (int cx = MIN.getX() >> 4; cx <= MAX.getX() >> 4; cx++) {
+            for (int cz = MIN.getZ() >> 4; cz <= MAX.getZ() >> 4; cz++) {
+                final ExtendedBlockStorage[] storageArray = new ExtendedBlockStorage[16];
+                for (int sy = 0; sy < 4; sy++) {
+                    // Leave some sections empty, use few states in some and
+                    // enough states in others to need the global palette
+                    final int kind = this.random.nextInt(4);
+                    if (kind != 0) {
+                        storageArray[sy] = this.newSection(sy, kind == 1 ? 5 : kind == 2 ? 40 : this.states.size());
+                    }
+                }
+                final Chunk chunk = Mockito.mock(Chunk.class);
+                Mockito.when(chunk.getBlockStorageArray()).thenReturn(storageArray);
+                Mockito.when(this.world.getChunk(cx, cz)).thenReturn(chunk);
+            }
+        }
+        this.executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private ExtendedBlockStorage newSection(final int sectionY, final int stateCount) {
+        final ExtendedBlockStorage storage = new ExtendedBlockStorage(sectionY << 4, true);
+        for (int i = 0; i < 4096; i++) {
+            storage.set(i & 15, i >> 8, i >> 4 & 15, this.states.get(this.random.nextInt(stateCount)));
+        }
+        return storage;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Palette<BlockState> newPalette() {
+        return new BimapPalette<>((PaletteType<BlockState>) Mockito.mock(PaletteType.class));
+    }
+
+    // What SpongeSchematicBuilder#build does
+    private ArrayMutableBlockBuffer copyFromWorld() {
+        final ArrayMutableBlockBuffer buffer = new ArrayMutableBlockBuffer(newPalette(), MIN, SIZE);
+        buffer.copyFrom(this.world, MIN, MAX, Vector3i.ZERO);
+        return buffer;
+    }
+
+    private static void assertSameBlocks(final ArrayMutableBlockBuffer expected, final ArrayMutableBlockBuffer actual) {
+        for (int x = MIN.getX(); x <= MAX.getX(); x++) {
+            for (int y = MIN.getY(); y <= MAX.getY(); y++) {
+                for (int z = MIN.getZ(); z <= MAX.getZ(); z++) {
+                    Assert.assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testCopyToArray() {
+        final ArrayMutableBlockBuffer expected = this.copyFromWorld();
+        final ChunkSnapshotBlockBuffer snapshot = ChunkSnapshotBlockBuffer.copyOf(this.world, MIN, MAX);
+        assertSameBlocks(expected, ArrayMutableBlockBuffer.fromGlobalIds(newPalette(), MIN, SIZE, snapshot.copyToArray()));
+    }
+
+    @Test
+    public void testCopyToArrayOnExecutor() {
+        final ArrayMutableBlockBuffer expected = this.copyFromWorld();
+        final ChunkSnapshotBlockBuffer snapshot = ChunkSnapshotBlockBuffer.copyOf(this.world, MIN, MAX);
+        final char[] ids = snapshot.copyToArray(this.executor);
+        Assert.assertArrayEquals(snapshot.copyToArray(), ids);
+        assertSameBlocks(expected, ArrayMutableBlockBuffer.fromGlobalIds(newPalette(), MIN, SIZE, ids));
+    }
+
+    @Test
+    public void testCopyToArrayAfterModification() {
+        final ArrayMutableBlockBuffer expected = this.copyFromWorld();
+        final ChunkSnapshotBlockBuffer snapshot = ChunkSnapshotBlockBuffer.copyOf(this.world, MIN, MAX);
+        // The world keeps changing while the schematic is built
+        for (int cx = MIN.getX() >> 4; cx <= MAX.getX() >> 4; cx++) {
+            for (int cz = MIN.getZ() >> 4; cz <= MAX.getZ() >> 4; cz++) {
+                for (final ExtendedBlockStorage storage : this.world.getChunk(cx, cz).getBlockStorageArray()) {
+                    if (storage != null) {
+                        storage.set(this.random.nextInt(16), this.random.nextInt(16), this.random.nextInt(16), Blocks.STONE.getDefaultState());
+                    }
+                }
+            }
+        }
+        assertSameBlocks(expected, ArrayMutableBlockBuffer.fromGlobalIds(newPalette(), MIN, SIZE, snapshot.copyToArray(this.executor)));
+    }
+
+}
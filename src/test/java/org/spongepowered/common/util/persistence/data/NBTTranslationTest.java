@@ -24,10 +24,16 @@
  */
 package org.spongepowered.common.util.persistence.data;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
 
+import net.minecraft.nbt.NBTTagByteArray;
 import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.nbt.NBTTagDouble;
+import net.minecraft.nbt.NBTTagIntArray;
+import net.minecraft.nbt.NBTTagList;
+import net.minecraft.nbt.NBTTagString;
 import org.junit.Test;
 import org.mockito.Mockito;
 import org.spongepowered.api.data.DataContainer;
@@ -35,8 +41,10 @@
 import org.spongepowered.api.data.DataQuery;
 import org.spongepowered.api.data.DataView;
 import org.spongepowered.api.data.persistence.DataBuilder;
+import org.spongepowered.common.data.MemoryDataContainer;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 public class NBTTranslationTest {
@@ -63,4 +71,77 @@ public void testDotContainerKeys() {
         assertEquals(container, translatedContainer);
     }
 
+    @Test
+    public void testPrimitivesRoundTrip() {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("byte"), (byte) 1)
+                .set(DataQuery.of("short"), (short) 2)
+                .set(DataQuery.of("int"), 3)
+                .set(DataQuery.of("long"), 4L)
+                .set(DataQuery.of("float"), 5.0F)
+                .set(DataQuery.of("double"), 6.0D)
+                .set(DataQuery.of("string"), "seven")
+                .set(DataQuery.of("boolean"), true)
+                .set(DataQuery.of("list"), Arrays.asList("a", "b"))
+                .set(DataQuery.of("nested", "view", "value"), false);
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertEquals(1, compound.getByte("boolean" + NbtTranslator.BOOLEAN_IDENTIFIER));
+        assertEquals(0, compound.getCompoundTag("nested").getCompoundTag("view").getByte("value" + NbtTranslator.BOOLEAN_IDENTIFIER));
+
+        final DataView translatedContainer = NbtTranslator.getInstance().translateFrom(compound);
+        assertEquals(container.getValues(true), translatedContainer.getValues(true));
+    }
+
+    @Test
+    public void testArraysRoundTrip() {
+        final DataContainer container = new MemoryDataContainer(DataView.SafetyMode.NO_DATA_CLONED)
+                .set(DataQuery.of("bytes"), new byte[] {1, 2, 3})
+                .set(DataQuery.of("ints"), new int[] {4, 5, 6})
+                .set(DataQuery.of("nested", "bytes"), new byte[] {7});
+        final NBTTagCompound compound = NbtTranslator.getInstance().translateData(container);
+        assertArrayEquals(new byte[] {1, 2, 3}, compound.getByteArray("bytes"));
+        assertArrayEquals(new int[] {4, 5, 6}, compound.getIntArray("ints"));
+        assertArrayEquals(new byte[] {7}, compound.getCompoundTag("nested").getByteArray("bytes"));
+
+        final DataView translatedContainer = NbtTranslator.getInstance().translateFrom(compound);
+        assertArrayEquals(new byte[] {1, 2, 3}, (byte[]) translatedContainer.get(DataQuery.of("bytes")).get());
+        assertArrayEquals(new int[] {4, 5, 6}, (int[]) translatedContainer.get(DataQuery.of("ints")).get());
+        assertArrayEquals(new byte[] {7}, (byte[]) translatedContainer.get(DataQuery.of("nested", "bytes")).get());
+    }
+
+    @Test
+    public void testCompoundRoundTrip() {
+        final NBTTagCompound compound = new NBTTagCompound();
+        compound.setByte("byte", (byte) 1);
+        compound.setShort("short", (short) 2);
+        compound.setInteger("int", 3);
+        compound.setLong("long", 4L);
+        compound.setFloat("float", 5.0F);
+        compound.setDouble("double", 6.0D);
+        compound.setString("string", "seven");
+        compound.setBoolean("boolean" + NbtTranslator.BOOLEAN_IDENTIFIER, true);
+        compound.setTag("bytes", new NBTTagByteArray(new byte[] {1, 2, 3}));
+        compound.setTag("ints", new NBTTagIntArray(new int[] {4, 5, 6}));
+        final NBTTagList strings = new NBTTagList();
+        strings.appendTag(new NBTTagString("a"));
+        strings.appendTag(new NBTTagString("b"));
+        compound.setTag("strings", strings);
+        final NBTTagList doubles = new NBTTagList();
+        doubles.appendTag(new NBTTagDouble(1.0D));
+        doubles.appendTag(new NBTTagDouble(2.0D));
+        compound.setTag("doubles", doubles);
+        final NBTTagCompound inner = new NBTTagCompound();
+        inner.setInteger("value", 8);
+        final NBTTagList compounds = new NBTTagList();
+        compounds.appendTag(inner.copy());
+        compound.setTag("compounds", compounds);
+        compound.setTag("inner", inner);
+
+        final DataView container = NbtTranslator.getInstance().translateFrom(compound);
+        assertEquals(Optional.of(true), container.getBoolean(DataQuery.of("boolean")));
+        assertEquals(Optional.of(8), container.getInt(DataQuery.of("inner", "value")));
+
+        assertEquals(compound, NbtTranslator.getInstance().translateData(container));
+    }
+
 }
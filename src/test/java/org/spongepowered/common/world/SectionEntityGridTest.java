@@ -0,0 +1,218 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.util.math.AxisAlignedBB;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.spongepowered.common.mixin.plugin.entitycollisions.interfaces.CollisionsGridCapability;
+import org.spongepowered.lwts.runner.LaunchWrapperTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import javax.annotation.Nullable;
+
+@RunWith(LaunchWrapperTestRunner.class)
+public class SectionEntityGridTest {
+
+    private static final int CHUNK_X = 3;
+    private static final int SECTION_Y = 4;
+    private static final int CHUNK_Z = -2;
+
+    private final Random random = new Random(0x5EC7104L);
+
+    private TestEntity newEntity() {
+        final TestEntity entity = Mockito.mock(TestEntity.class, Mockito.CALLS_REAL_METHODS);
+        entity.move(this.randomBox());
+        return entity;
+    }
+
+    private AxisAlignedBB randomBox() {
+        // Mostly inside the section, but entities may stick out of it
+        final double x = (CHUNK_X << 4) - 2 + this.random.nextDouble() * 20;
+        final double y = (SECTION_Y << 4) - 2 + this.random.nextDouble() * 20;
+        final double z = (CHUNK_Z << 4) - 2 + this.random.nextDouble() * 20;
+        final double halfWidth = 0.1 + this.random.nextDouble() * 1.5;
+        final double height = 0.2 + this.random.nextDouble() * 3;
+        return new AxisAlignedBB(x - halfWidth, y, z - halfWidth, x + halfWidth, y + height, z + halfWidth);
+    }
+
+    private static Set<Entity> query(final SectionEntityGrid grid, final AxisAlignedBB box) {
+        final List<Entity> candidates = new ArrayList<>();
+        grid.getCandidates(box).forEachRemaining(candidates::add);
+        final Set<Entity> found = newEntitySet();
+        found.addAll(candidates);
+        Assert.assertEquals("Candidates returned more than once", candidates.size(), found.size());
+        found.removeIf(entity -> !entity.getEntityBoundingBox().intersects(box));
+        return found;
+    }
+
+    private static Set<Entity> scan(final List<? extends Entity> entities, final AxisAlignedBB box) {
+        final Set<Entity> found = newEntitySet();
+        for (final Entity entity : entities) {
+            if (entity.getEntityBoundingBox().intersects(box)) {
+                found.add(entity);
+            }
+        }
+        return found;
+    }
+
+    private static Set<Entity> newEntitySet() {
+        // Entities are equal by id, which isn't assigned to mocks
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    private void assertQueries(final SectionEntityGrid grid, final List<TestEntity> entities) {
+        Assert.assertEquals(entities.size(), grid.size());
+        for (int i = 0; i < 200; i++) {
+            final AxisAlignedBB box = this.randomBox().grow(this.random.nextDouble() * 4);
+            Assert.assertEquals(scan(entities, box), query(grid, box));
+        }
+    }
+
+    @Test
+    public void testInsert() {
+        final SectionEntityGrid grid = new SectionEntityGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        final List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            final TestEntity entity = this.newEntity();
+            grid.add(entity);
+            entities.add(entity);
+            Assert.assertSame(grid, entity.collision$getGrid());
+        }
+        this.assertQueries(grid, entities);
+    }
+
+    @Test
+    public void testMove() {
+        final SectionEntityGrid grid = new SectionEntityGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        final List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            final TestEntity entity = this.newEntity();
+            grid.add(entity);
+            entities.add(entity);
+        }
+        for (int i = 0; i < 1000; i++) {
+            final TestEntity entity = entities.get(this.random.nextInt(entities.size()));
+            entity.move(this.randomBox());
+            grid.update(entity);
+        }
+        this.assertQueries(grid, entities);
+    }
+
+    @Test
+    public void testRemove() {
+        final SectionEntityGrid grid = new SectionEntityGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        final List<TestEntity> entities = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            final TestEntity entity = this.newEntity();
+            grid.add(entity);
+            entities.add(entity);
+        }
+        for (int i = 0; i < 200; i++) {
+            final TestEntity entity = entities.remove(this.random.nextInt(entities.size()));
+            grid.remove(entity);
+            Assert.assertNull(entity.collision$getGrid());
+            // Removing an entity that isn't in the grid does nothing
+            grid.remove(entity);
+        }
+        this.assertQueries(grid, entities);
+
+        for (final TestEntity entity : entities) {
+            grid.remove(entity);
+        }
+        Assert.assertTrue(grid.isEmpty());
+        Assert.assertFalse(grid.getCandidates(this.randomBox()).hasNext());
+    }
+
+    @Test
+    public void testAddToOtherGrid() {
+        final SectionEntityGrid grid = new SectionEntityGrid(CHUNK_X, SECTION_Y, CHUNK_Z);
+        final SectionEntityGrid other = new SectionEntityGrid(CHUNK_X, SECTION_Y + 1, CHUNK_Z);
+        final TestEntity entity = this.newEntity();
+        grid.add(entity);
+        other.add(entity);
+        Assert.assertTrue(grid.isEmpty());
+        Assert.assertEquals(1, other.size());
+        Assert.assertSame(other, entity.collision$getGrid());
+    }
+
+    /**
+     * The capability is normally added to entities by a mixin, which is only
+     * applied if the broad phase is enabled in the config.
+     */
+    abstract static class TestEntity extends Entity implements CollisionsGridCapability {
+
+        @Nullable private SectionEntityGrid grid;
+        private int cell;
+        private int slot;
+        private AxisAlignedBB box;
+
+        TestEntity() {
+            super(null);
+        }
+
+        void move(final AxisAlignedBB box) {
+            this.box = box;
+        }
+
+        @Override
+        public AxisAlignedBB getEntityBoundingBox() {
+            return this.box;
+        }
+
+        @Nullable
+        @Override
+        public SectionEntityGrid collision$getGrid() {
+            return this.grid;
+        }
+
+        @Override
+        public int collision$getGridCell() {
+            return this.cell;
+        }
+
+        @Override
+        public int collision$getGridSlot() {
+            return this.slot;
+        }
+
+        @Override
+        public void collision$setGridPosition(@Nullable final SectionEntityGrid grid, final int cell, final int slot) {
+            this.grid = grid;
+            this.cell = cell;
+            this.slot = slot;
+        }
+    }
+
+}
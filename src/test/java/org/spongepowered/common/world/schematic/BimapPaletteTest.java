@@ -0,0 +1,140 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.common.world.schematic;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.CatalogType;
+import org.spongepowered.api.world.schematic.PaletteType;
+
+import java.util.Optional;
+
+public class BimapPaletteTest {
+
+    @SuppressWarnings("unchecked")
+    private static BimapPalette<CatalogType> newPalette() {
+        return new BimapPalette<>((PaletteType<CatalogType>) Mockito.mock(PaletteType.class), 2);
+    }
+
+    @Test
+    public void testGetOrAssign() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        final CatalogType b = Mockito.mock(CatalogType.class);
+        final CatalogType c = Mockito.mock(CatalogType.class);
+        Assert.assertEquals(0, palette.getOrAssign(a));
+        Assert.assertEquals(1, palette.getOrAssign(b));
+        Assert.assertEquals(0, palette.getOrAssign(a));
+        Assert.assertEquals(2, palette.getOrAssign(c));
+        Assert.assertEquals(2, palette.getHighestId());
+        Assert.assertEquals(Optional.of(1), palette.get(b));
+        Assert.assertEquals(Optional.of(c), palette.get(2));
+        Assert.assertEquals(Optional.empty(), palette.get(3));
+        Assert.assertEquals(Optional.empty(), palette.get(-1));
+        Assert.assertEquals(3, palette.getEntries().size());
+    }
+
+    @Test
+    public void testRemove() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        final CatalogType b = Mockito.mock(CatalogType.class);
+        final CatalogType c = Mockito.mock(CatalogType.class);
+        palette.getOrAssign(a);
+        palette.getOrAssign(b);
+        Assert.assertTrue(palette.remove(b));
+        Assert.assertFalse(palette.remove(b));
+        Assert.assertEquals(0, palette.getHighestId());
+        Assert.assertEquals(Optional.empty(), palette.get(1));
+        Assert.assertEquals(Optional.empty(), palette.get(b));
+
+        Assert.assertTrue(palette.remove(a));
+        // The freed id is reused first
+        Assert.assertEquals(0, palette.getOrAssign(c));
+    }
+
+    @Test
+    public void testAssign() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        final CatalogType b = Mockito.mock(CatalogType.class);
+        final CatalogType c = Mockito.mock(CatalogType.class);
+        palette.assign(a, 10);
+        Assert.assertEquals(10, palette.getHighestId());
+        Assert.assertEquals(Optional.of(a), palette.get(10));
+        Assert.assertEquals(0, palette.getOrAssign(b));
+
+        // Replacing the state of an id unassigns the old state
+        palette.assign(c, 10);
+        Assert.assertEquals(Optional.of(c), palette.get(10));
+        Assert.assertEquals(Optional.empty(), palette.get(a));
+    }
+
+    @Test
+    public void testAssignSparse() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        final CatalogType b = Mockito.mock(CatalogType.class);
+        final CatalogType c = Mockito.mock(CatalogType.class);
+        palette.assign(a, 2000000000);
+        Assert.assertEquals(2000000000, palette.getHighestId());
+        Assert.assertEquals(Optional.of(a), palette.get(2000000000));
+        Assert.assertEquals(Optional.of(2000000000), palette.get(a));
+        Assert.assertEquals(0, palette.getOrAssign(b));
+
+        palette.assign(c, 2000000000);
+        Assert.assertEquals(Optional.of(c), palette.get(2000000000));
+        Assert.assertEquals(Optional.empty(), palette.get(a));
+
+        Assert.assertTrue(palette.remove(c));
+        Assert.assertEquals(Optional.empty(), palette.get(2000000000));
+        Assert.assertEquals(0, palette.getHighestId());
+    }
+
+    @Test
+    public void testAssignMaxId() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        palette.assign(a, Integer.MAX_VALUE);
+        Assert.assertEquals(Integer.MAX_VALUE, palette.getHighestId());
+        Assert.assertEquals(Optional.of(a), palette.get(Integer.MAX_VALUE));
+        Assert.assertEquals(Optional.of(Integer.MAX_VALUE), palette.get(a));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignNegative() {
+        newPalette().assign(Mockito.mock(CatalogType.class), -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignTwice() {
+        final BimapPalette<CatalogType> palette = newPalette();
+        final CatalogType a = Mockito.mock(CatalogType.class);
+        palette.assign(a, 0);
+        palette.assign(a, 1);
+    }
+
+}